@@ -23,6 +23,7 @@ val jacksonVersion = "2.18.4"
 val junitVersion = "5.12.2"
 val mockitoVersion = "5.17.0"
 val assertjVersion = "3.27.3"
+val jmhVersion = "1.37"
 
 project("core-ng-api") {
     apply(plugin = "lib")
@@ -36,6 +37,7 @@ project("core-ng") {
         implementation("org.javassist:javassist:3.30.2-GA")
         implementation("com.fasterxml.jackson.module:jackson-module-afterburner:${jacksonVersion}")
         implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:${jacksonVersion}")
+        implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:${jacksonVersion}")
         implementation("com.squareup.okhttp3:okhttp:4.12.0")
         implementation("io.undertow:undertow-core:2.3.18.Final")
         implementation("org.apache.kafka:kafka-clients:4.0.0") {
@@ -65,6 +67,46 @@ project("core-ng-test") {
     }
 }
 
+project("core-ng-loadtest") {
+    apply(plugin = "lib")
+    dependencies {
+        implementation(project(":core-ng"))
+        implementation(project(":core-ng-test"))
+        implementation("org.apache.kafka:kafka-clients:4.0.0") {
+            exclude("org.xerial.snappy")
+        }
+        implementation("org.hsqldb:hsqldb:2.7.4")
+    }
+}
+
+project("core-ng-benchmark") {
+    dependencies {
+        implementation(project(":core-ng"))
+        implementation("org.openjdk.jmh:jmh-core:${jmhVersion}")
+        annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:${jmhVersion}")
+        runtimeOnly("org.hsqldb:hsqldb:2.7.4")
+        testImplementation(project(":core-ng-test"))
+    }
+
+    tasks.named<JavaCompile>("compileJava") {
+        // jmh generates benchmark classes by annotation processor, keep -Werror, only suppress warning of annotations not claimed by processor
+        options.compilerArgs.remove("-proc:none")
+        options.compilerArgs.add("-Xlint:-processing")
+    }
+
+    // usage: ./gradlew :core-ng-benchmark:jmh -Pinclude=JSONBenchmark -Pbaseline=path/to/baseline.json
+    tasks.register<JavaExec>("jmh") {
+        group = "verification"
+        description = "Run JMH benchmarks, and compare with baseline result if specified."
+        dependsOn("classes")
+        mainClass = "core.framework.benchmark.BenchmarkMain"
+        classpath = the<SourceSetContainer>()["main"].runtimeClasspath
+        systemProperty("benchmark.result", layout.buildDirectory.file("jmh/jmh-result.json").get().asFile.path)
+        project.findProperty("baseline")?.let { systemProperty("benchmark.baseline", file(it).path) }
+        project.findProperty("include")?.let { args(it) }
+    }
+}
+
 project("core-ng-mongo") {
     apply(plugin = "lib")
     dependencies {
@@ -115,7 +157,7 @@ project("core-ng-search-test") {
 val mavenURL = project.properties["mavenURL"] as String?    // usage: "gradlew -PmavenURL=/path clean publish"
 
 subprojects {
-    if (mavenURL != null && project.name.startsWith("core-ng")) {
+    if (mavenURL != null && project.name.startsWith("core-ng") && project.name != "core-ng-benchmark") {
         apply(plugin = "maven-publish")
 
         val mavenDir = file(mavenURL)
@@ -8,6 +8,7 @@ public enum HTTPStatus {
     CREATED(201),
     ACCEPTED(202),
     NO_CONTENT(204),
+    PARTIAL_CONTENT(206),
     MOVED_PERMANENTLY(301),
     FOUND(302),     // 302 Moved Temporarily, sometimes Found
     SEE_OTHER(303),
@@ -23,6 +24,7 @@ public enum HTTPStatus {
     CONFLICT(409),
     GONE(410),
     PRECONDITION_FAILED(412),
+    RANGE_NOT_SATISFIABLE(416),
     UNPROCESSABLE_ENTITY(422),
     UPGRADE_REQUIRED(426),
     TOO_MANY_REQUESTS(429),
@@ -0,0 +1,96 @@
+package core.framework.benchmark;
+
+import core.framework.json.JSON;
+import core.framework.util.Types;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * compare current result with baseline result, change is significant only if it exceeds sum of both score errors (99.9% confidence interval),
+ * for throughput mode higher score is better, for other modes (average time, sample time, single shot) lower score is better
+ */
+final class BaselineReport {
+    static List<BenchmarkResult> load(Path path) throws IOException {
+        return JSON.fromJSON(Types.list(BenchmarkResult.class), Files.readString(path));
+    }
+
+    private final Map<String, BenchmarkResult> baseline = new HashMap<>();
+    private final List<BenchmarkResult> current;
+
+    BaselineReport(List<BenchmarkResult> baseline, List<BenchmarkResult> current) {
+        for (BenchmarkResult result : baseline) {
+            this.baseline.put(key(result), result);
+        }
+        this.current = current;
+    }
+
+    String report() {
+        var builder = new StringBuilder(1024)
+            .append("| benchmark | mode | threads | baseline | current | unit | change | result |\n")
+            .append("|---|---|---|---|---|---|---|---|\n");
+        int regressions = 0;
+        for (BenchmarkResult result : current) {
+            BenchmarkResult baseline = this.baseline.get(key(result));
+            Result compared = baseline == null ? Result.NEW : compare(baseline, result);
+            if (compared == Result.REGRESSION) regressions++;
+            builder.append("| ").append(key(result))
+                .append(" | ").append(result.mode)
+                .append(" | ").append(result.threads)
+                .append(" | ").append(baseline == null ? "-" : score(baseline.primaryMetric))
+                .append(" | ").append(score(result.primaryMetric))
+                .append(" | ").append(result.primaryMetric.scoreUnit)
+                .append(" | ").append(baseline == null ? "-" : change(baseline.primaryMetric.score, result.primaryMetric.score))
+                .append(" | ").append(compared == Result.UNCHANGED ? "" : compared.name())
+                .append(" |\n");
+        }
+        builder.append("\nbenchmarks=").append(current.size()).append(", regressions=").append(regressions).append('\n');
+        return builder.toString();
+    }
+
+    Result compare(BenchmarkResult baseline, BenchmarkResult current) {
+        double baselineScore = baseline.primaryMetric.score;
+        double currentScore = current.primaryMetric.score;
+        double margin = error(baseline.primaryMetric) + error(current.primaryMetric);
+        if (Math.abs(currentScore - baselineScore) <= margin) return Result.UNCHANGED;
+        boolean higherIsBetter = "thrpt".equals(current.mode);
+        boolean increased = currentScore > baselineScore;
+        return increased == higherIsBetter ? Result.IMPROVEMENT : Result.REGRESSION;
+    }
+
+    private double error(BenchmarkResult.Metric metric) {
+        if (metric.scoreError == null) return 0;
+        double error = Double.parseDouble(metric.scoreError);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private String score(BenchmarkResult.Metric metric) {
+        double error = error(metric);
+        if (error == 0) return String.format("%.3f", metric.score);
+        return String.format("%.3f +/- %.3f", metric.score, error);
+    }
+
+    private String change(double baselineScore, double currentScore) {
+        if (baselineScore == 0) return "-";
+        return String.format("%+.1f%%", (currentScore - baselineScore) / baselineScore * 100);
+    }
+
+    // benchmark with params, e.g. core.framework.internal.json.JSONBenchmark.read:size=10
+    String key(BenchmarkResult result) {
+        if (result.params == null || result.params.isEmpty()) return result.benchmark;
+        var builder = new StringBuilder(result.benchmark);
+        for (Map.Entry<String, String> entry : new TreeMap<>(result.params).entrySet()) {
+            builder.append(':').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    enum Result {
+        NEW, UNCHANGED, IMPROVEMENT, REGRESSION
+    }
+}
@@ -0,0 +1,49 @@
+package core.framework.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * run benchmarks matching include regex (all by default), write result as jmh json,
+ * if baseline result is specified, write comparison report next to result,
+ * usage: ./gradlew :core-ng-benchmark:jmh -Pinclude=JSONBenchmark -Pbaseline=path/to/baseline.json
+ */
+public final class BenchmarkMain {
+    private static final PrintStream STDOUT = System.out;
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Path result = Path.of(System.getProperty("benchmark.result", "jmh-result.json")).toAbsolutePath();
+        Files.createDirectories(result.getParent());
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString())
+            .build();
+        new Runner(options).run();
+
+        String baseline = System.getProperty("benchmark.baseline");
+        if (baseline != null) {
+            String report = new BaselineReport(BaselineReport.load(Path.of(baseline)), BaselineReport.load(result)).report();
+            Path reportPath = result.resolveSibling("jmh-report.md");
+            Files.writeString(reportPath, report);
+            STDOUT.println(report);
+            STDOUT.println("report is written to " + reportPath);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package core.framework.benchmark;
+
+import core.framework.api.json.Property;
+
+import java.util.Map;
+
+/**
+ * jmh json result, refer to org.openjdk.jmh.results.format.JSONResultFormat
+ */
+public class BenchmarkResult {
+    @Property(name = "benchmark")
+    public String benchmark;
+
+    @Property(name = "mode")
+    public String mode;
+
+    @Property(name = "threads")
+    public Integer threads;
+
+    @Property(name = "params")
+    public Map<String, String> params;
+
+    @Property(name = "primaryMetric")
+    public Metric primaryMetric;
+
+    public static class Metric {
+        @Property(name = "score")
+        public Double score;
+
+        @Property(name = "scoreError")
+        public String scoreError;       // jmh writes "NaN" as string if there are not enough iterations
+
+        @Property(name = "scoreUnit")
+        public String scoreUnit;
+    }
+}
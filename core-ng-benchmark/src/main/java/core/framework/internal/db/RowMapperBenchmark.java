@@ -0,0 +1,91 @@
+package core.framework.internal.db;
+
+import core.framework.db.Column;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * map 100 rows by generated row mapper, result set is scrollable and rewound for each invocation, so it doesn't count query execution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMapperBenchmark {
+    private static final int ROWS = 100;
+
+    private Connection connection;
+    private Statement statement;
+    private ResultSet resultSet;
+    private RowMapper<TestView> mapper;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:hsqldb:mem:benchmark;sql.syntax_mys=true");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE benchmark (id INT PRIMARY KEY, name VARCHAR(50), amount DECIMAL(10,2), enabled BOOLEAN, created_time TIMESTAMP)");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO benchmark VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                statement.setInt(1, i);
+                statement.setString(2, "name" + i);
+                statement.setBigDecimal(3, BigDecimal.valueOf(i * 100L, 2));
+                statement.setBoolean(4, i % 2 == 0);
+                statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.of(2025, 7, 1, 12, 0).plusMinutes(i)));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        resultSet = statement.executeQuery("SELECT id, name, amount, enabled, created_time FROM benchmark");
+        mapper = new RowMapperBuilder<>(TestView.class, new EnumDBMapper()).build();
+    }
+
+    @TearDown
+    public void cleanup() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<TestView> map() throws SQLException {
+        resultSet.beforeFirst();
+        var wrapper = new ResultSetWrapper(resultSet, Dialect.MYSQL);
+        List<TestView> views = new ArrayList<>(ROWS);
+        while (resultSet.next()) {
+            views.add(mapper.map(wrapper));
+        }
+        return views;
+    }
+
+    public static class TestView {
+        @Column(name = "id")
+        public Integer id;
+        @Column(name = "name")
+        public String name;
+        @Column(name = "amount")
+        public BigDecimal amount;
+        @Column(name = "enabled")
+        public Boolean enabled;
+        @Column(name = "created_time")
+        public LocalDateTime createdTime;
+    }
+}
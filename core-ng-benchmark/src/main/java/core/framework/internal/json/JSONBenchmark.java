@@ -0,0 +1,93 @@
+package core.framework.internal.json;
+
+import core.framework.api.json.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * typical web service response, used by request/response bean, api client, kafka message and cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JSONBenchmark {
+    private JSONReader<TestBean> reader;
+    private JSONWriter<TestBean> writer;
+    private TestBean bean;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        reader = new JSONReader<>(TestBean.class);
+        writer = new JSONWriter<>(TestBean.class);
+        bean = bean();
+        json = writer.toJSON(bean);
+    }
+
+    private TestBean bean() {
+        var bean = new TestBean();
+        bean.id = "5f1e7c3a2b";
+        bean.name = "benchmark";
+        bean.amount = 1234.56;
+        bean.enabled = Boolean.TRUE;
+        bean.createdTime = ZonedDateTime.parse("2025-07-01T12:00:00Z");
+        bean.attributes = Map.of("key1", "value1", "key2", "value2");
+        bean.items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            var item = new TestItem();
+            item.name = "item" + i;
+            item.quantity = i;
+            item.tags = List.of("tag1", "tag2");
+            bean.items.add(item);
+        }
+        return bean;
+    }
+
+    @Benchmark
+    public TestBean read() throws IOException {
+        return reader.fromJSON(json);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return writer.toJSON(bean);
+    }
+
+    public static class TestBean {
+        @Property(name = "id")
+        public String id;
+        @Property(name = "name")
+        public String name;
+        @Property(name = "amount")
+        public Double amount;
+        @Property(name = "enabled")
+        public Boolean enabled;
+        @Property(name = "created_time")
+        public ZonedDateTime createdTime;
+        @Property(name = "attributes")
+        public Map<String, String> attributes;
+        @Property(name = "items")
+        public List<TestItem> items;
+    }
+
+    public static class TestItem {
+        @Property(name = "name")
+        public String name;
+        @Property(name = "quantity")
+        public Integer quantity;
+        @Property(name = "tags")
+        public List<String> tags;
+    }
+}
@@ -0,0 +1,33 @@
+package core.framework.internal.log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generate action id, counter is shared by all threads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdGeneratorBenchmark {
+    private final IdGenerator generator = new IdGenerator();
+
+    @Benchmark
+    public String next() {
+        return generator.next(Instant.now());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String nextWithContention() {
+        return generator.next(Instant.now());
+    }
+}
@@ -0,0 +1,43 @@
+package core.framework.internal.log.filter;
+
+import core.framework.util.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * format log message with plain arguments, and with json body which requires masking
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogFilterBenchmark {
+    private final LogFilter filter = new LogFilter();
+    private BytesLogParam body;
+
+    @Setup
+    public void setup() {
+        filter.maskedFields.add("password");
+        body = new BytesLogParam(Strings.bytes("{\"user\": \"benchmark\", \"password\": \"secret\", \"items\": [1, 2, 3], \"description\": \"" + "x".repeat(500) + "\"}"));
+    }
+
+    @Benchmark
+    public StringBuilder append() {
+        var builder = new StringBuilder(256);
+        filter.append(builder, "call web service, method={}, uri={}, elapsed={}", "GET", "http://localhost:8080/ajax/resource/123", 1234567L);
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder appendWithMaskedBody() {
+        var builder = new StringBuilder(1024);
+        filter.append(builder, "[request] body={}", body);
+        return builder;
+    }
+}
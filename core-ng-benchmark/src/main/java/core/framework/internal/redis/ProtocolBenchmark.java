@@ -0,0 +1,86 @@
+package core.framework.internal.redis;
+
+import core.framework.util.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * encode SET command and decode MGET response of 10 values, streams are reused as RedisConnection does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtocolBenchmark {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+    private RedisOutputStream outputStream;
+    private RedisInputStream inputStream;
+    private byte[] key;
+    private byte[] value;
+
+    @Setup
+    public void setup() {
+        outputStream = new RedisOutputStream(output, 8192);
+        inputStream = new RedisInputStream(new RepeatedInputStream(response()));
+        key = Strings.bytes("benchmark:key");
+        value = Strings.bytes("value".repeat(20));
+    }
+
+    private byte[] response() {
+        var builder = new StringBuilder("*10\r\n");
+        for (int i = 0; i < 10; i++) {
+            builder.append("$100\r\n").append(String.valueOf(i).repeat(100)).append("\r\n");
+        }
+        return Strings.bytes(builder.toString());
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        output.reset();
+        Protocol.writeArray(outputStream, 3);
+        Protocol.writeBlobString(outputStream, Protocol.Command.SET);
+        Protocol.writeBlobString(outputStream, key);
+        Protocol.writeBlobString(outputStream, value);
+        outputStream.flush();
+        return output.size();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return Protocol.read(inputStream);
+    }
+
+    // serve same response endlessly, each decode consumes exactly one response
+    static final class RepeatedInputStream extends InputStream {
+        private final byte[] response;
+        private int position;
+
+        RepeatedInputStream(byte[] response) {
+            this.response = response;
+        }
+
+        @Override
+        public int read() {
+            byte value = response[position];
+            position = (position + 1) % response.length;
+            return value & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int count = Math.min(length, response.length - position);
+            System.arraycopy(response, position, buffer, offset, count);
+            position = (position + count) % response.length;
+            return count;
+        }
+    }
+}
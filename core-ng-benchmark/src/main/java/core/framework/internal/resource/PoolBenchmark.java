@@ -0,0 +1,63 @@
+package core.framework.internal.resource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * borrow and return resource, with contention where threads are more than pool max size, which waits for returned item
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoolBenchmark {
+    private Pool<TestResource> pool;
+
+    @Setup
+    public void setup() {
+        pool = new Pool<>(TestResource::new, "benchmark");
+        pool.size(8, 8);
+    }
+
+    @TearDown
+    public void cleanup() {
+        pool.close();
+    }
+
+    @Benchmark
+    public PoolItem<TestResource> borrowAndReturn() {
+        return borrowAndReturnItem();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public PoolItem<TestResource> borrowAndReturnWithThreadsEqualToSize() {
+        return borrowAndReturnItem();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public PoolItem<TestResource> borrowAndReturnWithContention() {
+        return borrowAndReturnItem();
+    }
+
+    private PoolItem<TestResource> borrowAndReturnItem() {
+        PoolItem<TestResource> item = pool.borrowItem();
+        pool.returnItem(item);
+        return item;
+    }
+
+    static final class TestResource implements AutoCloseable {
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package core.framework.internal.template;
+
+import core.framework.internal.template.source.StringTemplateSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * render page with text, condition and loop of 50 items
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HTMLTemplateBenchmark {
+    private static final String TEMPLATE = """
+        <!doctype html>
+        <html xmlns:c="http://www.w3.org/1999/xhtml">
+        <head>
+            <title c:text="title"></title>
+        </head>
+        <body>
+        <h1 c:text="title"></h1>
+        <p c:if="showDescription" c:text="description"></p>
+        <table>
+            <tr c:for="item:items">
+                <td c:text="item.name"></td>
+                <td c:text="item.price"></td>
+                <td c:if="item.available">available</td>
+            </tr>
+        </table>
+        </body>
+        </html>
+        """;
+
+    private final CDNManager cdn = new CDNManager();
+    private HTMLTemplate template;
+    private TestModel model;
+
+    @Setup
+    public void setup() {
+        template = new HTMLTemplateBuilder(new StringTemplateSource("benchmark", TEMPLATE), TestModel.class).build();
+        model = new TestModel();
+        model.title = "benchmark <title>";
+        model.showDescription = Boolean.TRUE;
+        model.description = "description";
+        model.items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            var item = new TestItem();
+            item.name = "item" + i;
+            item.price = i * 1.5;
+            item.available = i % 2 == 0;
+            model.items.add(item);
+        }
+    }
+
+    @Benchmark
+    public String process() {
+        return template.process(new TemplateContext(model, cdn));
+    }
+
+    public static class TestModel {
+        public String title;
+        public Boolean showDescription;
+        public String description;
+        public List<TestItem> items;
+    }
+
+    public static class TestItem {
+        public String name;
+        public Double price;
+        public Boolean available;
+    }
+}
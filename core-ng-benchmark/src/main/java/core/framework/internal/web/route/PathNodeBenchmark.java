@@ -0,0 +1,52 @@
+package core.framework.internal.web.route;
+
+import core.framework.internal.web.request.PathParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * match dynamic routes of typical web service, 20 resources with nested path params
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathNodeBenchmark {
+    private final PathNode root = new PathNode(null);
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < 20; i++) {
+            root.register("/ajax/resource" + i + "/:id");
+            root.register("/ajax/resource" + i + "/:id/item");
+            root.register("/ajax/resource" + i + "/:id/item/:itemId");
+        }
+        root.register("/file/:path(*)");
+    }
+
+    @Benchmark
+    public URLHandler findDynamic() {
+        return root.find("/ajax/resource15/123", new PathParams());
+    }
+
+    @Benchmark
+    public URLHandler findNestedDynamic() {
+        return root.find("/ajax/resource15/123/item/456", new PathParams());
+    }
+
+    @Benchmark
+    public URLHandler findWildcard() {
+        return root.find("/file/path/to/some/file.txt", new PathParams());
+    }
+
+    @Benchmark
+    public URLHandler notFound() {
+        return root.find("/ajax/unknown/123", new PathParams());
+    }
+}
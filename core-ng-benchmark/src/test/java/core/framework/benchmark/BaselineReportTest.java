@@ -0,0 +1,57 @@
+package core.framework.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineReportTest {
+    private BaselineReport report;
+
+    @BeforeEach
+    void createBaselineReport() {
+        report = new BaselineReport(List.of(result("read", "avgt", 100, "5"), result("write", "thrpt", 1000, "NaN")),
+            List.of(result("read", "avgt", 120, "5"), result("write", "thrpt", 1005, "NaN"), result("find", "avgt", 50, "1")));
+    }
+
+    @Test
+    void compare() {
+        assertThat(report.compare(result("read", "avgt", 100, "5"), result("read", "avgt", 108, "5"))).isEqualTo(BaselineReport.Result.UNCHANGED);
+        assertThat(report.compare(result("read", "avgt", 100, "5"), result("read", "avgt", 120, "5"))).isEqualTo(BaselineReport.Result.REGRESSION);
+        assertThat(report.compare(result("read", "avgt", 100, "5"), result("read", "avgt", 80, "5"))).isEqualTo(BaselineReport.Result.IMPROVEMENT);
+        assertThat(report.compare(result("read", "thrpt", 100, "NaN"), result("read", "thrpt", 120, "NaN"))).isEqualTo(BaselineReport.Result.IMPROVEMENT);
+    }
+
+    @Test
+    void key() {
+        BenchmarkResult result = result("read", "avgt", 100, "5");
+        assertThat(report.key(result)).isEqualTo("read");
+
+        result.params = Map.of("size", "10", "mode", "fast");
+        assertThat(report.key(result)).isEqualTo("read:mode=fast:size=10");
+    }
+
+    @Test
+    void report() {
+        assertThat(report.report())
+            .contains("| read | avgt | 1 | 100.000 +/- 5.000 | 120.000 +/- 5.000 | ns/op | +20.0% | REGRESSION |")
+            .contains("| write | thrpt | 1 | 1000.000 | 1005.000 | ops/ns | +0.5% | IMPROVEMENT |")
+            .contains("| find | avgt | 1 | - | 50.000 +/- 1.000 | ns/op | - | NEW |")
+            .contains("benchmarks=3, regressions=1");
+    }
+
+    private BenchmarkResult result(String benchmark, String mode, double score, String scoreError) {
+        var result = new BenchmarkResult();
+        result.benchmark = benchmark;
+        result.mode = mode;
+        result.threads = 1;
+        result.primaryMetric = new BenchmarkResult.Metric();
+        result.primaryMetric.score = score;
+        result.primaryMetric.scoreError = scoreError;
+        result.primaryMetric.scoreUnit = "thrpt".equals(mode) ? "ops/ns" : "ns/op";
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.record.TimestampType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * receive records from local kafka, each subscribed topic is assigned with partition 0 right after subscribe,
+ * poll waits for new records up to 100ms rather than returning immediately like MockConsumer, to avoid busy loop of listener thread
+ */
+final class LocalConsumer extends MockConsumer<String, byte[]> {
+    private static final long MAX_WAIT_TIME_IN_MS = 100;
+
+    private final Map<String, Long> offsets = new HashMap<>();
+
+    LocalConsumer() {
+        super("latest");
+    }
+
+    @Override
+    public void subscribe(Collection<String> topics) {
+        synchronized (this) {
+            super.subscribe(topics);
+            assignPartitions(topics);
+        }
+    }
+
+    @Override
+    public void subscribe(Collection<String> topics, ConsumerRebalanceListener listener) {
+        synchronized (this) {
+            super.subscribe(topics, listener);
+            assignPartitions(topics);
+        }
+    }
+
+    private void assignPartitions(Collection<String> topics) {
+        List<TopicPartition> partitions = new ArrayList<>(topics.size());
+        Map<TopicPartition, Long> initialOffsets = new HashMap<>();
+        for (String topic : topics) {
+            var partition = new TopicPartition(topic, 0);
+            partitions.add(partition);
+            initialOffsets.put(partition, 0L);
+        }
+        updateBeginningOffsets(initialOffsets);
+        updateEndOffsets(initialOffsets);
+        rebalance(partitions);
+    }
+
+    @Override
+    public ConsumerRecords<String, byte[]> poll(Duration timeout) {
+        synchronized (this) {
+            ConsumerRecords<String, byte[]> records = super.poll(Duration.ZERO);
+            if (!records.isEmpty()) return records;
+            try {
+                wait(Math.min(timeout.toMillis(), MAX_WAIT_TIME_IN_MS));
+            } catch (InterruptedException e) {
+                throw new InterruptException(e);
+            }
+            return super.poll(Duration.ZERO);
+        }
+    }
+
+    @Override
+    public void wakeup() {
+        super.wakeup();
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    void deliver(ProducerRecord<byte[], byte[]> record) {
+        synchronized (this) {
+            String topic = record.topic();
+            if (closed() || !assignment().contains(new TopicPartition(topic, 0))) return;
+            long offset = offsets.merge(topic, 1L, Long::sum) - 1;
+            long timestamp = record.timestamp() == null ? System.currentTimeMillis() : record.timestamp();
+            byte[] key = record.key();
+            byte[] value = record.value();
+            addRecord(new ConsumerRecord<>(topic, 0, offset, timestamp, TimestampType.CREATE_TIME,
+                key == null ? -1 : key.length, value == null ? -1 : value.length,
+                key == null ? null : new String(key, StandardCharsets.UTF_8), value, record.headers(), Optional.empty()));
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package core.framework.internal.kafka;
+
+import core.framework.internal.async.ThreadPools;
+import core.framework.internal.log.LogManager;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * in-process kafka stand-in, producers and listeners created by this class talk to each other directly instead of kafka brokers,
+ * published records are delivered to all subscribed listeners after latency, each topic has single partition
+ */
+public final class LocalKafka {
+    public Duration latency = Duration.ZERO;
+    private final Logger logger = LoggerFactory.getLogger(LocalKafka.class);
+    private final List<LocalConsumer> consumers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = ThreadPools.singleThreadScheduler("local-kafka-");
+
+    public MessageProducer producer(KafkaURI uri, String name, int maxRequestSize) {
+        return new MessageProducer(uri, name, maxRequestSize) {
+            @Override
+            Producer<byte[], byte[]> createProducer(KafkaURI uri) {
+                return new LocalProducer(LocalKafka.this);
+            }
+        };
+    }
+
+    public MessageListener listener(KafkaURI uri, String name, LogManager logManager, long maxProcessTimeInNano) {
+        return new MessageListener(uri, name, logManager, maxProcessTimeInNano) {
+            @Override
+            Consumer<String, byte[]> createConsumer() {
+                var consumer = new LocalConsumer();
+                consumers.add(consumer);
+                return consumer;
+            }
+        };
+    }
+
+    void publish(ProducerRecord<byte[], byte[]> record) {
+        if (latency.isPositive()) {
+            scheduler.schedule(() -> deliver(record), latency.toNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            deliver(record);
+        }
+    }
+
+    private void deliver(ProducerRecord<byte[], byte[]> record) {
+        for (LocalConsumer consumer : consumers) {
+            consumer.deliver(record);
+        }
+    }
+
+    public void close() {
+        scheduler.shutdownNow();
+        logger.info("local kafka stopped");
+    }
+}
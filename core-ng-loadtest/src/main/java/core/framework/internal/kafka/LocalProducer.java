@@ -0,0 +1,32 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * send records to local kafka, not keep sent history like MockProducer, so it can run for long time
+ */
+final class LocalProducer extends MockProducer<byte[], byte[]> {
+    private final LocalKafka kafka;
+
+    LocalProducer(LocalKafka kafka) {
+        this.kafka = kafka;
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<byte[], byte[]> record, Callback callback) {
+        kafka.publish(record);
+        long timestamp = record.timestamp() == null ? System.currentTimeMillis() : record.timestamp();
+        int keySize = record.key() == null ? -1 : record.key().length;
+        int valueSize = record.value() == null ? -1 : record.value().length;
+        var metadata = new RecordMetadata(new TopicPartition(record.topic(), 0), -1, 0, timestamp, keySize, valueSize);
+        if (callback != null) callback.onCompletion(metadata, null);
+        return CompletableFuture.completedFuture(metadata);
+    }
+}
@@ -0,0 +1,276 @@
+package core.framework.internal.redis;
+
+import core.framework.internal.async.ThreadPools;
+import core.framework.test.redis.MockRedis;
+import core.framework.util.ASCII;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static core.framework.internal.redis.RedisEncodings.decode;
+import static core.framework.internal.redis.RedisEncodings.encode;
+
+/**
+ * in-process redis server speaks RESP2 over local socket, to load test app without real redis,
+ * data is kept in MockRedis, commands are executed one at a time like redis, latency is injected before each reply
+ */
+public final class LocalRedisServer {
+    private static final Status OK = new Status("OK");
+
+    public Duration latency = Duration.ZERO;
+    private final Logger logger = LoggerFactory.getLogger(LocalRedisServer.class);
+    private final MockRedis redis = new MockRedis();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ExecutorService executor = ThreadPools.virtualThreadExecutor("local-redis-");
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+
+    public void start() {
+        try {
+            serverSocket = new ServerSocket(0, 1000, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor.execute(this::accept);
+        logger.info("local redis server started, host={}", host());
+    }
+
+    public String host() {
+        return serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    public void close() {
+        try {
+            serverSocket.close();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            logger.warn("failed to close local redis server", e);
+        }
+        executor.shutdownNow();
+        logger.info("local redis server stopped");
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                executor.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) logger.warn("failed to accept connection", e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            var input = new RedisInputStream(socket.getInputStream());
+            var output = new RedisOutputStream(socket.getOutputStream(), 8192);
+            while (true) {
+                Object[] request = (Object[]) Protocol.read(input);
+                Object reply = execute(request);
+                if (latency.isPositive()) Thread.sleep(latency);
+                write(output, reply);
+                output.flush();
+            }
+        } catch (IOException e) {   // client closed connection, or server is closed
+            logger.debug("connection closed, error={}", e.getMessage());
+        } catch (InterruptedException e) {
+            logger.debug("connection handler interrupted");
+        } finally {
+            sockets.remove(socket);
+        }
+    }
+
+    Object execute(Object[] request) {
+        String command = ASCII.toUpperCase(decode((byte[]) request[0]));
+        String[] args = new String[request.length - 1];
+        for (int i = 1; i < request.length; i++) {
+            args[i - 1] = decode((byte[]) request[i]);
+        }
+        lock.lock();
+        try {
+            return execute(command, args);
+        } catch (RuntimeException | AssertionError e) {     // MockRedis validates arguments by assertj
+            return new ErrorReply("ERR " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object execute(String command, String[] args) {
+        return switch (command) {
+            case "PING" -> new Status("PONG");
+            case "AUTH" -> OK;
+            case "INFO" -> "# Server\r\nredis_version:7.4.0\r\nredis_mode:standalone\r\n";
+            case "GET" -> redis.get(args[0]);
+            case "SET" -> set(args);
+            case "PEXPIRE" -> {
+                redis.expire(args[0], Duration.ofMillis(Long.parseLong(args[1])));
+                yield 1L;
+            }
+            case "DEL" -> redis.del(args);
+            case "INCRBY" -> redis.increaseBy(args[0], Long.parseLong(args[1]));
+            case "MGET" -> {
+                Map<String, String> values = redis.multiGet(args);
+                List<Object> reply = new ArrayList<>(args.length);
+                for (String key : args) {
+                    reply.add(values.get(key));
+                }
+                yield reply;
+            }
+            case "MSET" -> {
+                redis.multiSet(pairs(args, 0));
+                yield OK;
+            }
+            case "SCAN" -> {    // return all matched keys in one batch, args = cursor MATCH pattern COUNT count
+                List<Object> keys = new ArrayList<>();
+                redis.forEach(args[2], keys::add);
+                yield List.of("0", keys);
+            }
+            case "HGET" -> redis.hash().get(args[0], args[1]);
+            case "HGETALL" -> flatten(redis.hash().getAll(args[0]));
+            case "HSET" -> {
+                redis.hash().set(args[0], args[1], args[2]);
+                yield 1L;
+            }
+            case "HMSET" -> {
+                redis.hash().multiSet(args[0], pairs(args, 1));
+                yield OK;
+            }
+            case "HINCRBY" -> redis.hash().increaseBy(args[0], args[1], Long.parseLong(args[2]));
+            case "HDEL" -> redis.hash().del(args[0], Arrays.copyOfRange(args, 1, args.length));
+            case "HPEXPIRE" -> {    // args = key ttl FIELDS 1 field
+                redis.hash().expire(args[0], args[4], Duration.ofMillis(Long.parseLong(args[1])));
+                yield List.of(1L);
+            }
+            case "SADD" -> redis.set().add(args[0], Arrays.copyOfRange(args, 1, args.length));
+            case "SMEMBERS" -> new ArrayList<>(redis.set().members(args[0]));
+            case "SISMEMBER" -> redis.set().isMember(args[0], args[1]) ? 1L : 0L;
+            case "SREM" -> redis.set().remove(args[0], Arrays.copyOfRange(args, 1, args.length));
+            case "SPOP" -> new ArrayList<>(redis.set().pop(args[0], Long.parseLong(args[1])));
+            case "SCARD" -> redis.set().size(args[0]);
+            case "LPOP" -> redis.list().pop(args[0], Integer.parseInt(args[1]));    // redis returns nil array if empty, client handles both
+            case "RPUSH" -> redis.list().push(args[0], Arrays.copyOfRange(args, 1, args.length));
+            case "LRANGE" -> redis.list().range(args[0], Long.parseLong(args[1]), Long.parseLong(args[2]));
+            case "LTRIM" -> {   // client only trims to keep most recent items, args = key -maxSize -1
+                redis.list().trim(args[0], -Integer.parseInt(args[1]));
+                yield OK;
+            }
+            case "ZADD" -> zadd(args);
+            case "ZINCRBY" -> String.valueOf(redis.sortedSet().increaseScoreBy(args[0], args[2], Long.parseLong(args[1])));
+            case "ZRANGE" -> zrange(args);
+            case "ZREM" -> redis.sortedSet().remove(args[0], Arrays.copyOfRange(args, 1, args.length));
+            case "ZPOPMIN" -> flatten(redis.sortedSet().popMin(args[0], Long.parseLong(args[1])));
+            case "PFADD" -> redis.hyperLogLog().add(args[0], Arrays.copyOfRange(args, 1, args.length)) ? 1L : 0L;
+            case "PFCOUNT" -> redis.hyperLogLog().count(args);
+            default -> new ErrorReply("ERR unknown command '" + command + "'");
+        };
+    }
+
+    // args = key value [NX] [PX ttl]
+    private Object set(String[] args) {
+        boolean onlyIfAbsent = false;
+        Duration expiration = null;
+        int index = 2;
+        while (index < args.length) {
+            String option = ASCII.toUpperCase(args[index++]);
+            if ("NX".equals(option)) onlyIfAbsent = true;
+            else if ("PX".equals(option)) expiration = Duration.ofMillis(Long.parseLong(args[index++]));
+        }
+        boolean updated = redis.set(args[0], args[1], expiration, onlyIfAbsent);
+        return updated ? OK : null;
+    }
+
+    // args = key [NX] score member [score member ...]
+    private Object zadd(String[] args) {
+        boolean onlyIfAbsent = "NX".equals(ASCII.toUpperCase(args[1]));
+        int start = onlyIfAbsent ? 2 : 1;
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (int i = start; i < args.length; i += 2) {
+            values.put(args[i + 1], Long.parseLong(args[i]));
+        }
+        return (long) redis.sortedSet().add(args[0], values, onlyIfAbsent);
+    }
+
+    // args = key start stop WITHSCORES, or key min max BYSCORE WITHSCORES LIMIT 0 limit
+    private Object zrange(String[] args) {
+        long start = Long.parseLong(args[1]);
+        long stop = Long.parseLong(args[2]);
+        if (args.length > 4 && "BYSCORE".equals(ASCII.toUpperCase(args[3]))) {
+            return flatten(redis.sortedSet().rangeByScore(args[0], start, stop, Long.parseLong(args[7])));
+        }
+        return flatten(redis.sortedSet().range(args[0], start, stop));
+    }
+
+    private Map<String, String> pairs(String[] args, int start) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = start; i < args.length; i += 2) {
+            values.put(args[i], args[i + 1]);
+        }
+        return values;
+    }
+
+    private List<Object> flatten(Map<String, ?> values) {
+        List<Object> reply = new ArrayList<>(values.size() * 2);
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            reply.add(entry.getKey());
+            reply.add(String.valueOf(entry.getValue()));
+        }
+        return reply;
+    }
+
+    private void write(RedisOutputStream output, Object reply) throws IOException {
+        switch (reply) {
+            case null -> {
+                output.write((byte) '$');
+                output.writeBytesCRLF(encode(-1));
+            }
+            case String value -> Protocol.writeBlobString(output, encode(value));
+            case Long value -> {
+                output.write((byte) ':');
+                output.writeBytesCRLF(encode(value));
+            }
+            case Status status -> {
+                output.write((byte) '+');
+                output.writeBytesCRLF(encode(status.value));
+            }
+            case ErrorReply error -> {
+                output.write((byte) '-');
+                output.writeBytesCRLF(encode(error.message));
+            }
+            case Collection<?> values -> {
+                Protocol.writeArray(output, values.size());
+                for (Object value : values) {
+                    write(output, value);
+                }
+            }
+            default -> throw new Error("unexpected reply, reply=" + reply);
+        }
+    }
+
+    record Status(String value) {
+    }
+
+    record ErrorReply(String message) {
+    }
+}
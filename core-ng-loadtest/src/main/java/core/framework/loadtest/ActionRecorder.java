@@ -0,0 +1,53 @@
+package core.framework.loadtest;
+
+import core.framework.internal.stat.Histogram;
+import core.framework.log.LogAppender;
+import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.StatMessage;
+import core.framework.util.Maps;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * collect elapsed time of each action from action logs, e.g. http request, kafka message handling and executor tasks
+ */
+final class ActionRecorder implements LogAppender {
+    final Map<String, ActionStats> actions = Maps.newConcurrentHashMap();
+
+    @Override
+    public void append(ActionLogMessage message) {
+        ActionStats stats = actions.computeIfAbsent(message.action, key -> new ActionStats());
+        stats.histogram.record(message.elapsed);
+        if (!"OK".equals(message.result)) stats.errors.increment();
+    }
+
+    @Override
+    public void append(StatMessage message) {
+    }
+
+    void reset() {
+        actions.clear();
+    }
+
+    List<LoadTestReport.ActionReport> report(long elapsedInNano) {
+        List<LoadTestReport.ActionReport> reports = new ArrayList<>(actions.size());
+        for (Map.Entry<String, ActionStats> entry : actions.entrySet()) {
+            ActionStats stats = entry.getValue();
+            Histogram.Snapshot snapshot = stats.histogram.snapshot(false);
+            double throughput = snapshot.count * 1_000_000_000.0 / elapsedInNano;
+            reports.add(new LoadTestReport.ActionReport(entry.getKey(), snapshot.count, stats.errors.sum(), throughput,
+                snapshot.quantile(0.5), snapshot.quantile(0.9), snapshot.quantile(0.99), snapshot.max()));
+        }
+        reports.sort(Comparator.comparingLong(LoadTestReport.ActionReport::count).reversed());
+        return reports;
+    }
+
+    static final class ActionStats {
+        final Histogram histogram = new Histogram();
+        final LongAdder errors = new LongAdder();
+    }
+}
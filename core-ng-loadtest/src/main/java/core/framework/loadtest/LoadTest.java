@@ -0,0 +1,112 @@
+package core.framework.loadtest;
+
+import core.framework.http.HTTPClient;
+import core.framework.http.HTTPClientException;
+import core.framework.http.HTTPRequest;
+import core.framework.http.HTTPResponse;
+import core.framework.internal.async.ThreadPools;
+import core.framework.internal.kafka.LocalKafka;
+import core.framework.internal.log.LogManager;
+import core.framework.internal.redis.LocalRedisServer;
+import core.framework.internal.web.HTTPHost;
+import core.framework.module.Module;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * boot app against local redis/kafka stand-ins and hsqldb, drive http traffic, report throughput and latency per action from action logs,
+ * e.g.
+ * <pre>
+ * var test = new LoadTest(new DemoApp());
+ * test.redis.latency = Duration.ofMillis(1);     // inject latency of redis command and kafka delivery
+ * test.start();
+ * test.run(16, Duration.ofSeconds(10), () -&gt; new HTTPRequest(HTTPMethod.GET, test.url("/product/1")));    // warm up
+ * LoadTestReport report = test.run(64, Duration.ofSeconds(30), () -&gt; new HTTPRequest(HTTPMethod.GET, test.url("/product/1")));
+ * test.stop();
+ * </pre>
+ */
+public final class LoadTest {
+    public final LocalRedisServer redis = new LocalRedisServer();
+    public final LocalKafka kafka = new LocalKafka();
+    private final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+    private final LogManager logManager = new LogManager();
+    private final ActionRecorder recorder = new ActionRecorder();
+    private final Module app;
+    private LoadTestModuleContext context;
+    private HTTPClient client;
+
+    public LoadTest(Module app) {
+        this.app = app;
+    }
+
+    public void start() throws Exception {
+        redis.start();
+        logManager.appender = recorder;
+        context = new LoadTestModuleContext(logManager, redis, kafka);
+        new LoadTestModule(context, app).configure();
+        context.startupHook.initialize();
+        context.startupHook.start();
+        client = HTTPClient.builder()
+            .trustAll()
+            .timeout(Duration.ofSeconds(30))
+            .build();
+        logger.info("load test started, app={}", app.getClass().getCanonicalName());
+    }
+
+    // url of app http server, prefer http if both http and https are enabled
+    public String url(String path) {
+        HTTPHost httpHost = context.httpServerConfig.httpHost;
+        if (httpHost != null) return "http://127.0.0.1:" + httpHost.port() + path;
+        return "https://127.0.0.1:" + context.httpServerConfig.httpsHost().port() + path;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return type.cast(context.beanFactory.bean(type, null));
+    }
+
+    // each of concurrent virtual threads sends requests one after another until duration passed, request is created by supplier for each call
+    public LoadTestReport run(int concurrency, Duration duration, Supplier<HTTPRequest> request) {
+        if (concurrency <= 0) throw new Error("concurrency must be greater than 0, value=" + concurrency);
+        logger.info("run load test, concurrency={}, duration={}", concurrency, duration);
+        recorder.reset();
+        var requests = new LongAdder();
+        var failedRequests = new LongAdder();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = ThreadPools.virtualThreadExecutor("load-test-")) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() - end < 0) {
+                        if (!send(request.get())) failedRequests.increment();
+                        requests.increment();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        var report = new LoadTestReport(Duration.ofNanos(elapsed), requests.sum(), failedRequests.sum(), recorder.report(elapsed));
+        logger.info("load test result\n{}", report);
+        return report;
+    }
+
+    private boolean send(HTTPRequest request) {
+        try {
+            HTTPResponse response = client.execute(request);
+            return response.statusCode < 500;
+        } catch (HTTPClientException e) {
+            logger.debug("failed to send request, uri={}, error={}", request.uri, e.getMessage());
+            return false;
+        }
+    }
+
+    public void stop() {
+        context.shutdownHook.run();
+        kafka.close();
+        redis.close();
+    }
+}
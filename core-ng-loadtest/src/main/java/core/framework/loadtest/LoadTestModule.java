@@ -0,0 +1,26 @@
+package core.framework.loadtest;
+
+import core.framework.module.Module;
+
+/**
+ * load app module into load test context, like integration test loads app into test context
+ */
+final class LoadTestModule extends Module {
+    private final Module app;
+
+    LoadTestModule(LoadTestModuleContext context, Module app) {
+        this.context = context;
+        this.app = app;
+    }
+
+    void configure() {
+        context.initialize();
+        initialize();
+        context.validate();
+    }
+
+    @Override
+    protected void initialize() {
+        load(app);
+    }
+}
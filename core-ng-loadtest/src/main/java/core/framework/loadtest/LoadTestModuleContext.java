@@ -0,0 +1,31 @@
+package core.framework.loadtest;
+
+import core.framework.internal.kafka.LocalKafka;
+import core.framework.internal.log.LogManager;
+import core.framework.internal.module.ModuleContext;
+import core.framework.internal.redis.LocalRedisServer;
+
+/**
+ * replace configs with "LoadTest" prefixed ones in same package if exists, e.g. RedisConfig to LoadTestRedisConfig
+ */
+public final class LoadTestModuleContext extends ModuleContext {
+    public final LocalRedisServer redis;
+    public final LocalKafka kafka;
+
+    LoadTestModuleContext(LogManager logManager, LocalRedisServer redis, LocalKafka kafka) {
+        super(logManager);
+        this.redis = redis;
+        this.kafka = kafka;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> Class<T> configClass(Class<T> configClass) {
+        String loadTestConfigClass = configClass.getPackageName() + ".LoadTest" + configClass.getSimpleName();
+        try {
+            return (Class<T>) Class.forName(loadTestConfigClass);
+        } catch (ClassNotFoundException e) {
+            return configClass;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package core.framework.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static core.framework.util.Strings.format;
+
+/**
+ * latency in report is in microseconds, measured by histogram with ~6% precision
+ */
+public record LoadTestReport(Duration elapsed, long requests, long failedRequests, List<ActionReport> actions) {
+    public double throughput() {
+        return requests * 1_000_000_000.0 / elapsed.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder(256 + actions.size() * 128);
+        builder.append(format("elapsed={}, requests={}, failedRequests={}, throughput={}/s\n", elapsed, requests, failedRequests, (long) throughput()))
+            .append(format("{} {} {} {} {} {} {} {}\n", pad("action", 50), pad("count", 10), pad("errors", 8), pad("rps", 10),
+                pad("p50(us)", 10), pad("p90(us)", 10), pad("p99(us)", 10), pad("max(us)", 10)));
+        for (ActionReport action : actions) {
+            builder.append(format("{} {} {} {} {} {} {} {}\n", pad(action.action, 50), pad(action.count, 10), pad(action.errors, 8), pad((long) action.throughput, 10),
+                pad(action.p50, 10), pad(action.p90, 10), pad(action.p99, 10), pad(action.max, 10)));
+        }
+        return builder.toString();
+    }
+
+    private String pad(Object value, int length) {
+        String text = String.valueOf(value);
+        if (text.length() >= length) return text;
+        return text + " ".repeat(length - text.length());
+    }
+
+    public record ActionReport(String action, long count, long errors, double throughput, long p50, long p90, long p99, long max) {
+    }
+}
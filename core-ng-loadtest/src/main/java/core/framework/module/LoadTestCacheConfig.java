@@ -0,0 +1,23 @@
+package core.framework.module;
+
+import core.framework.internal.module.ModuleContext;
+import core.framework.internal.redis.LocalRedisServer;
+import core.framework.loadtest.LoadTestModuleContext;
+
+/**
+ * connect to local redis server regardless of configured host
+ */
+public class LoadTestCacheConfig extends CacheConfig {
+    private LocalRedisServer server;
+
+    @Override
+    protected void initialize(ModuleContext context, String name) {
+        super.initialize(context, name);
+        server = ((LoadTestModuleContext) context).redis;
+    }
+
+    @Override
+    void configureRedis(String host, String password) {
+        super.configureRedis(server.host(), password);
+    }
+}
@@ -0,0 +1,35 @@
+package core.framework.module;
+
+import core.framework.internal.module.ModuleContext;
+import core.framework.test.db.EntitySchemaGenerator;
+import core.framework.util.Strings;
+
+/**
+ * use hsqldb in memory with mysql syntax, tables are created from entity classes on startup
+ */
+public class LoadTestDBConfig extends DBConfig {
+    @Override
+    protected void initialize(ModuleContext context, String name) {
+        super.initialize(context, name);
+        context.startupHook.initialize.add(this::createSchema);
+    }
+
+    @Override
+    String databaseURL(String url) {
+        return Strings.format("jdbc:hsqldb:mem:{};sql.syntax_mys=true", name == null ? "." : name);
+    }
+
+    @Override
+    public void user(String user) {
+    }
+
+    @Override
+    public void password(String password) {
+    }
+
+    private void createSchema() {
+        for (Class<?> entityClass : entityClasses) {
+            new EntitySchemaGenerator(database, entityClass).generate();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package core.framework.module;
+
+import core.framework.internal.kafka.KafkaURI;
+import core.framework.internal.kafka.LocalKafka;
+import core.framework.internal.kafka.MessageListener;
+import core.framework.internal.kafka.MessageProducer;
+import core.framework.internal.log.LogManager;
+import core.framework.internal.module.ModuleContext;
+import core.framework.loadtest.LoadTestModuleContext;
+
+/**
+ * publish and consume messages via local kafka, configured uri is kept for logging only
+ */
+public class LoadTestKafkaConfig extends KafkaConfig {
+    private LocalKafka kafka;
+
+    @Override
+    protected void initialize(ModuleContext context, String name) {
+        super.initialize(context, name);
+        kafka = ((LoadTestModuleContext) context).kafka;
+    }
+
+    @Override
+    MessageProducer createProducer(KafkaURI uri, String name, int maxRequestSize) {
+        return kafka.producer(uri, name, maxRequestSize);
+    }
+
+    @Override
+    MessageListener createListener(KafkaURI uri, String name, LogManager logManager, long maxProcessTimeInNano) {
+        return kafka.listener(uri, name, logManager, maxProcessTimeInNano);
+    }
+}
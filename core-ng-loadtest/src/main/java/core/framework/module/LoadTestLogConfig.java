@@ -0,0 +1,16 @@
+package core.framework.module;
+
+import core.framework.log.LogAppender;
+
+/**
+ * action logs are collected by load test recorder, app appenders are ignored
+ */
+public class LoadTestLogConfig extends LogConfig {
+    @Override
+    public void appendToKafka(String uri, int maxQueueSize) {
+    }
+
+    @Override
+    public void appender(LogAppender appender) {
+    }
+}
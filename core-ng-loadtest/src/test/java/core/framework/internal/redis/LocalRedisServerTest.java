@@ -0,0 +1,77 @@
+package core.framework.internal.redis;
+
+import core.framework.util.Strings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRedisServerTest {
+    private LocalRedisServer server;
+    private RedisImpl redis;
+
+    @BeforeEach
+    void createLocalRedisServer() {
+        server = new LocalRedisServer();
+        server.start();
+        redis = new RedisImpl("redis");
+        redis.host(server.host());
+    }
+
+    @AfterEach
+    void close() {
+        redis.close();
+        server.close();
+    }
+
+    @Test
+    void set() {
+        assertThat(redis.set("key1", "value1", Duration.ofMinutes(1), true)).isTrue();
+        assertThat(redis.set("key1", "value2", Duration.ofMinutes(1), true)).isFalse();
+        assertThat(redis.get("key1")).isEqualTo("value1");
+        assertThat(redis.get("key2")).isNull();
+
+        redis.multiSet(Map.of("key2", "value2"));
+        assertThat(redis.multiGet("key1", "key2", "key3")).containsOnly(Map.entry("key1", "value1"), Map.entry("key2", "value2"));
+        assertThat(redis.increaseBy("counter", 2)).isEqualTo(2);
+        assertThat(redis.del("key1", "key2")).isEqualTo(2);
+    }
+
+    @Test
+    void hash() {
+        redis.hash().set("hash", "field1", "value1");
+        redis.hash().multiSet("hash", Map.of("field2", "value2"));
+        assertThat(redis.hash().getAll("hash")).containsOnly(Map.entry("field1", "value1"), Map.entry("field2", "value2"));
+        assertThat(redis.hash().del("hash", "field1")).isEqualTo(1);
+    }
+
+    @Test
+    void list() {
+        assertThat(redis.list().push("list", "1", "2", "3")).isEqualTo(3);
+        assertThat(redis.list().range("list")).containsExactly("1", "2", "3");
+        assertThat(redis.list().pop("list", 2)).containsExactly("1", "2");
+        assertThat(redis.list().pop("list", 2)).containsExactly("3");
+    }
+
+    @Test
+    void forEach() {
+        redis.set("prefix:1", "1");
+        redis.set("prefix:2", "2");
+        redis.set("other", "3");
+        List<String> keys = new ArrayList<>();
+        redis.forEach("prefix:*", keys::add);
+        assertThat(keys).containsExactlyInAnyOrder("prefix:1", "prefix:2");
+    }
+
+    @Test
+    void unknownCommand() {
+        Object reply = server.execute(new Object[]{Strings.bytes("FLUSHALL")});
+        assertThat(reply).isInstanceOf(LocalRedisServer.ErrorReply.class);
+    }
+}
@@ -0,0 +1,52 @@
+package core.framework.loadtest;
+
+import core.framework.log.message.ActionLogMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActionRecorderTest {
+    private ActionRecorder recorder;
+
+    @BeforeEach
+    void createActionRecorder() {
+        recorder = new ActionRecorder();
+    }
+
+    @Test
+    void report() {
+        recorder.append(message("api:get:/product/:id", "OK", 1_000_000));
+        recorder.append(message("api:get:/product/:id", "ERROR", 3_000_000));
+        recorder.append(message("topic:product-updated", "OK", 500_000));
+
+        List<LoadTestReport.ActionReport> reports = recorder.report(1_000_000_000);
+        assertThat(reports).hasSize(2);
+
+        LoadTestReport.ActionReport report = reports.getFirst();
+        assertThat(report.action()).isEqualTo("api:get:/product/:id");
+        assertThat(report.count()).isEqualTo(2);
+        assertThat(report.errors()).isEqualTo(1);
+        assertThat(report.throughput()).isEqualTo(2);
+        assertThat(report.p50()).isBetween(1000L, 1100L);
+        assertThat(report.max()).isBetween(3000L, 3200L);
+    }
+
+    @Test
+    void reset() {
+        recorder.append(message("api:get:/product/:id", "OK", 1_000_000));
+        recorder.reset();
+
+        assertThat(recorder.report(1_000_000_000)).isEmpty();
+    }
+
+    private ActionLogMessage message(String action, String result, long elapsed) {
+        var message = new ActionLogMessage();
+        message.action = action;
+        message.result = result;
+        message.elapsed = elapsed;
+        return message;
+    }
+}
@@ -8,4 +8,9 @@ public class TestLogConfig extends LogConfig {
     public void appendToKafka(String uri) {
         appendToConsole();
     }
+
+    @Override
+    public void appendToKafka(String uri, int maxQueueSize) {
+        appendToConsole();
+    }
 }
@@ -29,6 +29,8 @@ public final class ContentType {
     public static final ContentType APPLICATION_JAVASCRIPT = create("application/javascript", UTF_8);
     // form body content type doesn't use charset normally, refer to https://www.w3.org/TR/html5/sec-forms.html#urlencoded-form-data
     public static final ContentType APPLICATION_FORM_URLENCODED = create("application/x-www-form-urlencoded", null);
+    // binary json, used between core-ng services, refer to https://github.com/FasterXML/smile-format-specification
+    public static final ContentType APPLICATION_SMILE = create("application/x-jackson-smile", null);
     public static final ContentType APPLICATION_OCTET_STREAM = create("application/octet-stream", null);
     public static final ContentType IMAGE_PNG = create("image/png", null);
 
@@ -1,5 +1,8 @@
 package core.framework.http;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author neo
  */
@@ -10,5 +13,13 @@ public interface HTTPClient {
 
     HTTPResponse execute(HTTPRequest request);
 
+    // request is built and sent by current thread, response is read by http client thread, elapsed and body size are tracked into current action,
+    // failure completes future with HTTPClientException, cancel future to cancel the call
+    CompletableFuture<HTTPResponse> executeAsync(HTTPRequest request);
+
+    // execute requests concurrently, wait all responses within timeout (capped by deadline of current action), return responses in same order of requests,
+    // throw HTTPClientException if any request failed or timed out, and cancel pending calls
+    List<HTTPResponse> executeAll(List<HTTPRequest> requests);
+
     EventSource sse(HTTPRequest request);
 }
@@ -1,16 +1,21 @@
 package core.framework.http;
 
+import core.framework.internal.async.ThreadPools;
 import core.framework.internal.http.CookieManager;
+import core.framework.internal.http.DNSCache;
 import core.framework.internal.http.DefaultTrustManager;
 import core.framework.internal.http.FallbackDNSCache;
 import core.framework.internal.http.HTTPClientImpl;
 import core.framework.internal.http.HTTPEventListenerFactory;
 import core.framework.internal.http.PEM;
+import core.framework.internal.http.RetryBudget;
 import core.framework.internal.http.RetryInterceptor;
 import core.framework.internal.http.ServiceUnavailableInterceptor;
 import core.framework.internal.http.TimeoutInterceptor;
 import core.framework.util.StopWatch;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,12 +82,16 @@ public final class HTTPClientBuilder {
     // like external domain can be under DDos attack constantly (DNS hijacking) or unstable DNS query between countries
     // this is trying to use previous success resolution to reduce intermittent dns resolve failures
     private boolean enableFallbackDNSCache = false;
+    private String dnsCacheName;
+    private Duration dnsCacheTTL;
     private String userAgent = "HTTPClient";
     private boolean trustAll = false;
     private KeyStore trustStore;
     private KeyManager[] keyManagers;   // for client auth
     private Integer maxRetries;
     private Duration retryWaitTime = Duration.ofMillis(500);
+    private double retryBudgetRatio = 0.1;
+    private boolean enableCircuitBreaker = false;
     private Proxy proxy;
 
     // force to use HTTPClient.builder()
@@ -98,6 +107,7 @@ public final class HTTPClientBuilder {
                 .writeTimeout(timeout)
                 .callTimeout(callTimeout()) // call timeout is only used as last defense, timeout for complete call includes connect/retry/etc
                 .connectionPool(new ConnectionPool(100, keepAlive.toSeconds(), TimeUnit.SECONDS))
+                .dispatcher(dispatcher())
                 .eventListenerFactory(new HTTPEventListenerFactory())
                 .retryOnConnectionFailure(false)    // disable all okHTTP builtin retry and followups, those should be handled on application level for traces
                 .followRedirects(false)
@@ -108,18 +118,35 @@ public final class HTTPClientBuilder {
             builder.addInterceptor(new TimeoutInterceptor());
             if (maxRetries != null) {
                 builder.addNetworkInterceptor(new ServiceUnavailableInterceptor());
-                builder.addInterceptor(new RetryInterceptor(maxRetries, retryWaitTime));
+                builder.addInterceptor(new RetryInterceptor(maxRetries, retryWaitTime, new RetryBudget(retryBudgetRatio, 100)));
             }
             if (enableCookie) builder.cookieJar(new CookieManager());
-            if (enableFallbackDNSCache) builder.dns(new FallbackDNSCache(Clock.systemUTC()));
+            DNSCache dnsCache = null;
+            if (dnsCacheTTL != null) {
+                dnsCache = new DNSCache(dnsCacheName, Dns.SYSTEM, ThreadPools.virtualThreadExecutor("http-client-dns-"), dnsCacheTTL, Clock.systemUTC());
+                builder.dns(dnsCache);
+            } else if (enableFallbackDNSCache) {
+                builder.dns(new FallbackDNSCache(Clock.systemUTC()));
+            }
             if (proxy != null) builder.proxy(proxy);
 
-            return new HTTPClientImpl(builder.build(), userAgent, slowOperationThreshold, timeout);
+            var client = new HTTPClientImpl(builder.build(), userAgent, slowOperationThreshold, timeout);
+            client.dnsCache = dnsCache;
+            if (enableCircuitBreaker) client.enableCircuitBreaker();
+            return client;
         } finally {
             logger.info("create http client, elapsed={}", watch.elapsed());
         }
     }
 
+    // async calls run on virtual threads, allow same concurrency per host as connection pool size, okhttp default is 5 per host
+    private Dispatcher dispatcher() {
+        var dispatcher = new Dispatcher(ThreadPools.virtualThreadExecutor("http-client-"));
+        dispatcher.setMaxRequests(500);
+        dispatcher.setMaxRequestsPerHost(100);
+        return dispatcher;
+    }
+
     private void configureHTTPS(OkHttpClient.Builder builder) {
         if (!trustAll && trustStore == null && keyManagers == null) return;
         try {
@@ -177,6 +204,18 @@ public final class HTTPClientBuilder {
         return this;
     }
 
+    // max ratio of retries to requests, e.g. 0.1 means at most 1 retry per 10 requests once initial budget is used up
+    public HTTPClientBuilder retryBudget(double ratio) {
+        retryBudgetRatio = ratio;
+        return this;
+    }
+
+    // fail fast per host if recent calls mostly failed or were slower than slowOperationThreshold, and probe to recover after 10s
+    public HTTPClientBuilder enableCircuitBreaker() {
+        enableCircuitBreaker = true;
+        return this;
+    }
+
     public HTTPClientBuilder enableCookie() {
         enableCookie = true;
         return this;
@@ -187,6 +226,15 @@ public final class HTTPClientBuilder {
         return this;
     }
 
+    // resolve host in background before ttl expires, serve previous addresses if dns fails, and rotate addresses to spread connections,
+    // it supersedes fallback dns cache, jvm dns cache (networkaddress.cache.ttl) still applies underneath,
+    // name is used in stat keys, e.g. http_client_{name}_dns_hosts, so it must be unique among http clients
+    public HTTPClientBuilder dnsCache(String name, Duration ttl) {
+        dnsCacheName = name;
+        dnsCacheTTL = ttl;
+        return this;
+    }
+
     public HTTPClientBuilder proxy(Proxy proxy) {
         this.proxy = proxy;
         return this;
@@ -8,6 +8,7 @@ public final class HTTPHeaders {
     public static final String AUTHORIZATION = "Authorization";
     public static final String CACHE_CONTROL = "Cache-Control";
     public static final String CONTENT_TYPE = "Content-Type";
+    public static final String HOST = "Host";
     public static final String LOCATION = "Location";
     public static final String USER_AGENT = "User-Agent";
 }
@@ -1,5 +1,6 @@
 package core.framework.internal.asm;
 
+import core.framework.internal.log.ActionLog;
 import javassist.CannotCompileException;
 import javassist.ClassPool;
 import javassist.CtClass;
@@ -8,6 +9,11 @@ import javassist.CtField;
 import javassist.CtMethod;
 import javassist.NotFoundException;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static core.framework.util.Strings.format;
@@ -18,19 +24,34 @@ import static core.framework.util.Strings.format;
 public class DynamicInstanceBuilder<T> {
     private static AtomicInteger index = new AtomicInteger();
     private static ClassPool pool;
+    private static GeneratedClassCache cache;
+    // only for startup stats, tolerate lost updates if html templates are rebuilt concurrently in local env
+    private static int generatedClasses;
+    private static int cachedClasses;
+    private static long generateElapsed;
 
     static {
         pool = new ClassPool(null);
         pool.appendSystemPath();
+        String cacheDir = System.getProperty("core.classCache");   // e.g. -Dcore.classCache=/tmp/core-ng/classes, to reuse generated classes across restarts
+        if (cacheDir != null) cache = new GeneratedClassCache(Path.of(cacheDir));
     }
 
     public static void cleanup() {
         pool = null;
         index = null;
+        cache = null;
+    }
+
+    public static void stat(ActionLog actionLog) {
+        actionLog.stat("startup_generated_classes", generatedClasses);
+        actionLog.stat("startup_cached_classes", cachedClasses);
+        actionLog.stat("startup_generate_classes_elapsed", generateElapsed);
     }
 
     private final CtClass classBuilder;
     private final Class<? super T> interfaceClass;
+    private final List<String> interfaces = new ArrayList<>();
     private Class<?>[] constructorParamClasses;
     private final SourceCode sourceCode = new SourceCode();
 
@@ -59,31 +80,20 @@ public class DynamicInstanceBuilder<T> {
         }
     }
 
+    // fields, constructor and methods are compiled on build(), so the compilation can be skipped if generated class is cached
     public void constructor(Class<?>[] constructorParamClasses, String body) {
         if (this.constructorParamClasses != null)
             throw new Error("dynamic class must not have more than one custom constructor");
 
+        this.constructorParamClasses = constructorParamClasses;
         sourceCode.constructorParamClasses = constructorParamClasses;
         sourceCode.constructorBody = body;
-
-        try {
-            this.constructorParamClasses = constructorParamClasses;
-            var params = new CtClass[constructorParamClasses.length];
-            for (int i = 0; i < constructorParamClasses.length; i++) {
-                Class<?> paramClass = constructorParamClasses[i];
-                params[i] = pool.getCtClass(paramClass.getName());
-            }
-            var constructor = new CtConstructor(params, classBuilder);
-            constructor.setBody(body);
-            classBuilder.addConstructor(constructor);
-        } catch (CannotCompileException | NotFoundException e) {
-            throw new Error(format("{}, source:\n{}", e.getMessage(), body), e);
-        }
     }
 
     public void addInterface(Class<?> interfaceClass) {
         try {
             classBuilder.addInterface(pool.get(interfaceClass.getName()));
+            interfaces.add(interfaceClass.getName());
         } catch (NotFoundException e) {
             throw new Error(e);
         }
@@ -91,16 +101,62 @@ public class DynamicInstanceBuilder<T> {
 
     public void addMethod(String method) {
         sourceCode.methods.add(method);
+    }
+
+    public void addField(String pattern, Object... argument) {
+        sourceCode.fields.add(format(pattern, argument));
+    }
+
+    public T build(Object... constructorParams) {
+        long start = System.nanoTime();
         try {
-            classBuilder.addMethod(CtMethod.make(method, classBuilder));
-        } catch (CannotCompileException e) {
-            throw new Error(format("{}, source:\n{}", e.getMessage(), method), e);
+            String key = null;
+            byte[] bytes = null;
+            if (cache != null) {
+                key = cache.key(sourceCode.classNameReference, sourceCode() + interfaces);
+                String cachedClassName = cache.className(sourceCode.classNameReference, key);
+                if (cachedClassName == null) {
+                    key = null;
+                } else {
+                    classBuilder.setName(cachedClassName);
+                    bytes = cache.get(key, interfaceClass.getClassLoader());
+                }
+            }
+            if (bytes == null) {
+                bytes = compile(key);
+            } else {
+                cachedClasses++;
+            }
+            classBuilder.detach();
+            @SuppressWarnings("unchecked")
+            Class<T> targetClass = (Class<T>) MethodHandles.privateLookupIn(interfaceClass, MethodHandles.lookup()).defineClass(bytes);
+            return targetClass.getDeclaredConstructor(constructorParamClasses).newInstance(constructorParams);
+        } catch (ReflectiveOperationException e) {
+            throw new Error(e);
+        } finally {
+            generatedClasses++;
+            generateElapsed += System.nanoTime() - start;
         }
     }
 
-    public void addField(String pattern, Object... argument) {
-        String field = format(pattern, argument);
-        sourceCode.fields.add(field);
+    private byte[] compile(String key) {
+        for (String field : sourceCode.fields) {
+            compileField(field);
+        }
+        if (constructorParamClasses != null) compileConstructor();
+        for (String method : sourceCode.methods) {
+            compileMethod(method);
+        }
+        try {
+            byte[] bytes = classBuilder.toBytecode();
+            if (key != null) cache.put(key, bytes, classBuilder.getRefClasses(), interfaceClass.getClassLoader());
+            return bytes;
+        } catch (CannotCompileException | IOException e) {
+            throw new Error(e);
+        }
+    }
+
+    private void compileField(String field) {
         try {
             classBuilder.addField(CtField.make(field, classBuilder));
         } catch (CannotCompileException e) {
@@ -108,14 +164,27 @@ public class DynamicInstanceBuilder<T> {
         }
     }
 
-    public T build(Object... constructorParams) {
+    private void compileConstructor() {
+        String body = sourceCode.constructorBody;
         try {
-            @SuppressWarnings("unchecked")
-            Class<T> targetClass = (Class<T>) classBuilder.toClass(interfaceClass);
-            classBuilder.detach();
-            return targetClass.getDeclaredConstructor(constructorParamClasses).newInstance(constructorParams);
-        } catch (CannotCompileException | ReflectiveOperationException e) {
-            throw new Error(e);
+            var params = new CtClass[constructorParamClasses.length];
+            for (int i = 0; i < constructorParamClasses.length; i++) {
+                Class<?> paramClass = constructorParamClasses[i];
+                params[i] = pool.getCtClass(paramClass.getName());
+            }
+            var constructor = new CtConstructor(params, classBuilder);
+            constructor.setBody(body);
+            classBuilder.addConstructor(constructor);
+        } catch (CannotCompileException | NotFoundException e) {
+            throw new Error(format("{}, source:\n{}", e.getMessage(), body), e);
+        }
+    }
+
+    private void compileMethod(String method) {
+        try {
+            classBuilder.addMethod(CtMethod.make(method, classBuilder));
+        } catch (CannotCompileException e) {
+            throw new Error(format("{}, source:\n{}", e.getMessage(), method), e);
         }
     }
 
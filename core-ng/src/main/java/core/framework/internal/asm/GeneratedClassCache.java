@@ -0,0 +1,109 @@
+package core.framework.internal.asm;
+
+import core.framework.crypto.Hash;
+import core.framework.util.Maps;
+import core.framework.util.Sets;
+import javassist.CtClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * keep generated class bytes on disk to skip javassist compilation on next startup,
+ * key is hash of class name reference (without index) and source code, with jdk and javassist version,
+ * and cached bytes are only used if all classes referenced by generated class are not changed, e.g. bean classes after redeploy
+ */
+final class GeneratedClassCache {
+    final Map<String, String> fingerprints = Maps.newConcurrentHashMap();
+    private final Set<String> classNames = Sets.newConcurrentHashSet();
+    private final Logger logger = LoggerFactory.getLogger(GeneratedClassCache.class);
+    private final Path dir;
+
+    GeneratedClassCache(Path dir) {
+        this.dir = dir;
+    }
+
+    String key(String classNameReference, String sourceCode) {
+        return Hash.sha256Hex(classNameReference + '\n' + sourceCode + '\n' + Runtime.version() + '\n' + CtClass.version);
+    }
+
+    // generated class name must be same across restarts to reuse cached bytes, so it's derived from key rather than global index, which depends on initialization order,
+    // return null if same class was already generated in current jvm (e.g. rebuilt html template in local env), which must use indexed class name to not conflict
+    @Nullable
+    String className(String classNameReference, String key) {
+        String className = classNameReference + '$' + key.substring(0, 16);
+        if (!classNames.add(className)) return null;
+        return className;
+    }
+
+    @Nullable
+    byte[] get(String key, ClassLoader classLoader) {
+        try (var stream = new DataInputStream(Files.newInputStream(dir.resolve(key)))) {
+            int refClasses = stream.readInt();
+            for (int i = 0; i < refClasses; i++) {
+                String refClass = stream.readUTF();
+                String fingerprint = stream.readUTF();
+                if (!fingerprint.equals(fingerprint(refClass, classLoader))) {
+                    logger.debug("referenced class changed, skip cached class, key={}, refClass={}", key, refClass);
+                    return null;
+                }
+            }
+            return stream.readNBytes(stream.readInt());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("failed to read cached class, key={}", key, e);
+            return null;
+        }
+    }
+
+    void put(String key, byte[] bytes, Collection<String> refClasses, ClassLoader classLoader) {
+        List<String> classes = new ArrayList<>(refClasses.size());
+        for (String refClass : refClasses) {
+            if (!refClass.startsWith("java.")) classes.add(refClass);  // jdk classes are covered by jdk version in key
+        }
+        try {
+            Files.createDirectories(dir);
+            Path tempFile = Files.createTempFile(dir, key, ".tmp");
+            try (var stream = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                stream.writeInt(classes.size());
+                for (String refClass : classes) {
+                    stream.writeUTF(refClass);
+                    stream.writeUTF(fingerprint(refClass, classLoader));
+                }
+                stream.writeInt(bytes.length);
+                stream.write(bytes);
+            }
+            Files.move(tempFile, dir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);    // multiple apps may share same cache dir
+        } catch (IOException e) {
+            logger.warn("failed to write cached class, key={}", key, e);
+        }
+    }
+
+    // hash of class file, generated class itself or runtime generated classes don't have class file, which is treated as empty
+    String fingerprint(String className, ClassLoader classLoader) {
+        return fingerprints.computeIfAbsent(className, name -> {
+            try (InputStream stream = classLoader.getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (stream == null) return "";
+                return Hash.md5Hex(stream.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package core.framework.internal.db;
 import core.framework.db.QueryDiagnostic;
 import core.framework.db.UncheckedSQLException;
 import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.Deadline;
 import core.framework.internal.log.LogManager;
 import core.framework.internal.resource.PoolItem;
 import core.framework.util.Lists;
@@ -46,7 +47,7 @@ public class DatabaseOperation {
     int update(String sql, Object... params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
         try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
-            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setQueryTimeout(queryTimeout());
             setParams(statement, params);
             int result = statement.executeUpdate();
             logSlowQuery(statement);
@@ -64,7 +65,7 @@ public class DatabaseOperation {
     int[] batchUpdate(String sql, List<Object[]> params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
         try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
-            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setQueryTimeout(queryTimeout());
             for (Object[] batchParams : params) {
                 setParams(statement, batchParams);
                 statement.addBatch();
@@ -83,7 +84,7 @@ public class DatabaseOperation {
     <T> Optional<T> selectOne(String sql, RowMapper<T> mapper, Object... params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
         try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
-            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setQueryTimeout(queryTimeout());
             setParams(statement, params);
             return fetchOne(statement, mapper);
         } catch (SQLException e) {
@@ -97,7 +98,7 @@ public class DatabaseOperation {
     <T> List<T> select(String sql, RowMapper<T> mapper, Object... params) {
         PoolItem<Connection> connection = transactionManager.getConnection();
         try (PreparedStatement statement = connection.resource.prepareStatement(sql)) {
-            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setQueryTimeout(queryTimeout());
             setParams(statement, params);
             return fetch(statement, mapper);
         } catch (SQLException e) {
@@ -111,7 +112,7 @@ public class DatabaseOperation {
     OptionalLong insert(String sql, Object[] params, String generatedColumn) {
         PoolItem<Connection> connection = transactionManager.getConnection();
         try (PreparedStatement statement = insertStatement(connection.resource, sql, generatedColumn)) {
-            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setQueryTimeout(queryTimeout());
             setParams(statement, params);
             statement.executeUpdate();
             if (generatedColumn == null) return OptionalLong.empty();
@@ -127,7 +128,7 @@ public class DatabaseOperation {
     Optional<long[]> batchInsert(String sql, List<Object[]> params, String generatedColumn) {
         PoolItem<Connection> connection = transactionManager.getConnection();
         try (PreparedStatement statement = insertStatement(connection.resource, sql, generatedColumn)) {
-            statement.setQueryTimeout(queryTimeoutInSeconds);
+            statement.setQueryTimeout(queryTimeout());
             for (Object[] batchParams : params) {
                 setParams(statement, batchParams);
                 statement.addBatch();
@@ -146,6 +147,13 @@ public class DatabaseOperation {
         }
     }
 
+    // query timeout is capped by deadline of current action, jdbc only supports seconds, and 0 means no timeout
+    int queryTimeout() {
+        if (queryTimeoutInSeconds <= 0) return queryTimeoutInSeconds;
+        long timeout = Deadline.timeout(queryTimeoutInSeconds * 1_000_000_000L);
+        return (int) Math.max(1, (timeout + 999_999_999) / 1_000_000_000);
+    }
+
     private PreparedStatement insertStatement(Connection connection, String sql, String generatedColumn) throws SQLException {
         if (generatedColumn == null) return connection.prepareStatement(sql);
         return connection.prepareStatement(sql, new String[]{generatedColumn});
@@ -4,6 +4,7 @@ import core.framework.http.ContentType;
 import core.framework.internal.log.filter.BytesLogParam;
 
 import static core.framework.http.ContentType.APPLICATION_JSON;
+import static core.framework.http.ContentType.APPLICATION_SMILE;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -16,6 +17,9 @@ public final class BodyLogParam {
                 || contentType.mediaType.contains("xml"))) {
             return new BytesLogParam(body, contentType.charset().orElse(UTF_8));
         }
+        if (contentType != null && APPLICATION_SMILE.mediaType.equals(contentType.mediaType)) {
+            return new SmileBodyLogParam(body, body.length);
+        }
         // form is not handled here, for both http client and http server
         return "byte[" + body.length + "]";
     }
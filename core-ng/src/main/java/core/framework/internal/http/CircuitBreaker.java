@@ -0,0 +1,174 @@
+package core.framework.internal.http;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * open circuit if failure or slow call rate of recent calls exceeds threshold, calls fail fast while open,
+ * after open duration, let limited probe calls through (half open), close if all probes succeed, otherwise open again,
+ * probes without outcome within probe timeout are considered lost, and new probes are let through, so half open state always moves on
+ */
+public final class CircuitBreaker implements Metrics {
+    private static final int WINDOW_SIZE = 100;         // sliding window of recent calls
+    private static final int MIN_CALLS = 20;            // not open with too few samples
+    private static final int PROBE_CALLS = 5;
+    private static final double FAILURE_RATE_THRESHOLD = 0.5;
+    private static final double SLOW_CALL_RATE_THRESHOLD = 0.8;
+
+    final String name;
+    private final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long slowCallThresholdInNano;
+    private final long openDurationInNano;
+    private final byte[] outcomes = new byte[WINDOW_SIZE];     // bit 0 = failed, bit 1 = slow
+
+    State state = State.CLOSED;
+    long probeTimeoutInNano = Duration.ofMinutes(1).toNanos();    // longer than http call timeout including retries
+    private int index;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private long openedTime;
+    private int probes;             // probe calls allowed in half open state
+    private int succeededProbes;
+    private long lastProbeTime;
+    private int rejected;
+    private volatile long lastCallTime = System.nanoTime();
+
+    public CircuitBreaker(String name, Duration slowCallThreshold, Duration openDuration) {
+        this.name = name;
+        slowCallThresholdInNano = slowCallThreshold.toNanos();
+        openDurationInNano = openDuration.toNanos();
+    }
+
+    // return false if circuit is open, caller should fail fast
+    public boolean allow() {
+        long now = System.nanoTime();
+        lastCallTime = now;
+        lock.lock();
+        try {
+            if (state == State.CLOSED) return true;
+            if (state == State.OPEN && now - openedTime >= openDurationInNano) {
+                logger.info("half open circuit breaker, name={}", name);
+                state = State.HALF_OPEN;
+                probes = PROBE_CALLS;
+                succeededProbes = 0;
+            } else if (state == State.HALF_OPEN && probes == 0 && now - lastProbeTime >= probeTimeoutInNano) {
+                logger.info("probes of circuit breaker timed out, retry probes, name={}", name);
+                probes = PROBE_CALLS - succeededProbes;
+            }
+            if (state == State.HALF_OPEN && probes > 0) {
+                probes--;
+                lastProbeTime = now;
+                return true;
+            }
+            rejected++;
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void record(long elapsed, boolean failed) {
+        boolean slow = elapsed > slowCallThresholdInNano;
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                recordProbe(failed || slow);
+            } else if (state == State.CLOSED) {     // ignore calls started before circuit opened
+                add(failed, slow);
+                if (calls >= MIN_CALLS && (failures >= calls * FAILURE_RATE_THRESHOLD || slowCalls >= calls * SLOW_CALL_RATE_THRESHOLD)) {
+                    open();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // cancelled call is not outcome of remote service, give back probe in case it was one, so half open state won't wait for probes never recorded
+    public void cancel() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) probes = Math.min(probes + 1, PROBE_CALLS - succeededProbes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // closed circuit breaker without calls since idleTimeout can be removed, it's same as newly created one except for window of old calls
+    boolean idle(long now, long idleTimeoutInNano) {
+        if (now - lastCallTime < idleTimeoutInNano) return false;
+        lock.lock();
+        try {
+            return state == State.CLOSED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordProbe(boolean failed) {
+        if (failed) {
+            open();
+            return;
+        }
+        succeededProbes++;
+        if (succeededProbes >= PROBE_CALLS) {
+            logger.info("close circuit breaker, name={}", name);
+            state = State.CLOSED;
+            reset();
+        }
+    }
+
+    private void add(boolean failed, boolean slow) {
+        byte previous = outcomes[index];
+        if (calls == WINDOW_SIZE) {     // window is full, evict oldest outcome
+            if ((previous & 1) != 0) failures--;
+            if ((previous & 2) != 0) slowCalls--;
+        } else {
+            calls++;
+        }
+        byte outcome = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        outcomes[index] = outcome;
+        if (failed) failures++;
+        if (slow) slowCalls++;
+        index = (index + 1) % WINDOW_SIZE;
+    }
+
+    private void open() {
+        logger.warn(errorCode("CIRCUIT_BREAKER_OPEN"), "open circuit breaker, name={}, calls={}, failures={}, slowCalls={}", name, calls, failures, slowCalls);
+        state = State.OPEN;
+        openedTime = System.nanoTime();
+        reset();
+    }
+
+    private void reset() {
+        index = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        lock.lock();
+        try {
+            stats.put("circuit_breaker_" + name + "_state", state.ordinal());
+            stats.put("circuit_breaker_" + name + "_rejected", rejected);
+            rejected = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+}
@@ -0,0 +1,135 @@
+package core.framework.internal.http;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+import core.framework.util.Maps;
+import okhttp3.Dns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * resolve on first lookup, then refresh in background once half of ttl passed, so request path doesn't wait for dns,
+ * keep serving previous addresses if refresh fails (up to 1 hour), addresses are rotated on each lookup to spread new connections,
+ * host not looked up for 10 minutes is removed on collect, so hosts no longer called don't stay in memory
+ */
+public final class DNSCache implements Dns, Metrics {
+    private static final long MAX_STALE_TIME = Duration.ofHours(1).toMillis();
+    private static final long RETRY_INTERVAL = Duration.ofSeconds(5).toMillis();
+    private static final long MAX_IDLE_TIME = Duration.ofMinutes(10).toMillis();
+
+    final Map<String, Entry> entries = Maps.newConcurrentHashMap();
+    private final Logger logger = LoggerFactory.getLogger(DNSCache.class);
+    private final String name;
+    private final Dns resolver;
+    private final Executor executor;
+    private final long ttl;
+    private final Clock clock;
+
+    private long maxResolveElapsed;     // only for metrics, tolerate lost updates
+    private int failures;
+
+    public DNSCache(String name, Dns resolver, Executor executor, Duration ttl, Clock clock) {
+        this.name = name;
+        this.resolver = resolver;
+        this.executor = executor;
+        this.ttl = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public List<InetAddress> lookup(String host) throws UnknownHostException {
+        long now = clock.millis();
+        Entry entry = entries.get(host);
+        if (entry == null || now - entry.resolvedTime >= ttl + MAX_STALE_TIME) {     // not resolved yet, or too stale to use
+            return resolve(host, null).addresses();
+        }
+        entry.lookupTime = now;
+        if (now >= entry.refreshTime && entry.refreshing.compareAndSet(false, true)) {
+            executor.execute(() -> refresh(host, entry));
+        }
+        return entry.addresses();
+    }
+
+    private Entry resolve(String host, @Nullable Entry previous) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            List<InetAddress> addresses = resolver.lookup(host);
+            var entry = new Entry(addresses, clock.millis(), ttl);
+            entries.put(host, entry);
+            return entry;
+        } catch (UnknownHostException e) {
+            failures++;
+            if (previous != null) {
+                logger.warn(errorCode("DNS_FAILURE"), "failed to resolve host, use previous addresses, host={}, addresses={}", host, previous.addresses, e);
+                return previous;
+            }
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > maxResolveElapsed) maxResolveElapsed = elapsed;
+        }
+    }
+
+    void refresh(String host, Entry entry) {
+        try {
+            resolve(host, entry);
+        } catch (UnknownHostException e) {
+            throw new Error("unexpected exception", e);    // previous entry is not null, resolve won't throw
+        } finally {
+            entry.refreshTime = clock.millis() + RETRY_INTERVAL;  // if failed, retry later with previous entry, otherwise entry was replaced
+            entry.refreshing.set(false);
+        }
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        long now = clock.millis();
+        entries.values().removeIf(entry -> now - entry.lookupTime >= MAX_IDLE_TIME);
+        String prefix = "http_client_" + name + "_dns_";
+        stats.put(prefix + "hosts", entries.size());
+        stats.put(prefix + "failures", failures);
+        stats.put(prefix + "max_resolve_elapsed", maxResolveElapsed);
+        failures = 0;
+        maxResolveElapsed = 0;
+    }
+
+    static final class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedTime;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicInteger next = new AtomicInteger();
+        volatile long refreshTime;
+        volatile long lookupTime;
+
+        Entry(List<InetAddress> addresses, long resolvedTime, long ttl) {
+            this.addresses = addresses;
+            this.resolvedTime = resolvedTime;
+            refreshTime = resolvedTime + ttl / 2;
+            lookupTime = resolvedTime;
+        }
+
+        // rotate addresses, okhttp connects to first reachable address, so new connections spread across all addresses
+        List<InetAddress> addresses() {
+            int size = addresses.size();
+            if (size <= 1) return addresses;
+            var result = new ArrayList<>(addresses);
+            Collections.rotate(result, -Math.floorMod(next.getAndIncrement(), size));
+            return result;
+        }
+    }
+}
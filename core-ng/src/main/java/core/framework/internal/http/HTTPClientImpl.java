@@ -8,10 +8,18 @@ import core.framework.http.HTTPHeaders;
 import core.framework.http.HTTPMethod;
 import core.framework.http.HTTPRequest;
 import core.framework.http.HTTPResponse;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.Deadline;
+import core.framework.internal.log.LogManager;
 import core.framework.internal.log.filter.FieldMapLogParam;
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
 import core.framework.log.ActionLogContext;
+import core.framework.util.ASCII;
 import core.framework.util.StopWatch;
 import core.framework.util.Strings;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -25,8 +33,16 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static core.framework.log.Markers.errorCode;
 import static java.lang.String.CASE_INSENSITIVE_ORDER;
@@ -34,13 +50,19 @@ import static java.lang.String.CASE_INSENSITIVE_ORDER;
 /**
  * @author neo
  */
-public final class HTTPClientImpl implements HTTPClient {
+public final class HTTPClientImpl implements HTTPClient, Metrics {
     private static final MediaType MEDIA_TYPE_APPLICATION_JSON = MediaType.get(ContentType.APPLICATION_JSON.toString());
+    private static final int MAX_CIRCUIT_BREAKERS = 100;
+    private static final long CIRCUIT_BREAKER_IDLE_TIMEOUT_IN_NANO = Duration.ofMinutes(10).toNanos();
     public final long timeoutInNano;
     private final Logger logger = LoggerFactory.getLogger(HTTPClientImpl.class);
     private final String userAgent;
     private final long slowOperationThresholdInNanos;
     private final OkHttpClient client;
+    @Nullable
+    public DNSCache dnsCache;
+    @Nullable
+    private Map<String, CircuitBreaker> circuitBreakers;    // by host, null if not enabled, bounded by MAX_CIRCUIT_BREAKERS, idle ones are removed on collect
 
     public HTTPClientImpl(OkHttpClient client, String userAgent, Duration slowOperationThreshold, Duration timeout) {
         this.client = client;
@@ -49,25 +71,85 @@ public final class HTTPClientImpl implements HTTPClient {
         timeoutInNano = timeout.toNanos();
     }
 
+    public void enableCircuitBreaker() {
+        circuitBreakers = new ConcurrentHashMap<>();
+    }
+
     @Override
     public HTTPResponse execute(HTTPRequest request) {
         var watch = new StopWatch();
         Request httpRequest = httpRequest(request);
         int requestBodyLength = request.body == null ? 0 : request.body.length;
         int responseBodyLength = 0;
-        try (Response httpResponse = client.newCall(httpRequest).execute()) {
+        boolean failed = true;
+        Call call = call(request, httpRequest);
+        try (Response httpResponse = call.execute()) {
             HTTPResponse response = response(httpResponse);
             responseBodyLength = response.body.length;
+            failed = response.statusCode >= 500;
             return response;
         } catch (IOException e) {
-            throw new HTTPClientException(Strings.format("http request failed, uri={}, error={}", request.uri, e.getMessage()), "HTTP_REQUEST_FAILED", e);
+            throw requestFailed(request, e);
         } finally {
             long elapsed = watch.elapsed();
             ActionLogContext.track("http", elapsed, responseBodyLength, requestBodyLength);
             logger.debug("execute, elapsed={}", elapsed);
-            if (elapsed > slowOperationThresholdInNanos(request)) {
-                logger.warn(errorCode("SLOW_HTTP"), "slow http operation, method={}, uri={}, elapsed={}", request.method, request.uri, Duration.ofNanos(elapsed));
+            checkSlowOperation(request, elapsed);
+            recordCircuitBreaker(httpRequest, elapsed, failed);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HTTPResponse> executeAsync(HTTPRequest request) {
+        Request httpRequest = httpRequest(request);
+        Call call = call(request, httpRequest);
+        ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
+        if (actionLog != null) actionLog.beginAsync();
+        var callback = new AsyncCallback(request, httpRequest, actionLog);
+        try {
+            call.enqueue(callback);
+        } catch (RuntimeException e) {  // e.g. dispatcher is shutdown, callback won't be called
+            cancelCircuitBreaker(httpRequest);
+            throw e;
+        }
+        callback.future.whenComplete((response, e) -> {
+            if (e instanceof CancellationException) call.cancel();
+        });
+        return callback.future;
+    }
+
+    @Override
+    public List<HTTPResponse> executeAll(List<HTTPRequest> requests) {
+        var watch = new StopWatch();
+        long timeout = Deadline.timeout(timeoutInNano);
+        List<CompletableFuture<HTTPResponse>> futures = new ArrayList<>(requests.size());
+        var failure = new CompletableFuture<Void>();    // completed by first failed call, to fail fast without waiting for other calls
+        try {
+            for (HTTPRequest request : requests) {
+                CompletableFuture<HTTPResponse> future = executeAsync(request);
+                future.whenComplete((response, e) -> {
+                    if (e != null) failure.completeExceptionally(e);
+                });
+                futures.add(future);
+            }
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])), failure).get(timeout, TimeUnit.NANOSECONDS);
+            List<HTTPResponse> responses = new ArrayList<>(futures.size());
+            for (CompletableFuture<HTTPResponse> future : futures) {
+                responses.add(future.join());
             }
+            return responses;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HTTPClientException cause) throw cause;
+            throw new HTTPClientException(e.getCause().getMessage(), "HTTP_REQUEST_FAILED", e.getCause());
+        } catch (TimeoutException e) {
+            throw new HTTPClientException(Strings.format("http requests timed out, requests={}, timeout={}", requests.size(), Duration.ofNanos(timeout)), "HTTP_REQUEST_FAILED", e);
+        } catch (InterruptedException e) {
+            throw new HTTPClientException("interrupted during waiting for http responses", "HTTP_REQUEST_FAILED", e);
+        } finally {
+            for (CompletableFuture<HTTPResponse> future : futures) {
+                future.cancel(false);   // no-op if already completed, otherwise cancel pending call
+            }
+            logger.debug("executeAll, requests={}, elapsed={}", requests.size(), watch.elapsed());
         }
     }
 
@@ -94,9 +176,70 @@ public final class HTTPClientImpl implements HTTPClient {
         } finally {
             long elapsed = watch.elapsed();
             logger.debug("sse, elapsed={}", elapsed);
-            if (elapsed > slowOperationThresholdInNanos(request)) {
-                logger.warn(errorCode("SLOW_HTTP"), "slow http operation, method={}, uri={}, elapsed={}", request.method, request.uri, Duration.ofNanos(elapsed));
-            }
+            checkSlowOperation(request, elapsed);
+        }
+    }
+
+    // permit of circuit breaker must be recorded or cancelled, so everything may throw (e.g. deadline exceeded) must be done before allow()
+    private Call call(HTTPRequest request, Request httpRequest) {
+        long requestTimeout = request.timeout == null ? timeoutInNano : request.timeout.toNanos();
+        long timeout = Deadline.timeout(requestTimeout);
+        CircuitBreaker circuitBreaker = circuitBreaker(httpRequest.url().host());
+        if (circuitBreaker != null && !circuitBreaker.allow()) throw new HTTPClientException("circuit breaker is open, fail fast, uri=" + request.uri, "CIRCUIT_BREAKER_OPEN");
+        Call call = client.newCall(httpRequest);
+        if (timeout < requestTimeout) call.timeout().timeout(timeout, TimeUnit.NANOSECONDS);     // limit whole call including retries within deadline of current action
+        return call;
+    }
+
+    // hosts are from request urls, e.g. pod ips, so map is bounded and hosts beyond limit are not protected until idle ones are removed
+    @Nullable
+    private CircuitBreaker circuitBreaker(String host) {
+        if (circuitBreakers == null) return null;
+        CircuitBreaker circuitBreaker = circuitBreakers.get(host);
+        if (circuitBreaker != null || circuitBreakers.size() >= MAX_CIRCUIT_BREAKERS) return circuitBreaker;
+        return circuitBreakers.computeIfAbsent(host, key -> new CircuitBreaker(circuitBreakerName(key), Duration.ofNanos(slowOperationThresholdInNanos), Duration.ofSeconds(10)));
+    }
+
+    // circuit breaker name is used in stat keys, e.g. circuit_breaker_{name}_state
+    String circuitBreakerName(String host) {
+        var builder = new StringBuilder(host.length());
+        for (int i = 0; i < host.length(); i++) {
+            char ch = ASCII.toLowerCase(host.charAt(i));
+            builder.append(ASCII.isLetter(ch) || ASCII.isDigit(ch) ? ch : '_');
+        }
+        return builder.toString();
+    }
+
+    private void recordCircuitBreaker(Request httpRequest, long elapsed, boolean failed) {
+        if (circuitBreakers == null) return;
+        CircuitBreaker circuitBreaker = circuitBreakers.get(httpRequest.url().host());
+        if (circuitBreaker != null) circuitBreaker.record(elapsed, failed);
+    }
+
+    private void cancelCircuitBreaker(Request httpRequest) {
+        if (circuitBreakers == null) return;
+        CircuitBreaker circuitBreaker = circuitBreakers.get(httpRequest.url().host());
+        if (circuitBreaker != null) circuitBreaker.cancel();
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        if (dnsCache != null) dnsCache.collect(stats);
+        if (circuitBreakers == null) return;
+        long now = System.nanoTime();
+        circuitBreakers.values().removeIf(circuitBreaker -> circuitBreaker.idle(now, CIRCUIT_BREAKER_IDLE_TIMEOUT_IN_NANO));
+        for (CircuitBreaker circuitBreaker : circuitBreakers.values()) {
+            circuitBreaker.collect(stats);
+        }
+    }
+
+    private HTTPClientException requestFailed(HTTPRequest request, IOException e) {
+        return new HTTPClientException(Strings.format("http request failed, uri={}, error={}", request.uri, e.getMessage()), "HTTP_REQUEST_FAILED", e);
+    }
+
+    private void checkSlowOperation(HTTPRequest request, long elapsed) {
+        if (elapsed > slowOperationThresholdInNanos(request)) {
+            logger.warn(errorCode("SLOW_HTTP"), "slow http operation, method={}, uri={}, elapsed={}", request.method, request.uri, Duration.ofNanos(elapsed));
         }
     }
 
@@ -186,4 +329,49 @@ public final class HTTPClientImpl implements HTTPClient {
         if (ContentType.APPLICATION_JSON.equals(contentType)) return MEDIA_TYPE_APPLICATION_JSON; // avoid parsing as application/json is most used type
         return MediaType.get(contentType.toString());   // use get() not parse() to fail if passed invalid contentType
     }
+
+    // runs on okhttp dispatcher thread, must not write to action log of caller except by trackAsync
+    private final class AsyncCallback implements Callback {
+        final CompletableFuture<HTTPResponse> future = new CompletableFuture<>();
+        private final HTTPRequest request;
+        private final Request httpRequest;
+        @Nullable
+        private final ActionLog actionLog;
+        private final long startTime = System.nanoTime();
+
+        AsyncCallback(HTTPRequest request, Request httpRequest, @Nullable ActionLog actionLog) {
+            this.request = request;
+            this.httpRequest = httpRequest;
+            this.actionLog = actionLog;
+        }
+
+        @Override
+        public void onResponse(Call call, Response httpResponse) {
+            HTTPResponse response;
+            try (httpResponse) {
+                response = response(httpResponse);
+            } catch (IOException e) {
+                onFailure(call, e);
+                return;
+            }
+            long elapsed = track(response.body.length);
+            recordCircuitBreaker(httpRequest, elapsed, response.statusCode >= 500);
+            future.complete(response);
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            long elapsed = track(0);
+            if (call.isCanceled()) cancelCircuitBreaker(httpRequest);     // cancelled call, e.g. loser of hedged requests, is not outcome of remote service
+            else recordCircuitBreaker(httpRequest, elapsed, true);
+            future.completeExceptionally(requestFailed(request, e));
+        }
+
+        private long track(int responseBodyLength) {
+            long elapsed = System.nanoTime() - startTime;
+            if (actionLog != null) actionLog.trackAsync("http", elapsed, responseBodyLength, request.body == null ? 0 : request.body.length);
+            checkSlowOperation(request, elapsed);
+            return elapsed;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package core.framework.internal.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * token bucket to cap retries as ratio of requests, each request deposits ratio of token, each retry withdraws one token,
+ * so retries can't amplify load during partial outage, initial full bucket allows retries under low traffic
+ */
+public final class RetryBudget {
+    private static final long SCALE = 1000;     // use fixed point to keep state in one AtomicLong
+
+    private final AtomicLong tokens;
+    private final long deposit;
+    private final long maxTokens;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        if (ratio <= 0 || ratio > 1) throw new Error("ratio must be in (0, 1], ratio=" + ratio);
+        deposit = (long) (ratio * SCALE);
+        this.maxTokens = maxTokens * SCALE;
+        tokens = new AtomicLong(this.maxTokens);
+    }
+
+    public void deposit() {
+        while (true) {
+            long current = tokens.get();
+            if (current >= maxTokens) return;
+            if (tokens.compareAndSet(current, Math.min(maxTokens, current + deposit))) return;
+        }
+    }
+
+    public boolean withdraw() {
+        while (true) {
+            long current = tokens.get();
+            if (current < SCALE) return false;
+            if (tokens.compareAndSet(current, current - SCALE)) return true;
+        }
+    }
+
+    long tokens() {
+        return tokens.get() / SCALE;
+    }
+}
@@ -2,8 +2,9 @@ package core.framework.internal.http;
 
 import core.framework.api.http.HTTPStatus;
 import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.Deadline;
 import core.framework.internal.log.LogManager;
-import core.framework.util.Threads;
+import core.framework.util.Randoms;
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -31,15 +32,18 @@ public class RetryInterceptor implements Interceptor {
     private final Logger logger = LoggerFactory.getLogger(RetryInterceptor.class);
     private final int maxRetries;
     private final long waitTimeInMs;
+    private final RetryBudget budget;
 
-    public RetryInterceptor(int maxRetries, Duration retryWaitTime) {
+    public RetryInterceptor(int maxRetries, Duration retryWaitTime, RetryBudget budget) {
         this.maxRetries = maxRetries;
         waitTimeInMs = retryWaitTime.toMillis();
+        this.budget = budget;
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
         Request request = chain.request();
+        budget.deposit();
         int attempts = 1;
         while (true) {
             try {
@@ -58,7 +62,7 @@ public class RetryInterceptor implements Interceptor {
                     throw e;
                 }
             }
-            sleep(waitTime(attempts));
+            sleep(jitter(waitTime(attempts)));
             attempts++;
 
             // set to actionLog directly to keep trace log concise
@@ -82,7 +86,7 @@ public class RetryInterceptor implements Interceptor {
     boolean shouldRetry(int statusCode, int attempts) {
         if (statusCode == HTTPStatus.SERVICE_UNAVAILABLE.code || statusCode == HTTPStatus.TOO_MANY_REQUESTS.code) {
             if (attempts >= maxRetries) return false;
-            return withinMaxProcessTime(attempts);
+            return withinMaxProcessTime(attempts) && withinBudget();
         }
         return false;
     }
@@ -93,11 +97,11 @@ public class RetryInterceptor implements Interceptor {
         if (attempts >= maxRetries) return false;
         if (!withinMaxProcessTime(attempts)) return false;
 
-        if (e instanceof RouteException) return true;   // if it's route failure, then request is not sent yet
-        if (e instanceof ConnectionShutdownException) return true;  // refer to RetryAndFollowUpInterceptor -> requestSendStarted = e !is ConnectionShutdownException
+        if (e instanceof RouteException) return withinBudget();   // if it's route failure, then request is not sent yet
+        if (e instanceof ConnectionShutdownException) return withinBudget();  // refer to RetryAndFollowUpInterceptor -> requestSendStarted = e !is ConnectionShutdownException
 
         // only not retry on POST if request sent
-        if (!"POST".equals(method)) return true;
+        if (!"POST".equals(method)) return withinBudget();
 
         // should not retry on connection reset, the request could be sent already, and server side may continue to complete it
         if (e instanceof SSLException && "Connection reset".equals(e.getMessage())) return false;
@@ -106,14 +110,21 @@ public class RetryInterceptor implements Interceptor {
 
         // okHTTP uses both socket timeout and AsyncTimeout, it closes socket/connection when timeout is detected by background thread, so no need to close exchange
         // refer to AsyncTimeout.newTimeoutException() -> SocketAsyncTimeout.newTimeoutException()
-        return !(e instanceof SocketTimeoutException && "timeout".equals(e.getMessage()));
+        if (e instanceof SocketTimeoutException && "timeout".equals(e.getMessage())) return false;
+        return withinBudget();
+    }
+
+    private boolean withinBudget() {
+        if (budget.withdraw()) return true;
+        logger.warn(errorCode("RETRY_BUDGET_EXHAUSTED"), "not retry due to retry budget exhausted, too many retries compared to requests");
+        return false;
     }
 
     // for short circuit, e.g. heavy load request causes remote service busy, and client timeout triggers more retry requests, to amplify the load
     boolean withinMaxProcessTime(int attempts) {
         ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
         if (actionLog == null) return true;
-        long remainingTime = actionLog.remainingProcessTimeInNano();
+        long remainingTime = Math.min(actionLog.remainingProcessTimeInNano(), Deadline.remainingTime(actionLog));
         if (remainingTime <= waitTime(attempts).toNanos()) {
             logger.debug("not retry due to max process time limit, remainingTime={}", Duration.ofNanos(remainingTime));
             return false;
@@ -121,11 +132,23 @@ public class RetryInterceptor implements Interceptor {
         return true;
     }
 
+    // max wait time of exponential backoff
     Duration waitTime(int attempts) {
         return Duration.ofMillis(waitTimeInMs << attempts - 1);
     }
 
+    // randomize between half and full wait time, to spread retries of concurrent failed requests
+    Duration jitter(Duration waitTime) {
+        long millis = waitTime.toMillis();
+        return Duration.ofMillis((long) Randoms.nextDouble(millis / 2d, millis));
+    }
+
+    // jitter() is the only randomness of wait time, not to use Threads.sleepRoughly(), which randomizes again beyond max wait time
     void sleep(Duration duration) {
-        Threads.sleepRoughly(duration);
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            logger.debug("sleep is interrupted", e);
+        }
     }
 }
@@ -0,0 +1,33 @@
+package core.framework.internal.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import core.framework.internal.json.JSONMapper;
+import core.framework.internal.log.filter.BytesLogParam;
+import core.framework.internal.log.filter.LogParam;
+
+import java.io.IOException;
+import java.util.Set;
+
+// convert to json only when trace is written, so masking and truncation work same as json body
+public final class SmileBodyLogParam implements LogParam {
+    private final byte[] body;
+    private final int length;
+
+    public SmileBodyLogParam(byte[] body, int length) {
+        this.body = body;
+        this.length = length;
+    }
+
+    @Override
+    public void append(StringBuilder builder, Set<String> maskedFields, int maxParamLength) {
+        byte[] json;
+        try {
+            JsonNode node = JSONMapper.SMILE_MAPPER.readTree(body, 0, length);
+            json = JSONMapper.OBJECT_MAPPER.writeValueAsBytes(node);
+        } catch (IOException e) {   // e.g. beginning of streamed body
+            builder.append("byte[").append(length).append(']');
+            return;
+        }
+        new BytesLogParam(json).append(builder, maskedFields, maxParamLength);
+    }
+}
@@ -8,9 +8,12 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.introspect.VisibilityChecker;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
@@ -39,6 +42,10 @@ import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
  */
 public class JSONMapper {
     public static final ObjectMapper OBJECT_MAPPER = builder().build();
+    // smile is binary form of json with same data model, used between core-ng services, refer to https://github.com/FasterXML/smile-format-specification
+    public static final ObjectMapper SMILE_MAPPER = configure(SmileMapper.builder(SmileFactory.builder()
+        .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+        .build())).build();
     private static Map<Class<?>, JSONReader<?>> readers = new HashMap<>();
     private static Map<Class<?>, JSONWriter<?>> writers = new HashMap<>();
 
@@ -65,8 +72,12 @@ public class JSONMapper {
             .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
             .build();
 
-        // refer to com.fasterxml.jackson.databind.ObjectMapper.DEFAULT_BASE for default settings, e.g. cacheProvider
-        return JsonMapper.builder(jsonFactory)
+        return configure(JsonMapper.builder(jsonFactory));
+    }
+
+    // refer to com.fasterxml.jackson.databind.ObjectMapper.DEFAULT_BASE for default settings, e.g. cacheProvider
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configure(B builder) {
+        return builder
             .addModule(timeModule())
             .defaultDateFormat(new StdDateFormat())
             // disable value class loader to avoid jdk illegal reflection warning, requires JSON class/fields must be public
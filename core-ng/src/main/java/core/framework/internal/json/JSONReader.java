@@ -3,6 +3,7 @@ package core.framework.internal.json;
 import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 
 /**
@@ -21,6 +22,11 @@ public final class JSONReader<T> {
         return reader.readValue(json);
     }
 
+    // parse from stream with jackson internal buffer, not to hold whole json in memory
+    public T fromJSON(InputStream json) throws IOException {
+        return reader.readValue(json);
+    }
+
     public T fromJSON(String json) throws IOException {
         return reader.readValue(json);
     }
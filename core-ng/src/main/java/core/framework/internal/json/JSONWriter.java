@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import core.framework.util.Strings;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 
 
@@ -27,6 +29,15 @@ public final class JSONWriter<T> {
         }
     }
 
+    // write utf-8 bytes into stream without intermediate String, for large body, note jackson closes stream after writing
+    public void toJSON(T instance, OutputStream stream) {
+        try {
+            writer.writeValue(stream, instance);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public String toJSONString(T instance) {
         try {
             return writer.writeValueAsString(instance);
@@ -0,0 +1,22 @@
+package core.framework.internal.json;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public final class SmileReader<T> {
+    private final ObjectReader reader;
+
+    public SmileReader(Class<T> instanceClass) {
+        reader = JSONMapper.SMILE_MAPPER.readerFor(instanceClass);
+    }
+
+    public T fromSmile(byte[] smile) throws IOException {
+        return reader.readValue(smile);
+    }
+
+    public T fromSmile(InputStream smile) throws IOException {
+        return reader.readValue(smile);
+    }
+}
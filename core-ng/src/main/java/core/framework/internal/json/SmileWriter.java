@@ -0,0 +1,32 @@
+package core.framework.internal.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public final class SmileWriter<T> {
+    private final ObjectWriter writer;
+
+    public SmileWriter(Class<T> instanceClass) {
+        writer = JSONMapper.SMILE_MAPPER.writerFor(instanceClass);
+    }
+
+    public byte[] toSmile(T instance) {
+        try {
+            return writer.writeValueAsBytes(instance);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void toSmile(T instance, OutputStream stream) {
+        try {
+            writer.writeValue(stream, instance);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
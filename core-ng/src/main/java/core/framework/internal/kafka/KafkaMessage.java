@@ -15,6 +15,8 @@ public class KafkaMessage {
     public static final String HEADER_TRACE = "trace";
     public static final String HEADER_CLIENT = "client";
     public static final String HEADER_REF_ID = "refId";
+    public static final String HEADER_RETRY_ATTEMPT = "retryAttempt";
+    public static final String HEADER_RETRY_AT = "retryAt";
 
     final String key;
     final byte[] value;
@@ -23,6 +25,12 @@ public class KafkaMessage {
     final String refId;
     final String client;
     final long timestamp;
+    final int partition;
+    final long offset;
+    final int retryAttempt;     // 0 means not retried
+    final long retryAt;         // epoch millis when to handle retried message
+
+    OffsetTracker.PartitionOffsets trackedOffsets;  // only used with lanes
 
     // one poll batch is small (~500) and short (~500ms), it doesn't expect many messages with same key (less than 3?)
     List<KafkaMessage> subsequent;
@@ -37,8 +45,14 @@ public class KafkaMessage {
         client = header(headers, HEADER_CLIENT);
         String trace = header(headers, HEADER_TRACE);
         this.trace = trace == null ? null : Trace.parse(trace);
+        String retryAttempt = header(headers, HEADER_RETRY_ATTEMPT);
+        this.retryAttempt = retryAttempt == null ? 0 : Integer.parseInt(retryAttempt);
+        String retryAt = header(headers, HEADER_RETRY_AT);
+        this.retryAt = retryAt == null ? 0 : Long.parseLong(retryAt);
 
         timestamp = record.timestamp();
+        partition = record.partition();
+        offset = record.offset();
     }
 
     final String header(Headers headers, String key) {
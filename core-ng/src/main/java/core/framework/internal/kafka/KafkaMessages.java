@@ -35,10 +35,11 @@ class KafkaMessages {
         size += message.value.length;
     }
 
-    void addUnordered(ConsumerRecord<String, byte[]> record) {
+    KafkaMessage addUnordered(ConsumerRecord<String, byte[]> record) {
         var message = new KafkaMessage(record);
         unordered.add(message);
         count++;
         size += message.value.length;
+        return message;
     }
 }
@@ -0,0 +1,141 @@
+package core.framework.internal.kafka;
+
+import core.framework.internal.async.ThreadPools;
+import core.framework.internal.async.VirtualThread;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * messages are sharded to lanes by key hash, each lane processes messages sequentially across polls,
+ * so messages with same key are processed in order, and hot key only blocks its own lane,
+ * dispatch never blocks listener thread, messages exceed lane backlog are held in lane overflow, and listener pauses their partitions until lane drains
+ */
+class MessageLanes {
+    private static final Task STOP = new Task(null, null, null);
+
+    private final Logger logger = LoggerFactory.getLogger(MessageLanes.class);
+    private final Lane[] lanes;
+    private final Handler handler;
+    private int nextLane;   // for messages without key, only accessed by listener thread
+
+    MessageLanes(String name, int count, int maxBacklog, Handler handler) {
+        this.handler = handler;
+        lanes = new Lane[count];
+        Thread.Builder.OfVirtual builder = ThreadPools.virtualThreadBuilder(name + "-lane-");
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(builder, maxBacklog);
+        }
+    }
+
+    // called by listener thread only
+    void dispatch(String topic, MessageProcess<?> process, KafkaMessage message) {
+        Lane lane = lanes[lane(message.key)];
+        var task = new Task(topic, process, message);
+        if (!lane.overflow.isEmpty() || !lane.queue.offer(task)) lane.overflow.add(task);  // keep order after overflowed messages
+    }
+
+    int lane(String key) {
+        if (key == null) {
+            int lane = nextLane;
+            nextLane = (nextLane + 1) % lanes.length;
+            return lane;
+        }
+        return Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    // called by listener thread only, move overflowed messages into lanes as backlog drains, return partitions still having overflowed messages
+    Set<TopicPartition> flush() {
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (Lane lane : lanes) {
+            while (!lane.overflow.isEmpty() && lane.queue.offer(lane.overflow.peek())) {
+                lane.overflow.poll();
+            }
+            for (Task task : lane.overflow) {
+                partitions.add(task.partition());
+            }
+        }
+        return partitions;
+    }
+
+    // called by listener thread only when partitions are revoked, drop queued messages of revoked partitions, new owner will process them again,
+    // messages being processed complete against offsets of previous assignment
+    void cancel(Collection<TopicPartition> partitions) {
+        for (Lane lane : lanes) {
+            lane.overflow.removeIf(task -> partitions.contains(task.partition()));
+            lane.queue.removeIf(task -> task != STOP && partitions.contains(task.partition()));
+        }
+    }
+
+    int backlog() {
+        int backlog = 0;
+        for (Lane lane : lanes) {
+            backlog += lane.queue.size() + lane.overflow.size();
+        }
+        return backlog;
+    }
+
+    // drain all pending messages then stop, must be called after listener thread stopped dispatching
+    void shutdown() throws InterruptedException {
+        for (Lane lane : lanes) {
+            for (Task task : lane.overflow) {
+                lane.queue.put(task);
+            }
+            lane.overflow.clear();
+            lane.queue.put(STOP);
+        }
+        for (Lane lane : lanes) {
+            lane.thread.join();
+        }
+    }
+
+    interface Handler {
+        void handle(String topic, MessageProcess<?> process, KafkaMessage message);
+    }
+
+    record Task(String topic, MessageProcess<?> process, KafkaMessage message) {
+        TopicPartition partition() {
+            return new TopicPartition(topic, message.partition);
+        }
+    }
+
+    private class Lane {
+        final BlockingQueue<Task> queue;
+        final Queue<Task> overflow = new ArrayDeque<>();    // only accessed by listener thread
+        final Thread thread;
+
+        Lane(Thread.Builder.OfVirtual builder, int maxBacklog) {
+            queue = new ArrayBlockingQueue<>(maxBacklog);
+            thread = builder.start(this::process);
+        }
+
+        private void process() {
+            VirtualThread.COUNT.increase();
+            try {
+                while (true) {
+                    Task task = queue.take();
+                    if (task == STOP) break;
+                    try {
+                        handler.handle(task.topic, task.process, task.message);
+                    } catch (Throwable e) {  // handleSingle already logs action error, this is to keep lane alive in any case
+                        logger.error("failed to process message in lane, topic={}", task.topic, e);
+                    } finally {
+                        task.message.trackedOffsets.complete(task.message.offset);
+                    }
+                }
+            } catch (InterruptedException e) {
+                logger.warn("lane interrupted", e);
+            } finally {
+                VirtualThread.COUNT.decrease();
+            }
+        }
+    }
+}
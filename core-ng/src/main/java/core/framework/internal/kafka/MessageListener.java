@@ -25,6 +25,8 @@ import static core.framework.log.Markers.errorCode;
  * @author neo
  */
 public class MessageListener {
+    public static final Duration MAX_POLL_INTERVAL = Duration.ofMinutes(30);    // max process time for each poll
+
     public final ConsumerMetrics consumerMetrics;
     public final Set<String> topics = new HashSet<>();
     public final Map<String, MessageProcess<?>> processes = new HashMap<>();
@@ -42,6 +44,8 @@ public class MessageListener {
     public int minPollBytes = 1;                // default kafka setting
     public Duration maxWaitTime = Duration.ofMillis(500);
     public String groupId = LogManager.APP_NAME;
+    public int lanes;                   // 0 means not using lanes, messages with same key are only ordered within one poll
+    public int maxLaneBacklog = 100;
 
     long maxProcessTimeInNano;
     private MessageListenerThread thread;
@@ -64,9 +68,17 @@ public class MessageListener {
         }
     }
 
+    // retry listener handles retry topics with original process
+    public void subscribeRetry(String retryTopic, MessageProcess<?> process) {
+        boolean added = topics.add(retryTopic);
+        if (!added) throw new Error("topic is already subscribed, topic=" + retryTopic);
+        processes.put(retryTopic, process);
+    }
+
     public void start() {
         Consumer<String, byte[]> consumer = createConsumer();
         thread = new MessageListenerThread(threadName(name), consumer, this);
+        thread.subscribe();
         thread.start();
         logger.info("kafka listener started, uri={}, topics={}, name={}, groupId={}", uri, topics, name, groupId);
     }
@@ -106,7 +118,7 @@ public class MessageListener {
             config.put(ConsumerConfig.CLIENT_ID_CONFIG, Network.LOCAL_HOST_NAME + (name == null ? "" : "/" + name));      // will show in monitor metrics
             config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, Boolean.FALSE);
             config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");                      // refer to org.apache.kafka.clients.consumer.ConsumerConfig, must be in("latest", "earliest", "none")
-            config.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, 1_800_000);                  // 30min as max process time for each poll
+            config.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, (int) MAX_POLL_INTERVAL.toMillis());
             config.put(ConsumerConfig.RECONNECT_BACKOFF_MS_CONFIG, 500L);                       // longer backoff to reduce cpu usage when kafka is not available
             config.put(ConsumerConfig.RECONNECT_BACKOFF_MAX_MS_CONFIG, 5_000L);                 // 5s
             config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
@@ -117,8 +129,6 @@ public class MessageListener {
             config.put(ConsumerConfig.ENABLE_METRICS_PUSH_CONFIG, Boolean.FALSE);
             Consumer<String, byte[]> consumer = new KafkaConsumer<>(config, new KeyDeserializer(), new ByteArrayDeserializer());
             consumerMetrics.add(consumer.metrics());
-
-            consumer.subscribe(topics);
             return consumer;
         } finally {
             logger.info("create kafka consumer, topics={}, name={}, elapsed={}", topics, name, watch.elapsed());
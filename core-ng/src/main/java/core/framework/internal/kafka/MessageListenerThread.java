@@ -12,8 +12,12 @@ import core.framework.util.Sets;
 import core.framework.util.StopWatch;
 import core.framework.util.Threads;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +27,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -34,6 +39,7 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static core.framework.log.Markers.errorCode;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * @author neo
@@ -49,6 +55,13 @@ class MessageListenerThread extends Thread {
     private final Semaphore semaphore;
     private final int concurrency;
 
+    @Nullable
+    final OffsetTracker tracker;     // only used with lanes
+    @Nullable
+    private final MessageLanes lanes;
+    private final Set<TopicPartition> pausedPartitions = new HashSet<>();   // paused due to lane overflow, only accessed by listener thread
+    private final Map<TopicPartition, Long> delayedPartitions = new HashMap<>();  // retry partitions paused until due time, only accessed by listener thread
+
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition notProcessing = lock.newCondition();
     private boolean processing;
@@ -63,6 +76,21 @@ class MessageListenerThread extends Thread {
         concurrency = listener.concurrency;
         semaphore = new Semaphore(concurrency);
         thread = ThreadPools.virtualThreadBuilder(name + "-");   // used in single thread, no need to use factory()
+        if (listener.lanes > 0) {
+            tracker = new OffsetTracker();
+            lanes = new MessageLanes(name, listener.lanes, listener.maxLaneBacklog, this::handleSingle);
+        } else {
+            tracker = null;
+            lanes = null;
+        }
+    }
+
+    void subscribe() {
+        if (lanes == null) {
+            consumer.subscribe(listener.topics);
+        } else {
+            consumer.subscribe(listener.topics, new LaneRebalanceListener());
+        }
     }
 
     @Override
@@ -89,7 +117,10 @@ class MessageListenerThread extends Thread {
         while (!shutdown) {
             try {
                 Collection<KafkaMessages> allMessages = poll();   // consumer should call poll at least once every MAX_POLL_INTERVAL_MS
-                if (allMessages == null) continue;
+                if (allMessages == null) {
+                    if (tracker != null) commitTrackedOffsets();    // lanes may complete messages between polls
+                    continue;
+                }
 
                 processAll(allMessages);
             } catch (Throwable e) {
@@ -100,30 +131,87 @@ class MessageListenerThread extends Thread {
             }
         }
 
+        if (lanes != null) drainLanes();
+
         logger.info("close kafka consumer, name={}", getName());
         consumer.close();
     }
 
     @Nullable
     Collection<KafkaMessages> poll() {
-        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofSeconds(30));
+        if (lanes != null) pauseOverflowedPartitions();
+        long now = System.currentTimeMillis();
+        if (!delayedPartitions.isEmpty()) resumeDueRetries(now);
+        ConsumerRecords<String, byte[]> records = consumer.poll(pollTimeout(now));
         if (records.isEmpty()) return null;
 
         // topic -> messages, use linked hash map to keep message in same order as polled from kafka
         Map<String, KafkaMessages> messageMappings = new LinkedHashMap<>();
         for (ConsumerRecord<String, byte[]> record : records) {
             String topic = record.topic();
+            if (delayRetry(record, now)) continue;
             KafkaMessages messages = messageMappings.computeIfAbsent(topic, KafkaMessages::new);
             if (listener.bulkProcesses.containsKey(topic)) {
-                messages.addUnordered(record);  // bulk is processed in single thread
+                KafkaMessage message = messages.addUnordered(record);  // bulk is processed in single thread
                 messages.bulk = true;
+                if (tracker != null) message.trackedOffsets = tracker.add(topic, record.partition(), record.offset());
+            } else if (lanes != null) {
+                KafkaMessage message = messages.addUnordered(record);  // lanes keep key ordering
+                message.trackedOffsets = tracker.add(topic, record.partition(), record.offset());
             } else {
                 messages.addOrdered(record);
             }
         }
+        if (messageMappings.isEmpty()) return null;
         return messageMappings.values();
     }
 
+    // poll shortly if partitions are paused, to resume them soon after lanes drain or retries are due
+    private Duration pollTimeout(long now) {
+        long timeout = pausedPartitions.isEmpty() ? 30_000 : 100;
+        for (long retryAt : delayedPartitions.values()) {
+            timeout = Math.min(timeout, Math.max(retryAt - now, 1));
+        }
+        return Duration.ofMillis(timeout);
+    }
+
+    // retry message not due yet, pause its partition and seek back, so listener keeps polling other partitions instead of sleeping,
+    // retry topic has single delay, messages after it in same partition are not due either
+    private boolean delayRetry(ConsumerRecord<String, byte[]> record, long now) {
+        var partition = new TopicPartition(record.topic(), record.partition());
+        if (delayedPartitions.containsKey(partition)) return true;     // rest of records of paused partition in this poll
+        Header header = record.headers().lastHeader(KafkaMessage.HEADER_RETRY_AT);
+        if (header == null) return false;
+        long retryAt = Long.parseLong(new String(header.value(), UTF_8));
+        if (retryAt <= now) return false;
+        consumer.pause(List.of(partition));
+        consumer.seek(partition, record.offset());
+        delayedPartitions.put(partition, retryAt);
+        return true;
+    }
+
+    private void resumeDueRetries(long now) {
+        delayedPartitions.keySet().retainAll(consumer.assignment());    // partition may be revoked, and will be paused again by new owner
+        List<TopicPartition> partitions = new ArrayList<>();
+        delayedPartitions.entrySet().removeIf(entry -> {
+            if (entry.getValue() > now) return false;
+            partitions.add(entry.getKey());
+            return true;
+        });
+        if (!partitions.isEmpty()) consumer.resume(partitions);
+    }
+
+    // pause partitions having messages waiting for lane capacity, so poll keeps running without fetching more of them, resume once drained
+    private void pauseOverflowedPartitions() {
+        Set<TopicPartition> overflowed = lanes.flush();
+        Set<TopicPartition> resumed = new HashSet<>(pausedPartitions);
+        resumed.removeAll(overflowed);
+        if (!resumed.isEmpty()) consumer.resume(resumed);
+        if (!overflowed.isEmpty()) consumer.pause(overflowed);
+        pausedPartitions.clear();
+        pausedPartitions.addAll(overflowed);
+    }
+
     void shutdown() {
         shutdown = true;
         // do not call interrupt(), it will interrupt consumer coordinator,
@@ -160,15 +248,21 @@ class MessageListenerThread extends Thread {
             if (messages.bulk) {
                 MessageProcess<?> bulkProcess = listener.bulkProcesses.get(messages.topic);
                 processBulk(bulkProcess, messages);
+            } else if (lanes != null) {
+                MessageProcess<?> process = listener.processes.get(messages.topic);
+                for (KafkaMessage message : messages.unordered) {
+                    lanes.dispatch(messages.topic, process, message);   // not block, overflowed partitions are paused on next poll
+                }
             } else {
                 MessageProcess<?> process = listener.processes.get(messages.topic);
                 processSingle(process, messages);
             }
         }
 
-        semaphore.acquire(concurrency);
+        semaphore.acquire(concurrency);     // wait all bulk/single processing of this poll, lanes continue processing across polls
         try {
-            consumer.commitAsync();
+            if (tracker != null) commitTrackedOffsets();
+            else consumer.commitAsync();
         } finally {
             semaphore.release(concurrency);
         }
@@ -222,8 +316,10 @@ class MessageListenerThread extends Thread {
             logger.debug("[header] refId={}, client={}, correlationId={}, trace={}", message.refId, message.client, message.correlationId, message.trace);
 
             actionLog.context.put("key", Collections.singletonList(message.key)); // key can be null
+            if (message.retryAttempt > 0) actionLog.context.put("retry_attempt", List.of(String.valueOf(message.retryAttempt)));
 
-            checkConsumerDelay(actionLog, message.timestamp, listener.longConsumerDelayThresholdInNano);
+            // retried message is delayed on purpose, only count delay after due time
+            checkConsumerDelay(actionLog, message.retryAt > 0 ? message.retryAt : message.timestamp, listener.longConsumerDelayThresholdInNano);
 
             logger.debug("[message] key={}, value={}, timestamp={}", message.key, new BytesLogParam(message.value), message.timestamp);
 
@@ -232,17 +328,31 @@ class MessageListenerThread extends Thread {
             process.handler().handle(message.key, messageObject);
         } catch (Throwable e) {
             logManager.logError(e);
+            if (process.retry != null) retry(process.retry, message);
         } finally {
             logManager.end("=== message handling end ===");
         }
     }
 
+    private void retry(MessageRetry retry, KafkaMessage message) {
+        try {
+            retry.retry(message);
+        } catch (Throwable e) {
+            logger.error(errorCode("FAILED_TO_RETRY"), "failed to retry message, error={}", e.getMessage(), e);
+        }
+    }
+
     private void processBulk(MessageProcess<?> bulkProcess, KafkaMessages messages) throws InterruptedException {
         semaphore.acquire();
         thread.start(() -> {
             VirtualThread.COUNT.increase();
             try {
                 handleBulk(messages.topic, bulkProcess, messages.unordered);
+                if (tracker != null) {
+                    for (KafkaMessage message : messages.unordered) {
+                        message.trackedOffsets.complete(message.offset);
+                    }
+                }
             } finally {
                 VirtualThread.COUNT.decrease();
                 semaphore.release();
@@ -250,6 +360,22 @@ class MessageListenerThread extends Thread {
         });
     }
 
+    private void commitTrackedOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = tracker.committableOffsets();
+        if (!offsets.isEmpty()) consumer.commitAsync(offsets, null);
+    }
+
+    private void drainLanes() {
+        try {
+            logger.info("wait for lanes to complete, name={}, backlog={}", getName(), lanes.backlog());
+            lanes.shutdown();
+            Map<TopicPartition, OffsetAndMetadata> offsets = tracker.committableOffsets();
+            if (!offsets.isEmpty()) consumer.commitSync(offsets);
+        } catch (Throwable e) {
+            logger.warn("failed to drain lanes, name={}", getName(), e);
+        }
+    }
+
     <T> void handleBulk(String topic, MessageProcess<T> process, List<KafkaMessage> messages) {
         ActionLog actionLog = logManager.begin("=== message handling begin ===", null);
         try {
@@ -323,4 +449,22 @@ class MessageListenerThread extends Thread {
             logger.warn(errorCode("LONG_CONSUMER_DELAY"), "consumer delay is too long, delay={}", Duration.ofNanos(delay));
         }
     }
+
+    // drop queued messages of revoked partitions, commit processed offsets, and drop tracking to avoid committing offsets for partitions owned by other consumer
+    // messages not processed yet will be processed again by new owner, which is at-least-once as same as regular processing,
+    // messages being processed in lanes complete against dropped tracking, so they never affect offsets if partition is assigned back
+    private class LaneRebalanceListener implements ConsumerRebalanceListener {
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            lanes.cancel(partitions);
+            pausedPartitions.removeAll(partitions);
+            Map<TopicPartition, OffsetAndMetadata> offsets = tracker.committableOffsets(partitions);
+            tracker.remove(partitions);
+            if (!offsets.isEmpty()) consumer.commitSync(offsets);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        }
+    }
 }
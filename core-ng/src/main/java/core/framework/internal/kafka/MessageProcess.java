@@ -22,6 +22,8 @@ public class MessageProcess<T> {
     public final Validator<T> validator;
     @Nullable
     public final PerformanceWarning[] warnings;
+    @Nullable
+    public MessageRetry retry;
 
     MessageProcess(Object handler, Class<T> messageClass) {
         this.handler = handler;
@@ -0,0 +1,70 @@
+package core.framework.internal.kafka;
+
+import core.framework.internal.log.LogManager;
+import core.framework.util.Strings;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * failed message is republished to "{topic}-retry-{attempt}" with delay headers, and handled by retry listener once due,
+ * after all attempts, it's published to "{topic}-dlq"
+ */
+public class MessageRetry {
+    private final Logger logger = LoggerFactory.getLogger(MessageRetry.class);
+    private final String topic;
+    private final Duration[] delays;
+    private final MessageProducer producer;
+    private final RetryMetrics metrics;
+
+    public MessageRetry(String topic, Duration[] delays, MessageProducer producer, RetryMetrics metrics) {
+        this.topic = topic;
+        this.delays = delays;
+        this.producer = producer;
+        this.metrics = metrics;
+    }
+
+    public int attempts() {
+        return delays.length;
+    }
+
+    public String retryTopic(int attempt) {
+        return topic + "-retry-" + attempt;
+    }
+
+    public String deadLetterTopic() {
+        return topic + "-dlq";
+    }
+
+    void retry(KafkaMessage message) {
+        int attempt = message.retryAttempt + 1;
+        if (attempt <= delays.length) {
+            long retryAt = System.currentTimeMillis() + delays[attempt - 1].toMillis();
+            logger.warn(errorCode("MESSAGE_RETRY"), "retry message, topic={}, attempt={}, delay={}", topic, attempt, delays[attempt - 1]);
+            publish(retryTopic(attempt), message, attempt, retryAt);
+            metrics.retried(attempt);
+        } else {
+            logger.error(errorCode("MESSAGE_DEAD_LETTER"), "send message to dead letter topic, topic={}, attempts={}", topic, message.retryAttempt);
+            publish(deadLetterTopic(), message, message.retryAttempt, 0);
+            metrics.deadLettered();
+        }
+    }
+
+    private void publish(String targetTopic, KafkaMessage message, int attempt, long retryAt) {
+        byte[] key = message.key == null ? null : Strings.bytes(message.key);
+        var record = new ProducerRecord<>(targetTopic, null, System.currentTimeMillis(), key, message.value, null);
+        Headers headers = record.headers();
+        headers.add(KafkaMessage.HEADER_CLIENT, Strings.bytes(message.client == null ? LogManager.APP_NAME : message.client));
+        if (message.correlationId != null) headers.add(KafkaMessage.HEADER_CORRELATION_ID, Strings.bytes(message.correlationId));
+        if (message.refId != null) headers.add(KafkaMessage.HEADER_REF_ID, Strings.bytes(message.refId));
+        if (message.trace != null) headers.add(KafkaMessage.HEADER_TRACE, Strings.bytes(message.trace.name()));
+        headers.add(KafkaMessage.HEADER_RETRY_ATTEMPT, Strings.bytes(String.valueOf(attempt)));
+        if (retryAt > 0) headers.add(KafkaMessage.HEADER_RETRY_AT, Strings.bytes(String.valueOf(retryAt)));
+        producer.send(record);
+    }
+}
@@ -0,0 +1,97 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * track polled but not processed offsets per partition,
+ * committable offset is the smallest pending offset, so commit never passes message still being processed in lane,
+ * each assignment of partition has its own PartitionOffsets, messages complete against the one they were added to,
+ * so completion of message polled before partition was revoked never affects offsets polled after reassignment
+ */
+class OffsetTracker {
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    // called by listener thread only, return offsets of current assignment to complete message
+    PartitionOffsets add(String topic, int partition, long offset) {
+        PartitionOffsets offsets = partitions.computeIfAbsent(new TopicPartition(topic, partition), key -> new PartitionOffsets());
+        offsets.add(offset);
+        return offsets;
+    }
+
+    // return offsets advanced since last call
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> results = new HashMap<>();
+        for (Map.Entry<TopicPartition, PartitionOffsets> entry : partitions.entrySet()) {
+            long offset = entry.getValue().committable();
+            if (offset >= 0) results.put(entry.getKey(), new OffsetAndMetadata(offset));
+        }
+        return results;
+    }
+
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> results = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionOffsets offsets = this.partitions.get(partition);
+            if (offsets == null) continue;
+            long offset = offsets.committable();
+            if (offset >= 0) results.put(partition, new OffsetAndMetadata(offset));
+        }
+        return results;
+    }
+
+    void remove(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            this.partitions.remove(partition);
+        }
+    }
+
+    static class PartitionOffsets {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeSet<Long> pending = new TreeSet<>();
+        private long next = -1;         // offset after last polled message
+        private long committed = -1;
+
+        void add(long offset) {
+            lock.lock();
+            try {
+                pending.add(offset);
+                if (offset + 1 > next) next = offset + 1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // called by lane threads, partition may be revoked during processing, then it updates detached offsets which won't be committed anymore
+        void complete(long offset) {
+            lock.lock();
+            try {
+                pending.remove(offset);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // kafka commit is cumulative, if async commit failed, next advanced commit will cover it
+        long committable() {
+            lock.lock();
+            try {
+                long offset = pending.isEmpty() ? next : pending.first();
+                if (offset > committed) {
+                    committed = offset;
+                    return offset;
+                }
+                return -1;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -49,7 +49,7 @@ public class ProducerMetrics implements Metrics {
         }
     }
 
-    private String statName(String statName) {
+    protected String statName(String statName) {
         StringBuilder builder = new StringBuilder("kafka_producer");
         if (name != null) builder.append('_').append(name);
         builder.append('_').append(statName);
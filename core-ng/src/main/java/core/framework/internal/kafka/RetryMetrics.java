@@ -0,0 +1,44 @@
+package core.framework.internal.kafka;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * count messages sent to each retry stage and dead letter topic between collecting
+ */
+public class RetryMetrics implements Metrics {
+    private final String name;
+    private final Map<Integer, AtomicInteger> retries = new ConcurrentHashMap<>();
+    private final AtomicInteger deadLetters = new AtomicInteger();
+
+    public RetryMetrics(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        for (Map.Entry<Integer, AtomicInteger> entry : retries.entrySet()) {
+            stats.put(statName("retry_" + entry.getKey()), entry.getValue().getAndSet(0));
+        }
+        stats.put(statName("dead_letter"), deadLetters.getAndSet(0));
+    }
+
+    void retried(int attempt) {
+        retries.computeIfAbsent(attempt, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void deadLettered() {
+        deadLetters.incrementAndGet();
+    }
+
+    String statName(String statName) {
+        var builder = new StringBuilder("kafka_consumer");
+        if (name != null) builder.append('_').append(name);
+        builder.append('_').append(statName);
+        return builder.toString();
+    }
+}
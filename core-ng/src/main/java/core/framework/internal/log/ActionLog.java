@@ -11,6 +11,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static core.framework.internal.log.LogLevel.DEBUG;
 import static core.framework.internal.log.LogLevel.WARN;
@@ -34,15 +36,21 @@ public final class ActionLog {
     final Map<String, PerformanceStat> performanceStats;
     private final List<LogEvent> events;
     private final long startTime;
+    private final String message;
+    private final String thread;
     public LogLevel result = LogLevel.INFO;
     public Trace trace = Trace.NONE;        // whether flush trace log for all subsequent actions
+    boolean sampled;                        // whether flush trace log for current action, decided by TraceSampler
     public String action = "unassigned";
     public List<String> correlationIds;     // with bulk message handler, there will be multiple correlationIds handled by one batch
     public List<String> clients;
     public List<String> refIds;
     public String errorMessage;
     long elapsed;
+    long deadline;          // System.nanoTime() when caller times out, 0 means no deadline
     private String errorCode;
+    private LogLevel minHoldLevel = DEBUG;  // events below this level are not held, as they will never be flushed
+    private volatile Queue<AsyncOperation> asyncOperations;    // completed by other threads, e.g. http client async call, merged by action thread to keep action log single threaded
 
     public ActionLog(String message, String id) {
         startTime = System.nanoTime();
@@ -58,10 +66,29 @@ public final class ActionLog {
         performanceStats = new HashMap<>();
         warningContext = new WarningContext();
 
-        add(event(message));
-        add(event("id={}", this.id));
-        add(event("date={}", DateTimeFormatter.ISO_INSTANT.format(date)));
-        add(event("thread={}", Thread.currentThread().getName()));
+        // begin events are rendered in trace(), to avoid creating events and formatting date for actions not traced
+        this.message = message;
+        thread = Thread.currentThread().getName();
+    }
+
+    // called when there is no log appender, trace will never be used, only WARN/ERROR events are kept to determine result
+    void discardTrace() {
+        minHoldLevel = WARN;
+    }
+
+    // called when action is not sampled and sampler discards debug trace, trace of WARN/ERROR action only contains INFO and above
+    void discardDebug() {
+        minHoldLevel = LogLevel.INFO;
+    }
+
+    // whether event with given level will be held, to let logger skip creating event
+    boolean accept(LogLevel level) {
+        return level.value >= WARN.value || hold(level) && events.size() < SOFT_EVENTS_LIMIT;
+    }
+
+    // trace can be turned on after begin, e.g. by request header, then hold all events since then unless there is no appender
+    private boolean hold(LogLevel level) {
+        return level.value >= minHoldLevel.value || trace != Trace.NONE && minHoldLevel != WARN;
     }
 
     void process(LogEvent event) {
@@ -70,21 +97,22 @@ public final class ActionLog {
             errorCode = event.errorCode();      // only update errorCode/message if level raised, so errorCode will be first WARN or ERROR
             errorMessage = Strings.truncate(event.message(), MAX_CONTEXT_VALUE_LENGTH);     // limit error message length in action log
         }
-        if (event.level.value >= WARN.value || events.size() < SOFT_EVENTS_LIMIT) {       // after reach max holding lines, only add warning/error events
+        if (accept(event.level)) {       // after reach max holding lines, only add warning/error events
             add(event);
         }
     }
 
     void end(String message) {
+        mergeAsyncOperations();
         for (PerformanceStat stat : performanceStats.values()) {
             stat.checkTotalIO();
         }
 
         elapsed = elapsed();
-        add(event("elapsed={}", elapsed));
+        if (hold(DEBUG)) add(event("elapsed={}", elapsed));
         warningContext.checkMaxProcessTime(elapsed);
 
-        add(event(message));
+        if (hold(DEBUG)) add(event(message));
     }
 
     public long elapsed() {
@@ -108,7 +136,7 @@ public final class ActionLog {
     }
 
     boolean flushTraceLog() {
-        return trace != Trace.NONE || result.value >= WARN.value;
+        return trace != Trace.NONE || result.value >= WARN.value || sampled;
     }
 
     public String errorCode() {
@@ -132,13 +160,12 @@ public final class ActionLog {
                 contextValues.add(contextValue);
             }
         }
-        add(event("[context] {}={}", key, values.length == 1 ? values[0] : values));
+        if (accept(DEBUG)) add(event("[context] {}={}", key, values.length == 1 ? values[0] : values));
     }
 
     public void stat(String key, double value) {
         stats.compute(key, (k, oldValue) -> (oldValue == null) ? value : oldValue + value);
-        var format = new DecimalFormat();
-        add(event("[stat] {}={}", key, format.format(value)));
+        if (accept(DEBUG)) add(event("[stat] {}={}", key, new DecimalFormat().format(value)));
     }
 
     public void initializeWarnings(PerformanceWarning[] warnings) {
@@ -148,6 +175,31 @@ public final class ActionLog {
     }
 
     public int track(String operation, long elapsed, int readEntries, int writeEntries) {
+        mergeAsyncOperations();
+        return trackStat(operation, elapsed, readEntries, writeEntries);
+    }
+
+    // must be called by action thread before starting async operation
+    public void beginAsync() {
+        if (asyncOperations == null) asyncOperations = new ConcurrentLinkedQueue<>();
+    }
+
+    // called by other thread when async operation completes, stats will be merged on next track or end of action
+    public void trackAsync(String operation, long elapsed, int readEntries, int writeEntries) {
+        asyncOperations.add(new AsyncOperation(operation, elapsed, readEntries, writeEntries));
+    }
+
+    private void mergeAsyncOperations() {
+        Queue<AsyncOperation> operations = asyncOperations;
+        if (operations == null) return;
+        while (true) {
+            AsyncOperation operation = operations.poll();
+            if (operation == null) break;
+            trackStat(operation.name, operation.elapsed, operation.readEntries, operation.writeEntries);
+        }
+    }
+
+    private int trackStat(String operation, long elapsed, int readEntries, int writeEntries) {
         PerformanceStat stat = performanceStats.computeIfAbsent(operation, key -> new PerformanceStat(WarningContext.defaultWarning(key)));
         stat.track(elapsed, readEntries, writeEntries);
         return stat.count;
@@ -164,10 +216,16 @@ public final class ActionLog {
     }
 
     public void action(String action) {
-        add(event("action={}", action));
+        if (accept(DEBUG)) add(event("action={}", action));
         this.action = action;
     }
 
+    // caller gives up after timeout, refer to Deadline
+    public void deadline(long timeoutInNano) {
+        deadline = startTime + timeoutInNano;
+        if (deadline == 0) deadline = 1;    // nanoTime can be any value, 0 is reserved for no deadline
+    }
+
     public long remainingProcessTimeInNano() {
         long remainingTime = warningContext.maxProcessTimeInNano - elapsed();
         if (remainingTime < 0) return 0;
@@ -175,7 +233,11 @@ public final class ActionLog {
     }
 
     public String trace() {
-        var builder = new StringBuilder(events.size() << 7);  // length * 128 as rough initial capacity
+        var builder = new StringBuilder((events.size() + 4) << 7);  // length * 128 as rough initial capacity
+        new LogEvent(startTime, LOGGER, null, DEBUG, message, null, null).appendTrace(builder, startTime);
+        new LogEvent(startTime, LOGGER, null, DEBUG, "id={}", new Object[]{id}, null).appendTrace(builder, startTime);
+        new LogEvent(startTime, LOGGER, null, DEBUG, "date={}", new Object[]{DateTimeFormatter.ISO_INSTANT.format(date)}, null).appendTrace(builder, startTime);
+        new LogEvent(startTime, LOGGER, null, DEBUG, "thread={}", new Object[]{thread}, null).appendTrace(builder, startTime);
         for (LogEvent event : events) {
             event.appendTrace(builder, startTime);
         }
@@ -191,4 +253,7 @@ public final class ActionLog {
         if (configs.isEmpty()) return null;
         return configs.toArray(new PerformanceWarning[0]);
     }
+
+    private record AsyncOperation(String name, long elapsed, int readEntries, int writeEntries) {
+    }
 }
@@ -0,0 +1,47 @@
+package core.framework.internal.log;
+
+import core.framework.log.ErrorCode;
+import core.framework.log.Severity;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * deadline of current action, propagated from caller by timeout header, once passed, caller already gave up,
+ * so db/redis/http calls fail fast instead of burning capacity
+ */
+public final class Deadline {
+    // return timeout capped by remaining time to deadline of current action
+    public static long timeout(long timeoutInNano) {
+        ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
+        if (actionLog == null || actionLog.deadline == 0) return timeoutInNano;
+        long remainingTime = actionLog.deadline - System.nanoTime();
+        if (remainingTime <= 0) throw new DeadlineExceededException("deadline exceeded, caller already timed out, elapsed=" + Duration.ofNanos(actionLog.elapsed()));
+        return Math.min(timeoutInNano, remainingTime);
+    }
+
+    // return remaining time to deadline of action, Long.MAX_VALUE if there is no deadline
+    public static long remainingTime(ActionLog actionLog) {
+        if (actionLog.deadline == 0) return Long.MAX_VALUE;
+        return actionLog.deadline - System.nanoTime();
+    }
+
+    public static final class DeadlineExceededException extends RuntimeException implements ErrorCode {
+        @Serial
+        private static final long serialVersionUID = 5817357012519409468L;
+
+        DeadlineExceededException(String message) {
+            super(message);
+        }
+
+        @Override
+        public Severity severity() {
+            return Severity.WARN;
+        }
+
+        @Override
+        public String errorCode() {
+            return "DEADLINE_EXCEEDED";
+        }
+    }
+}
@@ -15,7 +15,7 @@ import java.time.format.DateTimeFormatter;
 final class LogEvent {
     final LogLevel level;
 
-    private final long time = System.nanoTime();
+    private final long time;
     private final String logger;
     private final Marker marker;
     private final String message;
@@ -23,6 +23,11 @@ final class LogEvent {
     private final Throwable exception;
 
     LogEvent(String logger, Marker marker, LogLevel level, String message, Object[] arguments, Throwable exception) {
+        this(System.nanoTime(), logger, marker, level, message, arguments, exception);
+    }
+
+    LogEvent(long time, String logger, Marker marker, LogLevel level, String message, Object[] arguments, Throwable exception) {
+        this.time = time;
         this.logger = logger;
         this.marker = marker;
         this.level = level;
@@ -45,9 +45,16 @@ public class LogManager {
 
     private final ActionLogMessageFactory actionLogMessageFactory = new ActionLogMessageFactory();
     public LogAppender appender;
+    public TraceSampler sampler;
 
     public ActionLog begin(String message, String id) {
         var actionLog = new ActionLog(message, id);
+        if (appender == null) {
+            actionLog.discardTrace();
+        } else if (sampler != null) {
+            actionLog.sampled = sampler.sampleHead();
+            if (!actionLog.sampled && sampler.discardDebug) actionLog.discardDebug();
+        }
         CURRENT_ACTION_LOG.set(actionLog);
         return actionLog;
     }
@@ -56,6 +63,7 @@ public class LogManager {
         ActionLog actionLog = CURRENT_ACTION_LOG.get();
         actionLog.end(message);
         CURRENT_ACTION_LOG.remove();    // actionLog.end(message) may produce more logs
+        if (sampler != null && sampler.sampleTail(actionLog.action, actionLog.elapsed)) actionLog.sampled = true;   // always sample to keep elapsed estimation of all actions
 
         if (appender != null) {
             try {
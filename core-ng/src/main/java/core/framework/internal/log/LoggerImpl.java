@@ -40,12 +40,14 @@ public final class LoggerImpl extends AbstractLogger {
     @Override
     public void log(Marker marker, LogLevel level, String message, Object[] arguments, Throwable exception) {
         if (level.value >= traceLevel.value) {
-            var event = new LogEvent(name, marker, level, message, arguments, exception);
+            ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();      // logManager.begin() may not be called
+            boolean write = level.value >= infoLevel.value;
+            if (!write && (actionLog == null || !actionLog.accept(level))) return;  // fast path, not to create event which won't be held or written
 
-            ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
-            if (actionLog != null) actionLog.process(event);    // logManager.begin() may not be called
+            var event = new LogEvent(name, marker, level, message, arguments, exception);
+            if (actionLog != null) actionLog.process(event);
 
-            if (level.value >= infoLevel.value) {
+            if (write) {
                 write(event);
             }
         }
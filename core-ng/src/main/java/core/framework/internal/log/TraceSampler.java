@@ -0,0 +1,43 @@
+package core.framework.internal.log;
+
+import core.framework.internal.stat.ElapsedQuantile;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * decide whether to flush trace of OK actions,
+ * head sampling traces ratio of all actions, tail sampling traces ratio of slow actions and actions slower than p99 of same action
+ */
+public final class TraceSampler {
+    private static final int MAX_ACTIONS = 1000;        // action is path pattern or topic/job name, limit in case of unexpected high cardinality
+
+    private final Map<String, ElapsedQuantile> quantiles = new ConcurrentHashMap<>();
+    public double rate;                     // head sampling rate
+    public long slowThresholdInNano;
+    public double slowRate;
+    public boolean outliers;                // trace actions above p99 elapsed of same action
+    public boolean discardDebug;            // not hold DEBUG events of actions not head sampled, to skip creating events most likely never flushed
+
+    boolean sampleHead() {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    boolean sampleTail(String action, long elapsed) {
+        boolean sampled = slowThresholdInNano > 0 && elapsed > slowThresholdInNano && ThreadLocalRandom.current().nextDouble() < slowRate;
+        if (outliers) {
+            ElapsedQuantile quantile = quantile(action);
+            if (quantile != null && quantile.outlier(elapsed)) sampled = true;
+        }
+        return sampled;
+    }
+
+    private ElapsedQuantile quantile(String action) {
+        ElapsedQuantile quantile = quantiles.get(action);
+        if (quantile == null && quantiles.size() < MAX_ACTIONS) {
+            quantile = quantiles.computeIfAbsent(action, key -> new ElapsedQuantile(0.99));
+        }
+        return quantile;
+    }
+}
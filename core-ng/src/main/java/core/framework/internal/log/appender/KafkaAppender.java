@@ -2,7 +2,6 @@ package core.framework.internal.log.appender;
 
 import core.framework.internal.json.JSONWriter;
 import core.framework.internal.kafka.KafkaURI;
-import core.framework.internal.kafka.ProducerMetrics;
 import core.framework.log.LogAppender;
 import core.framework.log.message.ActionLogMessage;
 import core.framework.log.message.LogTopics;
@@ -22,10 +21,12 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import static core.framework.log.Markers.errorCode;
 
@@ -33,21 +34,30 @@ import static core.framework.log.Markers.errorCode;
  * @author neo
  */
 public final class KafkaAppender implements LogAppender {
-    public final ProducerMetrics producerMetrics = new ProducerMetrics("log-forwarder");
+    private static final int MAX_BATCH_SIZE = 100;
 
-    final BlockingQueue<ProducerRecord<byte[], byte[]>> records = new LinkedBlockingQueue<>();
+    // queue holds ActionLogMessage or StatMessage, serialization is done by log forwarder thread,
+    // append() never blocks, queue is bounded by maxQueueSize, and drops less important messages first by overflow policy
+    final BlockingQueue<Object> messages;
+    public final LogForwarderMetrics producerMetrics;
     private final Logger logger = LoggerFactory.getLogger(KafkaAppender.class);
     private final Thread logForwarderThread;
     private final JSONWriter<ActionLogMessage> actionLogWriter = new JSONWriter<>(ActionLogMessage.class);
     private final JSONWriter<StatMessage> statWriter = new JSONWriter<>(StatMessage.class);
     private final Callback callback = new KafkaCallback();
     private final KafkaURI uri;
+    private final int dropTraceQueueSize;
+    private final int dropActionQueueSize;
 
     private Producer<byte[], byte[]> producer;
     private volatile boolean stop;
 
-    public KafkaAppender(KafkaURI uri) {
+    public KafkaAppender(KafkaURI uri, int maxQueueSize) {
         this.uri = uri;
+        messages = new ArrayBlockingQueue<>(maxQueueSize);
+        producerMetrics = new LogForwarderMetrics("log-forwarder", messages);
+        dropTraceQueueSize = maxQueueSize / 2;
+        dropActionQueueSize = maxQueueSize * 4 / 5;
         logForwarderThread = Thread.ofPlatform().name("log-forwarder").unstarted(() -> {
             logger.info("log forwarder thread started, uri={}", this.uri);
             initialize();
@@ -62,26 +72,62 @@ public final class KafkaAppender implements LogAppender {
                 break;
             }
             logger.warn("failed to resolve log kafka uri, retry in 10 seconds, uri={}", this.uri);
-            records.clear();    // throw away records, to prevent from high heap usage
+            clear();    // throw away messages, to prevent from high heap usage
             Threads.sleepRoughly(Duration.ofSeconds(10));
         }
     }
 
     private void process() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH_SIZE);
         while (!stop) {
             try {
-                ProducerRecord<byte[], byte[]> record = records.take();
-                producer.send(record, callback);
+                batch.add(messages.take());
+                messages.drainTo(batch, MAX_BATCH_SIZE - 1);
+                for (Object message : batch) {
+                    producer.send(record(message), callback);
+                }
             } catch (Throwable e) {
-                if (!stop) {    // if during stop and records.take() is interrupted, not clear records and sleep
+                if (!stop) {    // if during stop and messages.take() is interrupted, not clear messages and sleep
                     logger.warn("failed to send log message, retry in 30 seconds", e);
-                    records.clear();
+                    clear();
                     Threads.sleepRoughly(Duration.ofSeconds(30));
                 }
+            } finally {
+                batch.clear();
             }
         }
     }
 
+    ProducerRecord<byte[], byte[]> record(Object message) {
+        // not specify message key for sticky partition, StickyPartitionCache will be used if key is null
+        // refer to org.apache.kafka.clients.producer.internals.DefaultPartitioner.partition
+        if (message instanceof ActionLogMessage actionLogMessage) {
+            return new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, actionLog(actionLogMessage));
+        }
+        return new ProducerRecord<>(LogTopics.TOPIC_STAT, statWriter.toJSON((StatMessage) message));
+    }
+
+    private byte[] actionLog(ActionLogMessage message) {
+        byte[] value = actionLogWriter.toJSON(message);
+
+        // refer to org.apache.kafka.common.record.DefaultRecordBatch.estimateBatchSizeUpperBound
+        // overhead is 88 + valueSize
+        if (value.length > 2_000_000) {
+            logger.warn(errorCode("LOG_TOO_LARGE"), "action log message is too large, size={}, id={}, action={}", value.length, message.id, message.action);
+            new ConsoleAppender().append(message);  // fall back to console appender to print
+
+            truncate(message, value.length - 2_000_000, 10_000);
+            value = actionLogWriter.toJSON(message);    // the value length is supposed to be less than 2_000_000, since json escapes '\n' as 2 chars, but in trace string it's one char
+        }
+        return value;
+    }
+
+    private void clear() {
+        int size = messages.size();
+        messages.clear();
+        producerMetrics.dropped.addAndGet(size);
+    }
+
     KafkaProducer<byte[], byte[]> createProducer(KafkaURI uri) {
         var watch = new StopWatch();
         try {
@@ -106,28 +152,37 @@ public final class KafkaAppender implements LogAppender {
         }
     }
 
+    // overflow policy, when log kafka is slow or not available
+    // 1. queue size >= 50% of max, drop trace of OK actions
+    // 2. queue size >= 80% of max, drop OK actions and stats, and drop trace of WARN/ERROR actions, but still keep the action,
+    //    so last 20% of queue is reserved for WARN/ERROR actions
+    // 3. queue is full, drop WARN/ERROR actions
     @Override
     public void append(ActionLogMessage message) {
-        byte[] value = actionLogWriter.toJSON(message);
-
-        // refer to org.apache.kafka.common.record.DefaultRecordBatch.estimateBatchSizeUpperBound
-        // overhead is 88 + valueSize
-        if (value.length > 2_000_000) {
-            logger.warn(errorCode("LOG_TOO_LARGE"), "action log message is too large, size={}, id={}, action={}", value.length, message.id, message.action);
-            new ConsoleAppender().append(message);  // fall back to console appender to print
-
-            truncate(message, value.length - 2_000_000, 10_000);
-            value = actionLogWriter.toJSON(message);    // the value length is supposed to be less than 2_000_000, since json escapes '\n' as 2 chars, but in trace string it's one char
+        int size = messages.size();
+        boolean ok = "OK".equals(message.result);
+        if (ok && size >= dropActionQueueSize) {
+            producerMetrics.dropped.incrementAndGet();
+            return;
         }
-
-        // not specify message key for sticky partition, StickyPartitionCache will be used if key is null
-        // refer to org.apache.kafka.clients.producer.internals.DefaultPartitioner.partition
-        records.add(new ProducerRecord<>(LogTopics.TOPIC_ACTION_LOG, value));
+        if (message.traceLog != null && (ok ? size >= dropTraceQueueSize : size >= dropActionQueueSize)) {
+            message.traceLog = null;
+            producerMetrics.droppedTraces.incrementAndGet();
+        }
+        offer(message);
     }
 
     @Override
     public void append(StatMessage message) {
-        records.add(new ProducerRecord<>(LogTopics.TOPIC_STAT, statWriter.toJSON(message)));    // not specify message key for sticky partition
+        if (messages.size() >= dropActionQueueSize) {
+            producerMetrics.dropped.incrementAndGet();
+            return;
+        }
+        offer(message);
+    }
+
+    private void offer(Object message) {
+        if (!messages.offer(message)) producerMetrics.dropped.incrementAndGet();
     }
 
     // during startup, if it encounters configuration runtime error, logForwarderThread won't start as all startup tasks will be skipped,
@@ -143,8 +198,8 @@ public final class KafkaAppender implements LogAppender {
 
         if (producer == null && resolveURI(uri)) producer = createProducer(uri);           // producer can be null if app failed to start (exception thrown by configure(), startup hook will not run)
         if (producer != null) {                                         // producer can be null if uri is not resolved
-            for (ProducerRecord<byte[], byte[]> record : records) {     // if log-kafka is not available, here will block MAX_BLOCK_MS, to simplify it's ok not handling timeout since kafka appender is at end of shutdown, no more critical resources left to handle
-                producer.send(record);
+            for (Object message : messages) {       // if log-kafka is not available, here will block MAX_BLOCK_MS, to simplify it's ok not handling timeout since kafka appender is at end of shutdown, no more critical resources left to handle
+                producer.send(record(message));
             }
             producer.close(Duration.ofMillis(timeoutInMs));
         }
@@ -188,7 +243,9 @@ public final class KafkaAppender implements LogAppender {
         public void onCompletion(RecordMetadata metadata, Exception exception) {
             if (exception != null) {
                 logger.warn("failed to send log message", exception);
-                records.clear();
+                producerMetrics.dropped.incrementAndGet();     // only failed record is dropped, queued messages are kept
+            } else {
+                producerMetrics.sent.incrementAndGet();
             }
         }
     }
@@ -0,0 +1,31 @@
+package core.framework.internal.log.appender;
+
+import core.framework.internal.kafka.ProducerMetrics;
+import core.framework.internal.stat.Stats;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * kafka producer metrics plus log forwarder queue counters, counters are reset on each collecting
+ */
+public final class LogForwarderMetrics extends ProducerMetrics {
+    final AtomicInteger sent = new AtomicInteger();
+    final AtomicInteger dropped = new AtomicInteger();
+    final AtomicInteger droppedTraces = new AtomicInteger();
+    private final Collection<?> queue;
+
+    LogForwarderMetrics(String name, Collection<?> queue) {
+        super(name);
+        this.queue = queue;
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        super.collect(stats);
+        stats.put(statName("queued"), queue.size());
+        stats.put(statName("sent"), sent.getAndSet(0));
+        stats.put(statName("dropped"), dropped.getAndSet(0));
+        stats.put(statName("dropped_traces"), droppedTraces.getAndSet(0));
+    }
+}
@@ -12,6 +12,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class BytesLogParam implements LogParam {    // for text based value, detect if in json format, and mask if needed
     private final byte[] bytes;
+    private final int length;
     private final Charset charset;
 
     public BytesLogParam(byte[] bytes) {
@@ -19,7 +20,16 @@ public class BytesLogParam implements LogParam {    // for text based value, det
     }
 
     public BytesLogParam(byte[] bytes, Charset charset) {
+        this(bytes, bytes == null ? 0 : bytes.length, charset);
+    }
+
+    public BytesLogParam(byte[] bytes, int length) {   // only first length bytes are valid, e.g. buffer
+        this(bytes, length, UTF_8);
+    }
+
+    private BytesLogParam(byte[] bytes, int length, Charset charset) {
         this.bytes = bytes;
+        this.length = length;
         this.charset = charset;
     }
 
@@ -32,11 +42,11 @@ public class BytesLogParam implements LogParam {    // for text based value, det
 
         boolean truncate = false;
         String value;
-        if (bytes.length > maxParamLength) {
+        if (length > maxParamLength) {
             value = new String(bytes, 0, maxParamLength, charset);
             truncate = true;
         } else {
-            value = new String(bytes, charset);
+            value = new String(bytes, 0, length, charset);
         }
         if (shouldMask(value, maskedFields)) {
             builder.append(filter(value, maskedFields));
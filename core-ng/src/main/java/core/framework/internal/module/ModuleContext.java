@@ -5,6 +5,7 @@ import core.framework.http.HTTPMethod;
 import core.framework.internal.async.ExecutorImpl;
 import core.framework.internal.async.ThreadPools;
 import core.framework.internal.bean.BeanClassValidator;
+import core.framework.internal.http.HTTPClientImpl;
 import core.framework.internal.inject.BeanFactory;
 import core.framework.internal.log.LogManager;
 import core.framework.internal.stat.StatCollector;
@@ -14,21 +15,28 @@ import core.framework.internal.web.HTTPServerMetrics;
 import core.framework.internal.web.controller.ControllerClassValidator;
 import core.framework.internal.web.controller.ControllerHolder;
 import core.framework.internal.web.controller.ControllerInspector;
+import core.framework.internal.web.response.CachedController;
+import core.framework.internal.web.response.ResponseCacheImpl;
 import core.framework.internal.web.route.PathPatternValidator;
 import core.framework.internal.web.sys.APIController;
 import core.framework.internal.web.sys.DiagnosticController;
+import core.framework.internal.web.sys.HTTPController;
 import core.framework.internal.web.sys.PropertyController;
+import core.framework.internal.web.sys.ResponseCacheController;
 import core.framework.module.LambdaController;
 import core.framework.util.ASCII;
 import core.framework.util.Maps;
 import core.framework.web.Controller;
 import core.framework.web.SessionContext;
 import core.framework.web.WebContext;
+import core.framework.web.cache.CacheResponse;
+import core.framework.web.cache.ResponseCache;
 import core.framework.web.site.WebDirectory;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -38,7 +46,7 @@ import java.util.Set;
  */
 public class ModuleContext {    // after core.framework.module.App.start(), entire ModuleContext will be GCed
     public final LogManager logManager;
-    public final StartupHook startupHook = new StartupHook();
+    public final StartupHook startupHook;
     public final ShutdownHook shutdownHook;
     public final ReadinessProbe probe = new ReadinessProbe();
     public final BeanFactory beanFactory = new BeanFactory();
@@ -51,9 +59,11 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
     protected final Map<String, Config> configs = Maps.newHashMap();
     final PropertyValidator propertyValidator = new PropertyValidator();
     private BackgroundTaskExecutor backgroundTask;
+    private boolean responseCacheEnabled;
 
     public ModuleContext(LogManager logManager) {
         this.logManager = logManager;
+        startupHook = new StartupHook(logManager);
         shutdownHook = new ShutdownHook(logManager);
         httpServer = createHTTPServer();
     }
@@ -74,6 +84,8 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
         route(HTTPMethod.GET, "/_sys/property", new PropertyController(propertyManager), true);
         route(HTTPMethod.GET, "/_sys/api", (LambdaController) apiController::service, true);
         route(HTTPMethod.GET, "/_sys/api/message", (LambdaController) apiController::message, true);
+        var httpController = new HTTPController(httpServer);
+        route(HTTPMethod.GET, "/_sys/http", (LambdaController) httpController::http, true);
     }
 
     private HTTPServer createHTTPServer() {
@@ -81,6 +93,7 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
         beanFactory.bind(WebContext.class, null, httpServer.httpHandler.webContext);
         beanFactory.bind(SessionContext.class, null, httpServer.siteManager.sessionManager);
         beanFactory.bind(WebDirectory.class, null, httpServer.siteManager.webDirectory);
+        beanFactory.bind(ResponseCache.class, null, httpServer.handlerContext.responseCache);
 
         startupHook.start.add(() -> httpServer.start(httpServerConfig));
         shutdownHook.add(ShutdownHook.STAGE_0, timeout -> httpServer.shutdown());
@@ -107,7 +120,26 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
         var inspector = new ControllerInspector(controller);
         new ControllerClassValidator(inspector.targetClass, inspector.targetMethod).validate();
         String action = "http:" + ASCII.toLowerCase(method.name()) + ":" + path;
-        httpServer.httpHandler.route.add(method, path, new ControllerHolder(controller, inspector.targetMethod, inspector.controllerInfo, action, skipInterceptor));
+        Controller target = controller;
+        CacheResponse cache = inspector.targetMethod.getDeclaredAnnotation(CacheResponse.class);
+        if (cache != null) {
+            if (method != HTTPMethod.GET) throw new Error("@CacheResponse is only allowed on GET controller, method=" + method + ", path=" + path);
+            if (cache.expirationInSeconds() <= 0) throw new Error("@CacheResponse expirationInSeconds must be greater than 0, path=" + path);
+            target = new CachedController(controller, cache, responseCache());
+        }
+        httpServer.httpHandler.route.add(method, path, new ControllerHolder(target, inspector.targetMethod, inspector.controllerInfo, action, skipInterceptor));
+    }
+
+    private ResponseCacheImpl responseCache() {
+        ResponseCacheImpl cache = httpServer.handlerContext.responseCache;
+        if (!responseCacheEnabled) {
+            responseCacheEnabled = true;
+            backgroundTask().scheduleWithFixedDelay(cache::cleanup, Duration.ofMinutes(1));
+            collector.metrics.add(cache::collect);
+            var controller = new ResponseCacheController(cache);
+            route(HTTPMethod.DELETE, "/_sys/response-cache", (LambdaController) controller::delete, true);
+        }
+        return cache;
     }
 
     public <T extends Config> T config(Class<T> configClass, @Nullable String name) {
@@ -128,6 +160,7 @@ public class ModuleContext {    // after core.framework.module.App.start(), enti
 
     public <T> T bind(Type type, @Nullable String name, T instance) {
         beanFactory.bind(type, name, instance);
+        if (instance instanceof HTTPClientImpl client) collector.metrics.add(client);     // export circuit breaker and dns cache stats of http client
         return instance;
     }
 
@@ -1,9 +1,16 @@
 package core.framework.internal.module;
 
 import core.framework.async.Task;
+import core.framework.internal.async.ThreadPools;
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.LogManager;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * @author neo
@@ -14,14 +21,67 @@ public final class StartupHook {
 
     public List<Task> initialize = new ArrayList<>();
     public List<Task> start = new ArrayList<>();
+    public boolean parallel;    // only enabled by App.start(), test module initializes serially within test context
+    private final LogManager logManager;
 
+    StartupHook(LogManager logManager) {
+        this.logManager = logManager;
+    }
+
+    // initialize tasks are independent and mostly wait on network (e.g. resolve service hosts, fetch kafka metadata), so run them in parallel if enabled,
+    // action log is not thread safe, so each parallel task has its own action log linked to startup action by correlationId/refId, the first failure is rethrown as is
     public void initialize() throws Exception {
-        for (Task task : initialize) {
-            task.execute();
+        if (!parallel || initialize.size() == 1) {
+            for (Task task : initialize) {
+                task.execute();
+            }
+        } else if (!initialize.isEmpty()) {
+            ActionLog parentActionLog = LogManager.CURRENT_ACTION_LOG.get();
+            List<Future<Void>> futures = new ArrayList<>(initialize.size());
+            try (ExecutorService executor = ThreadPools.virtualThreadExecutor("startup-")) {
+                for (Task task : initialize) {
+                    futures.add(executor.submit(() -> {
+                        execute(task, parentActionLog);
+                        return null;
+                    }));
+                }
+            }   // close() waits all tasks to complete
+            for (Future<Void> future : futures) {
+                waitFor(future);
+            }
         }
         initialize = null;  // release memory
     }
 
+    private void execute(Task task, @Nullable ActionLog parentActionLog) throws Exception {
+        ActionLog actionLog = logManager.begin("=== startup task begin ===", null);
+        try {
+            if (parentActionLog != null) {
+                actionLog.action(parentActionLog.action + ":initialize");
+                actionLog.correlationIds = List.of(parentActionLog.correlationId());
+                actionLog.refIds = List.of(parentActionLog.id);
+                actionLog.trace = parentActionLog.trace;
+            }
+            task.execute();
+        } catch (Throwable e) {
+            logManager.logError(e);
+            throw e;
+        } finally {
+            logManager.end("=== startup task end ===");
+        }
+    }
+
+    private void waitFor(Future<Void> future) throws Exception {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) throw exception;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
     public void start() throws Exception {
         for (Task task : start) {
             task.execute();
@@ -21,11 +21,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import static core.framework.internal.redis.Protocol.Command.DEL;
+import static core.framework.internal.redis.Protocol.Command.EVAL;
+import static core.framework.internal.redis.Protocol.Command.EVALSHA;
 import static core.framework.internal.redis.Protocol.Command.GET;
 import static core.framework.internal.redis.Protocol.Command.INCRBY;
 import static core.framework.internal.redis.Protocol.Command.MGET;
@@ -54,6 +59,7 @@ public final class RedisImpl implements Redis {
     private final RedisSortedSet redisSortedSet = new RedisSortedSetImpl(this);
     private final RedisHyperLogLog redisHyperLogLog = new RedisHyperLogLogImpl(this);
     private final RedisAdmin redisAdmin = new RedisAdminImpl(this);
+    private final Map<String, byte[]> scriptSHAs = Maps.newConcurrentHashMap();
     private final String name;
     public Pool<RedisConnection> pool;
 
@@ -218,6 +224,55 @@ public final class RedisImpl implements Redis {
         }
     }
 
+    // run lua script on single key and return integer reply, send EVALSHA first, and only send script by EVAL if it's not cached by redis yet (e.g. first call or after redis restart)
+    public long eval(String script, String key, long... arguments) {
+        var watch = new StopWatch();
+        validate("key", key);
+        long value = 0;
+        PoolItem<RedisConnection> item = pool.borrowItem();
+        try {
+            RedisConnection connection = item.resource;
+            writeEval(connection, EVALSHA, scriptSHAs.computeIfAbsent(script, this::sha1), key, arguments);
+            try {
+                value = connection.readLong();
+            } catch (RedisException e) {
+                if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) throw e;
+                writeEval(connection, EVAL, encode(script), key, arguments);
+                value = connection.readLong();
+            }
+            return value;
+        } catch (IOException e) {
+            item.broken = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            pool.returnItem(item);
+            long elapsed = watch.elapsed();
+            logger.debug("eval, key={}, returnedValue={}, elapsed={}", key, value, elapsed);
+            ActionLogContext.track("redis", elapsed, 0, 1);
+        }
+    }
+
+    private void writeEval(RedisConnection connection, byte[] command, byte[] script, String key, long... arguments) throws IOException {
+        connection.writeArray(4 + arguments.length);
+        connection.writeBlobString(command);
+        connection.writeBlobString(script);
+        connection.writeBlobString(encode(1));
+        connection.writeBlobString(encode(key));
+        for (long argument : arguments) {
+            connection.writeBlobString(encode(argument));
+        }
+        connection.flush();
+    }
+
+    private byte[] sha1(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(encode(script));    // redis identifies script by sha1
+            return encode(HexFormat.of().formatHex(digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new Error(e);
+        }
+    }
+
     @Override
     public Map<String, String> multiGet(String... keys) {
         Map<String, byte[]> values = multiGetBytes(keys);
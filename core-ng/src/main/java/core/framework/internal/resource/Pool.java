@@ -1,5 +1,6 @@
 package core.framework.internal.resource;
 
+import core.framework.internal.log.Deadline;
 import core.framework.util.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +70,7 @@ public class Pool<T extends AutoCloseable> {
     }
 
     public PoolItem<T> borrowItem() {
+        long checkoutTimeoutInNano = Deadline.timeout(TimeUnit.MILLISECONDS.toNanos(checkoutTimeoutInMs));     // fail fast if caller of current action already gave up
         while (true) {
             PoolItem<T> item = idleItems.poll();
             if (item != null) {
@@ -79,7 +81,7 @@ public class Pool<T extends AutoCloseable> {
             if (size.get() < maxSize) {
                 return createNewItem();         // do not need to check newly created resource
             } else {
-                return waitNextAvailableItem(); // do not need to check valid since it's just returned resource
+                return waitNextAvailableItem(checkoutTimeoutInNano); // do not need to check valid since it's just returned resource
             }
         }
     }
@@ -112,10 +114,10 @@ public class Pool<T extends AutoCloseable> {
         }
     }
 
-    private PoolItem<T> waitNextAvailableItem() {
+    private PoolItem<T> waitNextAvailableItem(long timeoutInNano) {
         var watch = new StopWatch();
         try {
-            PoolItem<T> item = idleItems.poll(checkoutTimeoutInMs, TimeUnit.MILLISECONDS);
+            PoolItem<T> item = idleItems.poll(timeoutInNano, TimeUnit.NANOSECONDS);
             if (item == null) throw new PoolException("timeout to wait for next available resource", "POOL_TIME_OUT");
             return item;
         } catch (InterruptedException e) {
@@ -0,0 +1,46 @@
+package core.framework.internal.stat;
+
+/**
+ * estimate quantile online with stochastic approximation in log scale, only keeps 2 numbers,
+ * estimation moves up by step * q if value above estimation, moves down by step * (1 - q) otherwise, converges where P(value > estimation) = 1 - q,
+ * updates from concurrent threads may be lost, which is acceptable for sampling or hedging
+ */
+public final class ElapsedQuantile {
+    private static final double STEP = 0.05;
+    private static final int MIN_SAMPLES = 100;         // do not report outlier until estimation is stable
+
+    private final double quantile;
+    private volatile double logEstimation = -1;
+    private volatile int count;
+
+    public ElapsedQuantile(double quantile) {
+        this.quantile = quantile;
+    }
+
+    // record elapsed, return true if it's above estimation once estimation is stable
+    public boolean outlier(long elapsed) {
+        double value = Math.log(Math.max(elapsed, 1));
+        double estimation = logEstimation;
+        if (estimation < 0) {
+            logEstimation = value;
+            count = 1;
+            return false;
+        }
+        boolean above = value > estimation;
+        logEstimation = above ? estimation + STEP * quantile : estimation - STEP * (1 - quantile);
+        int samples = count;
+        if (samples < MIN_SAMPLES) {
+            count = samples + 1;
+            return false;
+        }
+        return above;
+    }
+
+    public boolean stable() {
+        return count >= MIN_SAMPLES;
+    }
+
+    public long estimation() {
+        return (long) Math.exp(logEstimation);
+    }
+}
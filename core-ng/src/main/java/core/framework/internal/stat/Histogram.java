@@ -0,0 +1,78 @@
+package core.framework.internal.stat;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * log-linear buckets like HdrHistogram, each power of 2 range is divided into 16 sub buckets, so relative error is within 1/16,
+ * records value in micro seconds up to 2^32 (~71 minutes), larger value is counted in last bucket
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BITS = 32;
+    static final int BUCKETS = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) Math.max(value, 0);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_BITS) return BUCKETS - 1;
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // highest value of bucket, to report quantile conservatively
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long elapsedInNano) {
+        counts.incrementAndGet(index(elapsedInNano / 1000));
+    }
+
+    // with reset = true, counts are moved to snapshot, concurrent records go to either snapshot or next interval without loss
+    public Snapshot snapshot(boolean reset) {
+        long[] values = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long value = reset ? counts.getAndSet(i, 0) : counts.get(i);
+            values[i] = value;
+            count += value;
+        }
+        return new Snapshot(values, count);
+    }
+
+    public static final class Snapshot {
+        public final long count;
+        private final long[] counts;
+
+        Snapshot(long[] counts, long count) {
+            this.counts = counts;
+            this.count = count;
+        }
+
+        // return value in micro seconds
+        public long quantile(double quantile) {
+            if (count == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(count * quantile));
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                total += counts[i];
+                if (total >= target) return highestValue(i);
+            }
+            return highestValue(counts.length - 1);
+        }
+
+        public long max() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) return highestValue(i);
+            }
+            return 0;
+        }
+    }
+}
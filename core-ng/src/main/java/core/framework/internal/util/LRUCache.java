@@ -0,0 +1,102 @@
+package core.framework.internal.util;
+
+import core.framework.internal.stat.Stats;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * thread safe bounded cache with per entry expiration time, evicts least recently used entry when full,
+ * get() updates access order so it takes the lock as well, only use for small values with short critical section
+ */
+public final class LRUCache<K, V> {
+    private final LRUMap<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LRUCache(int maxSize) {
+        entries = new LRUMap<>(maxSize);
+    }
+
+    @Nullable
+    public V get(K key, long now) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) return null;
+            if (now >= entry.expirationTime) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long expirationTime) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, expirationTime));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeIf(Predicate<V> predicate) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> predicate.test(entry.value));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cleanup(long now) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> now >= entry.expirationTime);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // hit and miss are recorded by caller, as caller decides what counts as hit, e.g. coalesced in-flight call
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void collect(Stats stats, String prefix) {
+        stats.put(prefix + "_size", size());
+        stats.put(prefix + "_hits", hits.sumThenReset());
+        stats.put(prefix + "_misses", misses.sumThenReset());
+    }
+
+    private record Entry<V>(V value, long expirationTime) {
+    }
+}
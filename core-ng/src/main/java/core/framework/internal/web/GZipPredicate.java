@@ -29,6 +29,7 @@ public class GZipPredicate implements Predicate {
     }
 
     boolean resolve(HeaderMap headers) {
+        if (headers.contains(Headers.CONTENT_RANGE)) return false;     // partial content must not be compressed, otherwise range is not applicable to client
         String contentType = headers.getFirst(Headers.CONTENT_TYPE);
         if (contentType == null || !gzipContentTypes.contains(contentType)) return false;
         String length = headers.getFirst(Headers.CONTENT_LENGTH);
@@ -7,6 +7,8 @@ import core.framework.internal.log.Trace;
 import core.framework.internal.web.controller.ControllerHolder;
 import core.framework.internal.web.controller.InvocationImpl;
 import core.framework.internal.web.controller.WebContextImpl;
+import core.framework.internal.web.http.ConcurrencyLimiter;
+import core.framework.internal.web.http.RequestMetrics;
 import core.framework.internal.web.request.RequestImpl;
 import core.framework.internal.web.response.ResponseHandler;
 import core.framework.internal.web.response.ResponseImpl;
@@ -20,12 +22,12 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
+import io.undertow.util.Protocols;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.Semaphore;
 
 /**
  * @author neo
@@ -40,15 +42,16 @@ public class HTTPHandler implements HttpHandler {
     public final Route route = new Route();
     public final WebContextImpl webContext = new WebContextImpl();
     public final HTTPErrorHandler errorHandler;
+    public final RequestMetrics metrics = new RequestMetrics();
 
     private final Logger logger = LoggerFactory.getLogger(HTTPHandler.class);
     private final LogManager logManager;
     private final SessionManager sessionManager;
     private final ResponseHandler responseHandler;
     private final HTTPHandlerContext handlerContext;
-    private final Semaphore semaphore = new Semaphore(Runtime.getRuntime().availableProcessors() * 32);
 
     public Interceptor[] interceptors;
+    public ConcurrencyLimiter limiter = concurrencyLimiter(Runtime.getRuntime().availableProcessors() * 8, Runtime.getRuntime().availableProcessors() * 128);
     public long maxProcessTimeInNano = Duration.ofSeconds(30).toNanos();    // the default backend timeout of popular cloud lb (gcloud/azure) is 30s
 
     HTTPHandler(LogManager logManager, SessionManager sessionManager, TemplateManager templateManager, HTTPHandlerContext handlerContext) {
@@ -70,9 +73,13 @@ public class HTTPHandler implements HttpHandler {
     }
 
     private void handle(HttpServerExchange exchange) {
-        semaphore.acquireUninterruptibly();
         VirtualThread.COUNT.increase();
-        long httpDelay = System.nanoTime() - exchange.getRequestStartTime();
+        long start = System.nanoTime();
+        boolean http2 = Protocols.HTTP_2_0.equals(exchange.getProtocol());
+        if (http2) metrics.http2Streams.increase();
+        long permit = -1;
+        ControllerHolder controller = null;
+        long httpDelay = start - exchange.getRequestStartTime();
         ActionLog actionLog = logManager.begin("=== http transaction begin ===", null);
         var request = new RequestImpl(exchange, handlerContext.requestBeanReader);
         try {
@@ -88,12 +95,15 @@ public class HTTPHandler implements HttpHandler {
             HeaderMap headers = exchange.getRequestHeaders();
             linkContext(actionLog, headers);
 
-            ControllerHolder controller = route.get(request.path(), request.method(), request.pathParams, actionLog);
+            controller = route.get(request.path(), request.method(), request.pathParams, actionLog);
             actionLog.action(controller.action);
             actionLog.context.put("controller", List.of(controller.controllerInfo));
             logger.debug("controller={}", controller.controllerInfo);
             if (controller.warnings != null) actionLog.initializeWarnings(controller.warnings);
 
+            // acquire after routing to know priority, parsing request is cheap as body was read by io handler
+            permit = limiter.acquire(controller.priority, actionLog.remainingProcessTimeInNano());
+
             request.session = sessionManager.load(request, actionLog);  // load session as late as possible, so for sniffer/scan request with sessionId, it won't call redis every time even for 404/405
 
             Response response = new InvocationImpl(controller, interceptors, request, webContext).proceed();
@@ -110,10 +120,17 @@ public class HTTPHandler implements HttpHandler {
             webContext.cleanup();
             logManager.end("=== http transaction end ===");
             VirtualThread.COUNT.decrease();
-            semaphore.release();
+            if (permit >= 0) limiter.release(permit);
+            if (http2) metrics.http2Streams.decrease();
+            if (controller != null) metrics.record(controller.action, System.nanoTime() - start, httpDelay);
         }
     }
 
+    // start with previous fixed limit, cores * 32
+    public static ConcurrencyLimiter concurrencyLimiter(int minLimit, int maxLimit) {
+        return new ConcurrencyLimiter(minLimit, Math.clamp(Runtime.getRuntime().availableProcessors() * 32L, minLimit, maxLimit), maxLimit);
+    }
+
     void addKeepAliveHeader(HttpServerExchange exchange) {
         String keepAlive = Headers.KEEP_ALIVE.toString();
         if (keepAlive.equals(exchange.getRequestHeaders().getFirst(Headers.CONNECTION))) {
@@ -134,18 +151,21 @@ public class HTTPHandler implements HttpHandler {
         String trace = headers.getFirst(HEADER_TRACE);
         if (trace != null) actionLog.trace = Trace.parse(trace);
 
-        actionLog.warningContext.maxProcessTimeInNano(maxProcessTime(headers.getFirst(HEADER_TIMEOUT)));
+        long timeout = timeout(headers.getFirst(HEADER_TIMEOUT));
+        actionLog.warningContext.maxProcessTimeInNano(timeout == -1 ? maxProcessTimeInNano : timeout);
+        if (timeout > 0) actionLog.deadline(timeout);    // caller gives up after timeout, db/redis/http calls fail fast after deadline, only set if caller passed valid timeout
     }
 
-    long maxProcessTime(String timeout) {
+    // return -1 if timeout header is not present or invalid
+    long timeout(String timeout) {
         if (timeout != null) {
             try {
                 return Long.parseLong(timeout);
             } catch (NumberFormatException e) {
                 // ignore if got invalid timeout header from internet
-                return maxProcessTimeInNano;
+                return -1;
             }
         }
-        return maxProcessTimeInNano;
+        return -1;
     }
 }
@@ -5,6 +5,7 @@ import core.framework.internal.web.bean.ResponseBeanWriter;
 import core.framework.internal.web.http.IPAccessControl;
 import core.framework.internal.web.http.RateControl;
 import core.framework.internal.web.request.RequestParser;
+import core.framework.internal.web.response.ResponseCacheImpl;
 
 import javax.annotation.Nullable;
 
@@ -12,6 +13,7 @@ public class HTTPHandlerContext {
     public final RequestParser requestParser = new RequestParser();
     public final RequestBeanReader requestBeanReader = new RequestBeanReader();
     public final ResponseBeanWriter responseBeanWriter = new ResponseBeanWriter();
+    public final ResponseCacheImpl responseCache = new ResponseCacheImpl(responseBeanWriter);
     @Nullable
     public RateControl rateControl;
     @Nullable
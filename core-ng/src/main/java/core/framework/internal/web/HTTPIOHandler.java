@@ -30,12 +30,14 @@ public class HTTPIOHandler implements HttpHandler {
 
     private final FormParserFactory formParserFactory;
     private final long maxEntitySize;
+    private final long maxBufferedBodySize;
 
-    HTTPIOHandler(HTTPHandler httpHandler, ShutdownHandler shutdownHandler, long maxEntitySize, ServerSentEventHandler sseHandler) {
+    HTTPIOHandler(HTTPHandler httpHandler, ShutdownHandler shutdownHandler, long maxEntitySize, long maxBufferedBodySize, ServerSentEventHandler sseHandler) {
         this.httpHandler = httpHandler;
         this.shutdownHandler = shutdownHandler;
         formParserFactory = createFormParserFactory();
         this.maxEntitySize = maxEntitySize;
+        this.maxBufferedBodySize = maxBufferedBodySize;
         this.sseHandler = sseHandler;
     }
 
@@ -77,7 +79,7 @@ public class HTTPIOHandler implements HttpHandler {
                 return;
             }
 
-            var reader = new RequestBodyReader(exchange, handler);
+            var reader = new RequestBodyReader(exchange, handler, maxBufferedBodySize);
             StreamSourceChannel channel = exchange.getRequestChannel();
             reader.read(channel);  // channel will be null if getRequestChannel() is already called, but here should not be that case
             if (!reader.complete()) {
@@ -8,6 +8,7 @@ import core.framework.util.StopWatch;
 import core.framework.web.Interceptor;
 import io.undertow.Undertow;
 import io.undertow.UndertowOptions;
+import io.undertow.server.ConnectorStatistics;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.encoding.ContentEncodingRepository;
 import io.undertow.server.handlers.encoding.EncodingHandler;
@@ -75,7 +76,8 @@ public class HTTPServer {
                 .setServerOption(UndertowOptions.NO_REQUEST_TIMEOUT, 620_000)         // 620s
                 .setServerOption(UndertowOptions.SHUTDOWN_TIMEOUT, 10_000)            // 10s
                 .setServerOption(UndertowOptions.MAX_ENTITY_SIZE, config.maxEntitySize)
-                .setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, Boolean.TRUE);
+                .setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, Boolean.TRUE)
+                .setServerOption(UndertowOptions.ENABLE_STATISTICS, Boolean.TRUE);     // to collect connections and bytes, only adds few atomic counters per connection
 
             builder.setWorker(Xnio.getInstance().createWorkerBuilder()
                 .setWorkerIoThreads(Math.max(Runtime.getRuntime().availableProcessors(), 2))
@@ -89,8 +91,25 @@ public class HTTPServer {
         }
     }
 
+    // bytes are accumulated since start
+    public ConnectionStats connectionStats() {
+        long connections = 0;
+        long bytesReceived = 0;
+        long bytesSent = 0;
+        if (server != null) {
+            for (Undertow.ListenerInfo listener : server.getListenerInfo()) {
+                ConnectorStatistics statistics = listener.getConnectorStatistics();
+                if (statistics == null) continue;
+                connections += statistics.getActiveConnections();
+                bytesReceived += statistics.getBytesReceived();
+                bytesSent += statistics.getBytesSent();
+            }
+        }
+        return new ConnectionStats(connections, bytesReceived, bytesSent);
+    }
+
     private HttpHandler handler(HTTPServerConfig config) {
-        HttpHandler handler = new HTTPIOHandler(httpHandler, shutdownHandler, config.maxEntitySize, sseHandler);
+        HttpHandler handler = new HTTPIOHandler(httpHandler, shutdownHandler, config.maxEntitySize, config.maxBufferedBodySize, sseHandler);
         if (config.gzip) {
             // only support gzip, deflate is less popular
             handler = new EncodingHandler(handler, new ContentEncodingRepository()
@@ -125,4 +144,7 @@ public class HTTPServer {
             logger.info("http server stopped");
         }
     }
+
+    public record ConnectionStats(long activeConnections, long bytesReceived, long bytesSent) {
+    }
 }
@@ -14,6 +14,7 @@ public class HTTPServerConfig {
     public HTTPHost httpsHost;
     public boolean gzip;
     public long maxEntitySize = 10_000_000;    // limit max post body to 10M, apply to multipart as well
+    public long maxBufferedBodySize = 1_000_000;    // body larger than this is streamed by worker thread rather than read into memory
 
     public HTTPHost httpsHost() {
         if (httpHost == null && httpsHost == null) return new HTTPHost("0.0.0.0", 8443);    // by default start https only
@@ -8,6 +8,8 @@ import core.framework.internal.stat.Stats;
  */
 public class HTTPServerMetrics implements Metrics {
     private final HTTPServer server;
+    private long bytesReceived;
+    private long bytesSent;
 
     public HTTPServerMetrics(HTTPServer server) {
         this.server = server;
@@ -17,5 +19,14 @@ public class HTTPServerMetrics implements Metrics {
     public void collect(Stats stats) {
         int activeRequests = server.shutdownHandler.activeRequests.max();
         stats.put("http_active_requests", activeRequests);
+        server.httpHandler.limiter.collect(stats);
+        server.httpHandler.metrics.collect(stats);
+
+        HTTPServer.ConnectionStats connections = server.connectionStats();
+        stats.put("http_active_connections", connections.activeConnections());
+        stats.put("http_bytes_received", connections.bytesReceived() - bytesReceived);
+        stats.put("http_bytes_sent", connections.bytesSent() - bytesSent);
+        bytesReceived = connections.bytesReceived();
+        bytesSent = connections.bytesSent();
     }
 }
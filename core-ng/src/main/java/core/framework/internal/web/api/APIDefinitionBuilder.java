@@ -2,6 +2,7 @@ package core.framework.internal.web.api;
 
 import core.framework.api.web.service.Path;
 import core.framework.api.web.service.PathParam;
+import core.framework.http.ContentType;
 import core.framework.internal.log.LogManager;
 import core.framework.internal.reflect.GenericTypes;
 import core.framework.internal.reflect.Params;
@@ -34,6 +35,7 @@ public class APIDefinitionBuilder {
         var response = new APIDefinitionResponse();
         response.app = LogManager.APP_NAME;
         response.version = UUID.randomUUID().toString();
+        response.contentTypes = List.of(ContentType.APPLICATION_JSON.mediaType, ContentType.APPLICATION_SMILE.mediaType);
         response.services = services();
         for (Class<?> beanClass : beanClasses) {
             if (beanClass.isEnum()) {
@@ -15,6 +15,9 @@ public class APIDefinitionResponse {
     @Property(name = "version")
     public String version;      // used to fast compare
 
+    @Property(name = "contentTypes")
+    public List<String> contentTypes;   // supported request/response body encodings, client can negotiate by accept header
+
     @Property(name = "services")
     public List<Service> services;
 
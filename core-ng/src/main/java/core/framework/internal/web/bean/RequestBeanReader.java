@@ -5,11 +5,13 @@ import core.framework.internal.bean.BeanClassNameValidator;
 import core.framework.internal.bean.BeanClassValidator;
 import core.framework.internal.json.JSONMapper;
 import core.framework.internal.json.JSONReader;
+import core.framework.internal.json.SmileReader;
 import core.framework.internal.validate.Validator;
 import core.framework.util.Maps;
 import core.framework.web.exception.BadRequestException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.Map;
 
@@ -62,6 +64,27 @@ public class RequestBeanReader {    // used by controller and web service
         return bean;
     }
 
+    public <T> T fromJSON(Class<T> beanClass, InputStream body) throws IOException {
+        BeanContext<T> context = context(beanContext, beanClass, false);
+        T bean = context.reader.fromJSON(body);
+        context.validator.validate(bean, false);
+        return bean;
+    }
+
+    public <T> T fromSmile(Class<T> beanClass, byte[] body) throws IOException {
+        BeanContext<T> context = context(beanContext, beanClass, false);
+        T bean = context.smileReader.fromSmile(body);
+        context.validator.validate(bean, false);
+        return bean;
+    }
+
+    public <T> T fromSmile(Class<T> beanClass, InputStream body) throws IOException {
+        BeanContext<T> context = context(beanContext, beanClass, false);
+        T bean = context.smileReader.fromSmile(body);
+        context.validator.validate(bean, false);
+        return bean;
+    }
+
     private <T> T context(Map<Class<?>, ?> context, Class<?> beanClass, boolean expectQueryParam) {
         @SuppressWarnings("unchecked")
         T result = (T) context.get(beanClass);
@@ -89,10 +112,12 @@ public class RequestBeanReader {    // used by controller and web service
 
     private static class BeanContext<T> {
         final JSONReader<T> reader;
+        final SmileReader<T> smileReader;
         final Validator<T> validator;
 
         BeanContext(Class<T> beanClass) {
             reader = JSONMapper.reader(beanClass);
+            smileReader = new SmileReader<>(beanClass);
             validator = Validator.of(beanClass);
         }
     }
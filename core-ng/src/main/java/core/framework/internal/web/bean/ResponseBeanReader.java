@@ -3,6 +3,7 @@ package core.framework.internal.web.bean;
 import core.framework.internal.bean.BeanClassValidator;
 import core.framework.internal.json.JSONMapper;
 import core.framework.internal.json.JSONReader;
+import core.framework.internal.json.SmileReader;
 import core.framework.internal.reflect.GenericTypes;
 import core.framework.internal.validate.Validator;
 import core.framework.internal.web.service.InternalErrorResponse;
@@ -39,10 +40,25 @@ public class ResponseBeanReader {   // used by webservice client
     public Object fromJSON(Type responseType, byte[] body) throws IOException {
         if (void.class == responseType) return null;
 
+        Context<Object> context = context(responseType);
+        return validate(responseType, context, context.reader.fromJSON(body));
+    }
+
+    public Object fromSmile(Type responseType, byte[] body) throws IOException {
+        if (void.class == responseType) return null;
+
+        Context<Object> context = context(responseType);
+        return validate(responseType, context, context.smileReader.fromSmile(body));
+    }
+
+    private Context<Object> context(Type responseType) {
         Class<?> beanClass = responseBeanClass(responseType);
         @SuppressWarnings("unchecked")
         Context<Object> context = (Context<Object>) this.context.get(beanClass);    // response type is registered thru APIConfig
-        Object bean = context.reader.fromJSON(body);
+        return context;
+    }
+
+    private Object validate(Type responseType, Context<Object> context, Object bean) {
         if (GenericTypes.isOptional(responseType)) {
             if (bean == null) return Optional.empty();
             context.validator.validate(bean, false);
@@ -55,10 +71,12 @@ public class ResponseBeanReader {   // used by webservice client
 
     static class Context<T> {
         final JSONReader<T> reader;
+        final SmileReader<T> smileReader;
         final Validator<T> validator;
 
         Context(Class<T> beanClass) {
             reader = JSONMapper.reader(beanClass);
+            smileReader = new SmileReader<>(beanClass);
             validator = Validator.of(beanClass);
         }
     }
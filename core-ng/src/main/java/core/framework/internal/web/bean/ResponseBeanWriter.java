@@ -3,19 +3,26 @@ package core.framework.internal.web.bean;
 import core.framework.internal.bean.BeanClassValidator;
 import core.framework.internal.json.JSONMapper;
 import core.framework.internal.json.JSONWriter;
+import core.framework.internal.json.SmileWriter;
 import core.framework.internal.validate.Validator;
 import core.framework.internal.web.service.ErrorResponse;
 import core.framework.internal.web.service.InternalErrorResponse;
 import core.framework.util.Maps;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author neo
  */
 public class ResponseBeanWriter {   // used by controller and web service
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
     private final Map<Class<?>, Context<?>> context = Maps.newHashMap();
 
     public ResponseBeanWriter() {
@@ -50,6 +57,62 @@ public class ResponseBeanWriter {   // used by controller and web service
         }
     }
 
+    public void toJSON(Object bean, OutputStream stream) {
+        try {
+            if (bean instanceof Optional<?> optional) {
+                if (optional.isEmpty()) {
+                    stream.write(NULL);
+                    return;
+                }
+                write(optional.get(), stream);
+            } else {
+                write(bean, stream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void toSmile(Object bean, OutputStream stream) {
+        Object value = bean instanceof Optional<?> optional ? optional.orElse(null) : bean;
+        if (value == null) {    // empty optional
+            try {
+                JSONMapper.SMILE_MAPPER.writeValue(stream, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        Context<Object> context = context(this.context, value.getClass());
+        context.validator.validate(value, false);
+        context.smileWriter.toSmile(value, stream);
+    }
+
+    // write beans as json array one by one, so the whole list doesn't need to be held in memory
+    public void toJSONArray(Stream<?> beans, OutputStream stream) {
+        try {
+            stream.write('[');
+            Iterator<?> iterator = beans.iterator();
+            boolean first = true;
+            while (iterator.hasNext()) {
+                if (!first) stream.write(',');
+                Object bean = iterator.next();
+                if (bean == null) stream.write(NULL);
+                else write(bean, stream);
+                first = false;
+            }
+            stream.write(']');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(Object bean, OutputStream stream) {
+        Context<Object> context = context(this.context, bean.getClass());
+        context.validator.validate(bean, false);
+        context.writer.toJSON(bean, stream);
+    }
+
     private <T> T context(Map<Class<?>, ?> context, Class<?> beanClass) {
         @SuppressWarnings("unchecked")
         T result = (T) context.get(beanClass);
@@ -64,10 +127,12 @@ public class ResponseBeanWriter {   // used by controller and web service
 
     private static class Context<T> {
         final JSONWriter<T> writer;
+        final SmileWriter<T> smileWriter;
         final Validator<T> validator;
 
         Context(Class<T> beanClass) {
             writer = JSONMapper.writer(beanClass);
+            smileWriter = new SmileWriter<>(beanClass);
             validator = Validator.of(beanClass);
         }
     }
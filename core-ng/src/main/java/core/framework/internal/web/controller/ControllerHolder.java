@@ -4,6 +4,7 @@ import core.framework.internal.log.PerformanceWarning;
 import core.framework.internal.log.WarningContext;
 import core.framework.log.IOWarning;
 import core.framework.web.Controller;
+import core.framework.web.rate.Priority;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
@@ -17,6 +18,7 @@ public class ControllerHolder {
     public final String action;
     @Nullable
     public final PerformanceWarning[] warnings;
+    public final Priority.Level priority;
 
     final Method targetMethod;      // targetMethod is used to find associated annotation
     final boolean skipInterceptor;
@@ -33,5 +35,13 @@ public class ControllerHolder {
         } else {
             warnings = WarningContext.warnings(targetMethod.getDeclaredAnnotationsByType(IOWarning.class));
         }
+        priority = priority(targetMethod, skipInterceptor);
+    }
+
+    private Priority.Level priority(Method targetMethod, boolean skipInterceptor) {
+        if (skipInterceptor) return Priority.Level.HIGH;    // internal controllers, e.g. /_sys/, should not be shed
+        Priority priority = targetMethod.getDeclaredAnnotation(Priority.class);
+        if (priority == null) priority = targetMethod.getDeclaringClass().getDeclaredAnnotation(Priority.class);
+        return priority == null ? Priority.Level.NORMAL : priority.value();
     }
 }
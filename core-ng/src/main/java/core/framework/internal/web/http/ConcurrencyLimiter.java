@@ -0,0 +1,158 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.stat.Stats;
+import core.framework.web.exception.ServiceUnavailableException;
+import core.framework.web.rate.Priority;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * adaptive concurrency limit by latency gradient, refer to https://github.com/Netflix/concurrency-limits (gradient2),
+ * limit shrinks when recent latency rises above long term latency, e.g. downstream slows down, and grows when latency is stable,
+ * requests beyond limit wait in queue, and are rejected immediately if expected wait exceeds remaining time budget
+ */
+public final class ConcurrencyLimiter {
+    private static final double TOLERANCE = 1.5;        // allow recent latency to be 1.5x of long term latency without shrinking limit
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_ALPHA = 0.1;      // ~10 recent requests
+    private static final double LONG_ALPHA = 0.002;     // ~500 requests
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] available;
+    private final int[] waiting;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private int inflight;
+    private double shortLatency;
+    private double longLatency;
+    private int rejected;
+
+    public ConcurrencyLimiter(int minLimit, int initialLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) throw new Error("invalid limits, min=" + minLimit + ", initial=" + initialLimit + ", max=" + maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        limit = initialLimit;
+        int levels = Priority.Level.values().length;
+        available = new Condition[levels];
+        for (int i = 0; i < levels; i++) {
+            available[i] = lock.newCondition();
+        }
+        waiting = new int[levels];
+    }
+
+    // return start time of permit, which must be passed to release
+    public long acquire(Priority.Level priority, long maxWaitInNano) throws InterruptedException {
+        int level = priority.ordinal();
+        lock.lock();
+        try {
+            if (inflight < limit(level) && noHigherWaiting(level)) {
+                inflight++;
+                return System.nanoTime();
+            }
+            // fast reject if requests in queue can't be served within budget, rather than do partial work and be timed out by client or lb
+            long expectedWait = (long) (shortLatency * (queued() + 1) / limit);
+            if (expectedWait >= maxWaitInNano) throw reject(priority, expectedWait, maxWaitInNano);
+
+            long remaining = maxWaitInNano;
+            waiting[level]++;
+            try {
+                while (inflight >= limit(level)) {
+                    if (remaining <= 0) throw reject(priority, expectedWait, maxWaitInNano);
+                    remaining = available[level].awaitNanos(remaining);
+                }
+            } finally {
+                waiting[level]--;
+            }
+            inflight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long startTime) {
+        long latency = System.nanoTime() - startTime;
+        lock.lock();
+        try {
+            inflight--;
+            update(latency);
+            signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long latency) {
+        if (longLatency == 0) {
+            shortLatency = latency;
+            longLatency = latency;
+            return;
+        }
+        shortLatency = shortLatency * (1 - SHORT_ALPHA) + latency * SHORT_ALPHA;
+        longLatency = longLatency * (1 - LONG_ALPHA) + latency * LONG_ALPHA;
+        // long term latency drifts when load pattern changes, e.g. after recovery, pull it back to allow limit to grow again
+        if (longLatency / shortLatency > 2) longLatency *= 0.95;
+        // not enough load to probe limit, keep current limit
+        if (inflight + queued() < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+        double newLimit = limit * gradient + Math.sqrt(limit);      // sqrt(limit) as queue allowance, to keep probing for higher limit
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    // wake up waiter with highest priority first
+    private void signal() {
+        for (int level = 0; level < waiting.length; level++) {
+            if (waiting[level] > 0) {
+                if (inflight < limit(level)) available[level].signal();
+                return;
+            }
+        }
+    }
+
+    // lower priority can only use part of limit, to reserve capacity for higher priority
+    private double limit(int level) {
+        return switch (level) {
+            case 0 -> limit;
+            case 1 -> limit * 0.9;
+            default -> limit * 0.5;
+        };
+    }
+
+    private boolean noHigherWaiting(int level) {
+        for (int i = 0; i <= level; i++) {
+            if (waiting[i] > 0) return false;
+        }
+        return true;
+    }
+
+    private int queued() {
+        int queued = 0;
+        for (int count : waiting) {
+            queued += count;
+        }
+        return queued;
+    }
+
+    private ServiceUnavailableException reject(Priority.Level priority, long expectedWait, long maxWait) {
+        rejected++;
+        return new ServiceUnavailableException("server is overloaded, priority=" + priority
+            + ", limit=" + (int) limit + ", expectedWait=" + Duration.ofNanos(expectedWait) + ", maxWait=" + Duration.ofNanos(maxWait));
+    }
+
+    public void collect(Stats stats) {
+        lock.lock();
+        try {
+            stats.put("http_concurrency_limit", (int) limit);
+            stats.put("http_queued_requests", queued());
+            stats.put("http_rejected_requests", rejected);
+            rejected = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
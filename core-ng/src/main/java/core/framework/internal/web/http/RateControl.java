@@ -1,31 +1,57 @@
 package core.framework.internal.web.http;
 
-import core.framework.internal.util.LRUMap;
+import core.framework.internal.redis.RedisImpl;
 import core.framework.util.Maps;
 import core.framework.web.exception.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static core.framework.log.Markers.errorCode;
+
 /**
+ * rate is controlled by GCRA (generic cell rate algorithm), which is equivalent to token bucket but only keeps theoretical arrival time (tat) per key,
+ * so local rate is updated by CAS without lock, and redis rate is updated by one lua script call, which is atomic in redis
+ * (lua-free INCRBY needs rollback on exceed and separate EXPIRE, which is not atomic, so concurrent instances may over or under count)
+ *
  * @author neo
  */
 public class RateControl {
-    private final Logger logger = LoggerFactory.getLogger(RateControl.class);
+    private static final int SHARDS = 16;
+    private static final long REDIS_RETRY_INTERVAL_IN_MS = 10_000;
+    // ARGV are now, emission interval and burst in micro seconds, key expires once permits are full, so next request starts from now
+    private static final String GCRA_SCRIPT = """
+        local now = tonumber(ARGV[1])
+        local tat = math.max(tonumber(redis.call('GET', KEYS[1]) or ARGV[1]), now)
+        local next = tat + tonumber(ARGV[2])
+        if next - now > tonumber(ARGV[3]) then return 0 end
+        redis.call('SET', KEYS[1], string.format('%.0f', next), 'PX', math.floor((next - now) / 1000) + 1)
+        return 1
+        """;
 
-    private final ReentrantLock lock = new ReentrantLock();
+    private final Logger logger = LoggerFactory.getLogger(RateControl.class);
+    private final Shard[] shards = new Shard[SHARDS];
+    @Nullable
+    public RedisImpl redis;     // limit rate across all instances if configured
     private Map<String, RateConfig> config;
-    private Map<String, Rate> rates;
+    private volatile long redisRetryTime;     // skip redis until retry time after failure, not to add timeout to every request while redis is down
+
+    public RateControl() {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+    }
 
     public void maxEntries(int entries) {
-        lock.lock();
-        try {
-            rates = new LRUMap<>(entries);
-        } finally {
-            lock.unlock();
+        int maxEntries = Math.max(1, (entries + SHARDS - 1) / SHARDS);
+        for (Shard shard : shards) {
+            shard.maxEntries = maxEntries;
         }
     }
 
@@ -33,7 +59,8 @@ public class RateControl {
     public void config(String group, int maxPermits, int fillRate, Duration interval) {
         if (config == null) config = Maps.newHashMap();
         double fillRatePerNano = ratePerNano(fillRate, interval);
-        RateConfig previous = config.put(group, new RateConfig(maxPermits, fillRatePerNano));
+        long emissionInterval = Math.max(1, Math.round(1 / fillRatePerNano));
+        RateConfig previous = config.put(group, new RateConfig(emissionInterval, emissionInterval * maxPermits));
         if (previous != null) throw new Error("found duplicate group, group=" + group);
     }
 
@@ -62,46 +89,82 @@ public class RateControl {
         }
 
         String key = group + "/" + clientIP;
-        Rate rate;
-        lock.lock();
-        try {
-            rate = rates.computeIfAbsent(key, k -> new Rate(config.maxPermits));
-        } finally {
-            lock.unlock();
+        if (redis != null && System.currentTimeMillis() >= redisRetryTime) {
+            try {
+                return acquireFromRedis(key, config);
+            } catch (RuntimeException e) {  // e.g. UncheckedIOException, PoolException or RedisException, fall back to local rate, not to fail requests if redis is not available
+                redisRetryTime = System.currentTimeMillis() + REDIS_RETRY_INTERVAL_IN_MS;
+                logger.warn(errorCode("RATE_CONTROL_REDIS_FAILED"), "failed to acquire rate from redis, fall back to local rate, retryInterval={}ms, error={}", REDIS_RETRY_INTERVAL_IN_MS, e.getMessage(), e);
+            }
         }
         long currentTime = System.nanoTime();
-        return rate.acquire(currentTime, config.maxPermits, config.fillRatePerNano);
+        Shard shard = shards[key.hashCode() & (SHARDS - 1)];
+        return shard.rate(key, currentTime).acquire(currentTime, config.emissionIntervalInNano, config.burstInNano);
+    }
+
+    // in micro seconds, as wall clock is shared by all instances, clock skew between instances is tolerated as error of rate
+    private boolean acquireFromRedis(String key, RateConfig config) {
+        long now = System.currentTimeMillis() * 1000;
+        long emissionInterval = Math.max(1, config.emissionIntervalInNano / 1000);
+        return redis.eval(GCRA_SCRIPT, "rate:" + key, now, emissionInterval, config.burstInNano / 1000) == 1;
     }
 
-    record RateConfig(int maxPermits, double fillRatePerNano) {
+    record RateConfig(long emissionIntervalInNano, long burstInNano) {
     }
 
     static final class Rate {
-        private final ReentrantLock lock = new ReentrantLock();
-        double currentPermits;
-        long lastUpdateTime;
+        final AtomicLong tat;
+
+        Rate(long currentTime) {
+            tat = new AtomicLong(currentTime);
+        }
+
+        // under multi-thread condition, the order of acquires are not determined, currentTime can be earlier than tat updated by a later acquire
+        boolean acquire(long currentTime, long emissionInterval, long burst) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, currentTime) + emissionInterval;
+                if (next - currentTime > burst) return false;
+                if (tat.compareAndSet(current, next)) return true;
+            }
+        }
+
+        // tat in past means permits are full, it's same as not tracked
+        boolean full(long currentTime) {
+            return tat.get() <= currentTime;
+        }
+    }
+
+    static final class Shard {
+        final Map<String, Rate> rates = new ConcurrentHashMap<>();
+        private final ReentrantLock evictLock = new ReentrantLock();
+        int maxEntries = 1000;
 
-        Rate(int currentPermits) {
-            this.currentPermits = currentPermits;
-            this.lastUpdateTime = System.nanoTime();
+        Rate rate(String key, long currentTime) {
+            Rate rate = rates.get(key);
+            if (rate != null) return rate;
+            if (rates.size() >= maxEntries) evict(currentTime);
+            return rates.computeIfAbsent(key, k -> new Rate(currentTime));
         }
 
-        // under multi-thread condition, the order of acquires are not determined, currentTime can be earlier than lastUpdateTime (e.g. lastUpdateTime was updated by a later acquire first)
-        boolean acquire(long currentTime, int maxPermits, double fillRatePerNano) {
-            lock.lock();
+        // approximate LRU, only one thread evicts at a time, others continue and shard may exceed max entries slightly,
+        // evict at least 10% to amortize scan cost
+        void evict(long currentTime) {
+            if (!evictLock.tryLock()) return;
             try {
-                long timeElapsed = Math.max(0, currentTime - lastUpdateTime);
-                currentPermits = Math.min(maxPermits, currentPermits + fillRatePerNano * timeElapsed);
-                lastUpdateTime = lastUpdateTime + timeElapsed;
-
-                if (currentPermits >= 1) {
-                    currentPermits -= 1;
-                    return true;
-                } else {
-                    return false;
+                rates.values().removeIf(rate -> rate.full(currentTime));
+                if (rates.size() < maxEntries * 0.9) return;
+                long total = 0;
+                int count = 0;
+                for (Rate rate : rates.values()) {
+                    total += rate.tat.get() - currentTime;
+                    count++;
                 }
+                if (count == 0) return;
+                long average = currentTime + total / count;
+                rates.values().removeIf(rate -> rate.tat.get() <= average);     // tat is updated on every acquire, earlier tat is less recently used
             } finally {
-                lock.unlock();
+                evictLock.unlock();
             }
         }
     }
@@ -0,0 +1,38 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.stat.Counter;
+import core.framework.internal.stat.Histogram;
+import core.framework.internal.stat.Stats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * latency distribution per route since start, routes are keyed by action (method + path pattern), so cardinality is bounded by registered routes,
+ * stats only export distribution of all routes per collect interval, per route distribution is exposed via /_sys/http
+ */
+public final class RequestMetrics {
+    public final Map<String, Histogram> routes = new ConcurrentHashMap<>();
+    public final Counter http2Streams = new Counter();
+    private final Histogram elapsed = new Histogram();
+    private final Histogram delay = new Histogram();
+
+    public void record(String action, long elapsed, long httpDelay) {
+        Histogram histogram = routes.get(action);
+        if (histogram == null) histogram = routes.computeIfAbsent(action, key -> new Histogram());
+        histogram.record(elapsed);
+        this.elapsed.record(elapsed);
+        delay.record(httpDelay);
+    }
+
+    public void collect(Stats stats) {
+        Histogram.Snapshot elapsed = this.elapsed.snapshot(true);
+        stats.put("http_requests", elapsed.count);
+        stats.put("http_elapsed_p50", elapsed.quantile(0.5) * 1000d);   // in nanos, same as elapsed of action log
+        stats.put("http_elapsed_p99", elapsed.quantile(0.99) * 1000d);
+        stats.put("http_elapsed_max", elapsed.max() * 1000d);
+        Histogram.Snapshot delay = this.delay.snapshot(true);
+        stats.put("http_delay_p99", delay.quantile(0.99) * 1000d);
+        stats.put("http2_active_streams", http2Streams.max());
+    }
+}
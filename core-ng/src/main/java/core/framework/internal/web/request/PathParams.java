@@ -1,10 +1,9 @@
 package core.framework.internal.web.request;
 
 import core.framework.util.Encodings;
-import core.framework.util.Maps;
 import core.framework.web.exception.BadRequestException;
 
-import java.util.Map;
+import java.util.Arrays;
 
 import static core.framework.util.Strings.format;
 
@@ -12,20 +11,43 @@ import static core.framework.util.Strings.format;
  * @author neo
  */
 public final class PathParams {
-    private final Map<String, String> params = Maps.newHashMap();
+    // routes generally have few path params, arrays with linear search are faster and smaller than map
+    private String[] names;
+    private String[] values;
+    private int size;
 
     public void put(String name, String value) {
         if (value.isEmpty()) throw new BadRequestException(format("path param must not be empty, name={}, value={}", name, value), "INVALID_HTTP_REQUEST");
         try {
-            params.put(name, Encodings.decodeURIComponent(value));  // value here is not decoded, see io.undertow.UndertowOptions.DECODE_URL and core.framework.internal.web.HTTPServer
+            add(name, Encodings.decodeURIComponent(value));  // value here is not decoded, see io.undertow.UndertowOptions.DECODE_URL and core.framework.internal.web.HTTPServer
         } catch (IllegalArgumentException e) {
             throw new BadRequestException(e.getMessage(), "INVALID_HTTP_REQUEST", e);
         }
     }
 
     public String get(String name) {
-        String value = params.get(name);
-        if (value == null) throw new Error("path param not found, name=" + name);
-        return value;
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) return values[i];
+        }
+        throw new Error("path param not found, name=" + name);
+    }
+
+    private void add(String name, String value) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                values[i] = value;
+                return;
+            }
+        }
+        if (names == null) {
+            names = new String[4];
+            values = new String[4];
+        } else if (size == names.length) {
+            names = Arrays.copyOf(names, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        names[size] = name;
+        values[size] = value;
+        size++;
     }
 }
@@ -9,6 +9,7 @@ import org.xnio.ChannelListener;
 import org.xnio.IoUtils;
 import org.xnio.channels.StreamSourceChannel;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 
 import static core.framework.util.Strings.format;
@@ -21,16 +22,19 @@ public final class RequestBodyReader implements ChannelListener<StreamSourceChan
 
     private final HttpServerExchange exchange;
     private final HTTPIOHandler.Handler handler;
-    private final int contentLength;
+    private final long maxBufferedSize;
+    private final long contentLength;
     private boolean complete;
     private byte[] body;
     private int position = 0;
 
-    public RequestBodyReader(HttpServerExchange exchange, HTTPIOHandler.Handler handler) {
+    // body larger than maxBufferedSize is not read into memory by io thread, but streamed by worker thread when application reads it
+    public RequestBodyReader(HttpServerExchange exchange, HTTPIOHandler.Handler handler, long maxBufferedSize) {
         this.exchange = exchange;
         this.handler = handler;
-        contentLength = (int) exchange.getRequestContentLength();
-        if (contentLength >= 0) body = new byte[contentLength];
+        this.maxBufferedSize = maxBufferedSize;
+        contentLength = exchange.getRequestContentLength();
+        if (contentLength >= 0 && contentLength <= maxBufferedSize) body = new byte[(int) contentLength];
     }
 
     @Override
@@ -43,6 +47,10 @@ public final class RequestBodyReader implements ChannelListener<StreamSourceChan
 
     @SuppressWarnings("PMD.ExceptionAsFlowControl")   // intentional
     public void read(StreamSourceChannel channel) {
+        if (contentLength > maxBufferedSize) {
+            stream(channel, new byte[0]);
+            return;
+        }
         try (PooledByteBuffer poolItem = exchange.getConnection().getByteBufferPool().allocate()) {
             ByteBuffer buffer = poolItem.getBuffer();
             int bytesRead;
@@ -54,6 +62,10 @@ public final class RequestBodyReader implements ChannelListener<StreamSourceChan
                 ensureCapacity(bytesRead);
                 buffer.get(body, position, bytesRead);
                 position += bytesRead;
+                if (contentLength < 0 && position > maxBufferedSize) {  // chunked body exceeds max buffered size
+                    stream(channel, body);
+                    return;
+                }
             }
             if (bytesRead == -1) {
                 if (contentLength >= 0 && position < body.length) {
@@ -71,6 +83,13 @@ public final class RequestBodyReader implements ChannelListener<StreamSourceChan
         }
     }
 
+    private void stream(StreamSourceChannel channel, byte[] prefix) {
+        channel.getReadSetter().set(null);  // rest of body will be read by worker thread
+        channel.suspendReads();
+        complete = true;
+        exchange.putAttachment(REQUEST_BODY, new RequestBody(new RequestBodyStream(exchange, channel, prefix)));
+    }
+
     private void ensureCapacity(int bytesRead) {
         if (contentLength >= 0) {
             if (bytesRead + position > contentLength) throw new Error("body exceeds expected content length, expected=" + contentLength);
@@ -91,12 +110,20 @@ public final class RequestBodyReader implements ChannelListener<StreamSourceChan
     }
 
     public static class RequestBody {
+        final InputStream stream;
         private final byte[] body;
         private final Throwable exception;
 
         RequestBody(byte[] body, Throwable exception) {
             this.body = body;
             this.exception = exception;
+            stream = null;
+        }
+
+        RequestBody(InputStream stream) {
+            this.stream = stream;
+            body = null;
+            exception = null;
         }
 
         public byte[] body() {
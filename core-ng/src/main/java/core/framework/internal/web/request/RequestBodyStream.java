@@ -0,0 +1,79 @@
+package core.framework.internal.web.request;
+
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.server.HttpServerExchange;
+import org.xnio.channels.Channels;
+import org.xnio.channels.StreamSourceChannel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * read large body in worker thread thru undertow pooled buffer, starts with the part already read by io thread
+ */
+final class RequestBodyStream extends InputStream {
+    private final HttpServerExchange exchange;
+    private final StreamSourceChannel channel;
+    private final byte[] prefix;
+    private int prefixPosition;
+    private PooledByteBuffer pooledBuffer;
+    private ByteBuffer buffer;
+    private boolean eof;
+
+    RequestBodyStream(HttpServerExchange exchange, StreamSourceChannel channel, byte[] prefix) {
+        this.exchange = exchange;
+        this.channel = channel;
+        this.prefix = prefix;
+        exchange.addExchangeCompleteListener((completedExchange, next) -> {     // release buffer if body is not fully consumed
+            close();
+            next.proceed();
+        });
+    }
+
+    @Override
+    public int read() throws IOException {
+        var bytes = new byte[1];
+        int read = read(bytes, 0, 1);
+        return read == -1 ? -1 : bytes[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (prefixPosition < prefix.length) {
+            int read = Math.min(length, prefix.length - prefixPosition);
+            System.arraycopy(prefix, prefixPosition, bytes, offset, read);
+            prefixPosition += read;
+            return read;
+        }
+        if (eof) return -1;
+        if (buffer == null) {
+            pooledBuffer = exchange.getConnection().getByteBufferPool().allocate();
+            buffer = pooledBuffer.getBuffer();
+            buffer.limit(0);
+        }
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = Channels.readBlocking(channel, buffer);     // worker thread is virtual thread, blocking is fine
+            if (read == -1) {
+                close();
+                return -1;
+            }
+            buffer.flip();
+        }
+        int read = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public void close() {
+        eof = true;
+        if (pooledBuffer != null) {
+            pooledBuffer.close();
+            pooledBuffer = null;
+            buffer = null;
+        }
+    }
+}
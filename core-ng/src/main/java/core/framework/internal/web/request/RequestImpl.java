@@ -12,7 +12,9 @@ import core.framework.web.Session;
 import core.framework.web.exception.BadRequestException;
 import io.undertow.server.HttpServerExchange;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
 
@@ -41,6 +43,7 @@ public final class RequestImpl implements Request {
     String requestURL;
     ContentType contentType;
     byte[] body;
+    InputStream bodyStream;     // body larger than max buffered size, refer to RequestBodyReader
     Map<String, String> cookies;
 
     public RequestImpl(HttpServerExchange exchange, RequestBeanReader reader) {
@@ -118,9 +121,24 @@ public final class RequestImpl implements Request {
 
     @Override
     public Optional<byte[]> body() {
+        if (body == null && bodyStream != null) {
+            try (InputStream stream = bodyStream) {
+                body = stream.readAllBytes();
+                bodyStream = null;
+            } catch (IOException e) {
+                throw new BadRequestException("failed to read body, error=" + e.getMessage(), "FAILED_TO_READ_HTTP_REQUEST", e);
+            }
+        }
         return Optional.ofNullable(body);
     }
 
+    @Override
+    public Optional<InputStream> bodyStream() {
+        if (bodyStream != null) return Optional.of(bodyStream);
+        if (body != null) return Optional.of(new ByteArrayInputStream(body));
+        return Optional.empty();
+    }
+
     @Override
     public <T> T bean(Class<T> beanClass) {
         try {
@@ -129,8 +147,12 @@ public final class RequestImpl implements Request {
             } else if (method == HTTPMethod.POST || method == HTTPMethod.PUT || method == HTTPMethod.PATCH) {
                 if (!formParams.isEmpty()) {
                     return reader.fromParams(beanClass, formParams);
-                } else if (body != null && contentType != null && ContentType.APPLICATION_JSON.mediaType.equals(contentType.mediaType)) {
-                    return reader.fromJSON(beanClass, body);
+                } else if (contentType != null && ContentType.APPLICATION_JSON.mediaType.equals(contentType.mediaType)) {
+                    if (body != null) return reader.fromJSON(beanClass, body);
+                    if (bodyStream != null) return reader.fromJSON(beanClass, bodyStream);     // parse incrementally without holding whole body
+                } else if (contentType != null && ContentType.APPLICATION_SMILE.mediaType.equals(contentType.mediaType)) {
+                    if (body != null) return reader.fromSmile(beanClass, body);
+                    if (bodyStream != null) return reader.fromSmile(beanClass, bodyStream);
                 }
                 throw new BadRequestException(format("body is missing or unsupported content type, method={}, contentType={}", method, contentType), "INVALID_HTTP_REQUEST");
             } else {
@@ -178,7 +178,10 @@ public final class RequestParser {
 
     void parseBody(RequestImpl request, HttpServerExchange exchange) throws Throwable {
         RequestBodyReader.RequestBody body = exchange.getAttachment(RequestBodyReader.REQUEST_BODY);
-        if (body != null) {
+        if (body != null && body.stream != null) {
+            request.bodyStream = body.stream;
+            logger.debug("[request] body=stream");      // large body is read by application, not to log
+        } else if (body != null) {
             request.body = body.body();
             logger.debug("[request] body={}", BodyLogParam.of(request.body, request.contentType));
         } else {
@@ -1,17 +1,14 @@
 package core.framework.internal.web.response;
 
-import core.framework.util.Strings;
-import io.undertow.io.Sender;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.nio.ByteBuffer;
+import core.framework.http.ContentType;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
 
 /**
  * @author neo
  */
 public final class BeanBody implements Body {
-    private static final Logger LOGGER = LoggerFactory.getLogger(BeanBody.class);
+    static final int STREAMING_THRESHOLD = 64 * 1024;   // body smaller than threshold is sent with content-length, larger is streamed in chunks
     public final Object bean;
 
     public BeanBody(Object bean) {
@@ -19,11 +16,25 @@ public final class BeanBody implements Body {
     }
 
     @Override
-    public long send(Sender sender, ResponseHandlerContext context) {
-        String body = context.writer.toJSON(bean);
-        LOGGER.debug("[response] body={}", body);
-        byte[] bytes = Strings.bytes(body);
-        sender.send(ByteBuffer.wrap(bytes));
-        return bytes.length;
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
+        var stream = new ResponseBodyStream(exchange, STREAMING_THRESHOLD);
+        try {
+            if (acceptSmile(exchange.getRequestHeaders().getFirst(Headers.ACCEPT))) {
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, ContentType.APPLICATION_SMILE.toString());
+                stream.smile = true;
+                context.writer.toSmile(bean, stream);
+            } else {
+                context.writer.toJSON(bean, stream);
+            }
+        } catch (Throwable e) {
+            stream.abort();
+            throw e;
+        }
+        return stream.finish();
+    }
+
+    // only core-ng web service client accepts smile, other clients get json
+    boolean acceptSmile(String accept) {
+        return accept != null && accept.contains(ContentType.APPLICATION_SMILE.mediaType);
     }
 }
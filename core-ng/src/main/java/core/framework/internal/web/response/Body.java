@@ -1,11 +1,11 @@
 package core.framework.internal.web.response;
 
-import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
 
 /**
  * @author neo
  */
 interface Body {
     // return body length
-    long send(Sender sender, ResponseHandlerContext context);
+    long send(HttpServerExchange exchange, ResponseHandlerContext context);
 }
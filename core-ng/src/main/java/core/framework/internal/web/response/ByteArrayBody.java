@@ -1,6 +1,6 @@
 package core.framework.internal.web.response;
 
-import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,16 +11,16 @@ import java.nio.ByteBuffer;
  */
 public final class ByteArrayBody implements Body {
     private static final Logger LOGGER = LoggerFactory.getLogger(ByteArrayBody.class);
-    private final byte[] bytes;
+    final byte[] bytes;
 
     public ByteArrayBody(byte[] bytes) {
         this.bytes = bytes;
     }
 
     @Override
-    public long send(Sender sender, ResponseHandlerContext context) {
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
         LOGGER.debug("[response] body=bytes[{}]", bytes.length);
-        sender.send(ByteBuffer.wrap(bytes));
+        exchange.getResponseSender().send(ByteBuffer.wrap(bytes));
         return bytes.length;
     }
 }
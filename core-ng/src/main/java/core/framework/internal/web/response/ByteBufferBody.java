@@ -0,0 +1,27 @@
+package core.framework.internal.web.response;
+
+import io.undertow.server.HttpServerExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * send heap or memory-mapped buffer, buffer position is consumed by sender, so caller must pass its own view, e.g. buffer.slice()
+ */
+public final class ByteBufferBody implements Body {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ByteBufferBody.class);
+    private final ByteBuffer buffer;
+
+    public ByteBufferBody(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
+        int length = buffer.remaining();
+        LOGGER.debug("[response] body=buffer[{}]", length);
+        exchange.getResponseSender().send(buffer);
+        return length;
+    }
+}
@@ -0,0 +1,26 @@
+package core.framework.internal.web.response;
+
+import core.framework.web.Controller;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import core.framework.web.cache.CacheResponse;
+
+/**
+ * wrap controller with @CacheResponse, runs as last step of invocation chain, after all interceptors
+ */
+public final class CachedController implements Controller {
+    private final Controller controller;
+    private final CacheResponse policy;
+    private final ResponseCacheImpl cache;
+
+    public CachedController(Controller controller, CacheResponse policy, ResponseCacheImpl cache) {
+        this.controller = controller;
+        this.policy = policy;
+        this.cache = cache;
+    }
+
+    @Override
+    public Response execute(Request request) throws Exception {
+        return cache.get(request, policy, controller);
+    }
+}
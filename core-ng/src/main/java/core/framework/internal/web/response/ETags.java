@@ -0,0 +1,18 @@
+package core.framework.internal.web.response;
+
+import core.framework.util.Strings;
+
+import javax.annotation.Nullable;
+
+public final class ETags {
+    // weak comparison, refer to https://www.rfc-editor.org/rfc/rfc9110#name-if-none-match
+    public static boolean matches(@Nullable String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        for (String value : Strings.split(ifNoneMatch, ',')) {
+            String tag = value.strip();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if ("*".equals(tag) || eTag.equals(tag)) return true;
+        }
+        return false;
+    }
+}
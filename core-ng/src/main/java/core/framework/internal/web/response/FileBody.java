@@ -30,12 +30,12 @@ public final class FileBody implements Body {
     }
 
     @Override
-    public long send(Sender sender, ResponseHandlerContext context) {
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
         LOGGER.debug("[response] file={}", path);
         try {
             long size = Files.size(path);
             FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
-            sender.transferFrom(channel, new FileBodyCallback(channel));
+            exchange.getResponseSender().transferFrom(channel, new FileBodyCallback(channel));
             return size;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -0,0 +1,107 @@
+package core.framework.internal.web.response;
+
+import core.framework.internal.http.SmileBodyLogParam;
+import core.framework.internal.log.filter.BytesLogParam;
+import core.framework.internal.log.filter.LogParam;
+import io.undertow.server.HttpServerExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xnio.IoUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * buffer body in memory and send with content-length if it's smaller than threshold,
+ * otherwise switch to exchange output stream, which writes into undertow pooled buffers and sends in chunked encoding
+ */
+final class ResponseBodyStream extends OutputStream {
+    private final Logger logger = LoggerFactory.getLogger(ResponseBodyStream.class);
+    private final HttpServerExchange exchange;
+    private final int threshold;
+    private byte[] buffer = new byte[1024];
+    private int count;
+    private long length;
+    private OutputStream stream;    // not null once switched to streaming
+    boolean smile;
+
+    ResponseBodyStream(HttpServerExchange exchange, int threshold) {
+        this.exchange = exchange;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        if (stream == null && count + 1 > threshold) startStreaming();
+        if (stream != null) {
+            stream.write(value);
+        } else {
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) value;
+        }
+        length++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (stream == null && count + length > threshold) startStreaming();
+        if (stream != null) {
+            stream.write(bytes, offset, length);
+        } else {
+            ensureCapacity(count + length);
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+        }
+        this.length += length;
+    }
+
+    // json writer flushes after each value, only flush to client at the end
+    @Override
+    public void flush() {
+    }
+
+    // json writer closes target after writing, response is completed by finish()
+    @Override
+    public void close() {
+    }
+
+    long finish() {
+        if (stream == null) {
+            logger.debug("[response] body={}", logParam());
+            exchange.getResponseSender().send(ByteBuffer.wrap(buffer, 0, count));
+        } else {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return length;
+    }
+
+    // if failed after part of body was sent, error response can't be rendered, close connection to let client know body is incomplete
+    void abort() {
+        if (stream != null) IoUtils.safeClose(exchange.getConnection());
+    }
+
+    private void startStreaming() throws IOException {
+        // only log beginning of large body, which is truncated by log param anyway
+        logger.debug("[response] body={}, streaming=true", logParam());
+        exchange.startBlocking();   // http handler runs in virtual thread, blocking io is allowed
+        stream = exchange.getOutputStream();
+        stream.write(buffer, 0, count);
+    }
+
+    private LogParam logParam() {
+        return smile ? new SmileBodyLogParam(buffer, count) : new BytesLogParam(buffer, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(Math.max(buffer.length << 1, capacity), threshold));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package core.framework.internal.web.response;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.crypto.Hash;
+import core.framework.http.ContentType;
+import core.framework.internal.stat.Stats;
+import core.framework.internal.util.LRUCache;
+import core.framework.internal.web.bean.ResponseBeanWriter;
+import core.framework.log.ActionLogContext;
+import core.framework.util.Encodings;
+import core.framework.util.Strings;
+import core.framework.web.Controller;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import core.framework.web.cache.CacheResponse;
+import core.framework.web.cache.ResponseCache;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * cache encoded response body of @CacheResponse controllers, cache is checked after interceptors, so auth is still applied on cache hit,
+ * concurrent misses of same key may execute controller multiple times, which is acceptable for short ttl read only endpoints
+ */
+public final class ResponseCacheImpl implements ResponseCache {
+    private final Logger logger = LoggerFactory.getLogger(ResponseCacheImpl.class);
+    private final LRUCache<String, Entry> entries;     // entries hold full body, evict least recently used when full
+    private final ResponseBeanWriter writer;
+
+    public ResponseCacheImpl(ResponseBeanWriter writer) {
+        this(writer, 1000);
+    }
+
+    ResponseCacheImpl(ResponseBeanWriter writer, int maxSize) {
+        this.writer = writer;
+        entries = new LRUCache<>(maxSize);
+    }
+
+    public Response get(Request request, CacheResponse policy, Controller controller) throws Exception {
+        String key = key(request, policy);
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key, now);
+        if (entry == null) {
+            entries.miss();
+            ActionLogContext.put("response_cache", "miss");
+            Response response = controller.execute(request);
+            entry = entry((ResponseImpl) response, request.path(), policy, now);
+            if (entry == null) return response;
+            entries.put(key, entry, entry.expirationTime);
+        } else {
+            entries.hit();
+            ActionLogContext.put("response_cache", "hit");
+        }
+        return response(entry, request);
+    }
+
+    String key(Request request, CacheResponse policy) {
+        var builder = new StringBuilder(64).append(request.path()).append('?');
+        Map<String, String> params = request.queryParams();
+        String[] names = policy.queryParams();
+        if (names.length == 0) {
+            for (Map.Entry<String, String> param : new TreeMap<>(params).entrySet()) {
+                append(builder, param.getKey(), param.getValue());
+            }
+        } else {
+            for (String name : names) {
+                append(builder, name, params.get(name));
+            }
+        }
+        for (String name : policy.headers()) {
+            builder.append('#');
+            append(builder, name, request.header(name).orElse(null));
+        }
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, String name, @Nullable String value) {
+        builder.append(Encodings.uriComponent(name)).append('=');
+        if (value != null) builder.append(Encodings.uriComponent(value));
+        builder.append('&');
+    }
+
+    @Nullable
+    Entry entry(@Nullable ResponseImpl response, String path, CacheResponse policy, long now) {
+        if (response == null || response.status() != HTTPStatus.OK || response.cookies != null) return null;
+        byte[] body = bytes(response.body);
+        if (body == null) {
+            logger.warn("response body is not cacheable, bodyClass={}", response.body.getClass().getCanonicalName());
+            return null;
+        }
+        Map<HttpString, String> headers = new HashMap<>(response.headers);
+        headers.remove(Headers.CONTENT_TYPE);
+        byte[] gzipBody = policy.gzip() ? gzip(body) : null;
+        String eTag = "\"" + Hash.md5Hex(body) + "\"";
+        return new Entry(path, body, gzipBody, response.contentType().orElse(null), headers, eTag, now + policy.expirationInSeconds() * 1000L);
+    }
+
+    @Nullable
+    private byte[] bytes(Body body) {
+        if (body instanceof BeanBody beanBody) return Strings.bytes(writer.toJSON(beanBody.bean));
+        if (body instanceof TextBody textBody) return Strings.bytes(textBody.text);
+        if (body instanceof ByteArrayBody byteArrayBody) return byteArrayBody.bytes;
+        return null;    // file, template and stream body are not cached
+    }
+
+    private byte[] gzip(byte[] body) {
+        var output = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (var stream = new GZIPOutputStream(output)) {
+            stream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    ResponseImpl response(Entry entry, Request request) {
+        boolean notModified = ETags.matches(request.header(Headers.IF_NONE_MATCH_STRING).orElse(null), entry.eTag);
+        boolean gzip = !notModified && entry.gzipBody != null && acceptGZip(request.header(Headers.ACCEPT_ENCODING_STRING).orElse(null));
+        byte[] body = notModified ? new byte[0] : gzip ? entry.gzipBody : entry.body;
+
+        var response = new ResponseImpl(new ByteArrayBody(body));
+        response.headers.putAll(entry.headers);
+        if (entry.contentType != null) response.contentType(entry.contentType);
+        response.headers.put(Headers.ETAG, entry.eTag);
+        if (entry.gzipBody != null) response.headers.put(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        if (gzip) response.headers.put(Headers.CONTENT_ENCODING, "gzip");    // undertow skips encoding handler if content encoding is already set
+        if (notModified) response.status(HTTPStatus.NOT_MODIFIED);
+        return response;
+    }
+
+    private boolean acceptGZip(@Nullable String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    @Override
+    public void evict(String path) {
+        logger.info("evict response cache, path={}", path);
+        entries.removeIf(entry -> entry.path.equals(path));
+    }
+
+    @Override
+    public void evictAll() {
+        logger.info("evict all response cache");
+        entries.clear();
+    }
+
+    public void cleanup() {     // called by background thread
+        entries.cleanup(System.currentTimeMillis());
+    }
+
+    public void collect(Stats stats) {
+        entries.collect(stats, "response_cache");
+    }
+
+    record Entry(String path, byte[] body, @Nullable byte[] gzipBody, @Nullable ContentType contentType, Map<HttpString, String> headers, String eTag, long expirationTime) {
+    }
+}
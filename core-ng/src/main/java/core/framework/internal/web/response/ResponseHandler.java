@@ -45,7 +45,7 @@ public class ResponseHandler {
         putHeaders(response, exchange);
         putCookies(response, exchange);
 
-        long bodyLength = response.body.send(exchange.getResponseSender(), context);
+        long bodyLength = response.body.send(exchange, context);
         // due to exchange.sender is async, exchange.getResponseBytesSent() won't return accurate body length at this point,
         // use actual body bytes size prior to gzip, to match http client perf_http stats
         logger.debug("[response] bodyLength={}", bodyLength);
@@ -0,0 +1,30 @@
+package core.framework.internal.web.response;
+
+import io.undertow.server.HttpServerExchange;
+
+import java.util.stream.Stream;
+
+/**
+ * write beans as json array while they are produced, e.g. large query result
+ */
+public final class StreamBody implements Body {
+    private final Stream<?> beans;
+
+    public StreamBody(Stream<?> beans) {
+        this.beans = beans;
+    }
+
+    @Override
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
+        try (beans) {
+            var stream = new ResponseBodyStream(exchange, BeanBody.STREAMING_THRESHOLD);
+            try {
+                context.writer.toJSONArray(beans, stream);
+            } catch (Throwable e) {
+                stream.abort();
+                throw e;
+            }
+            return stream.finish();
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package core.framework.internal.web.response;
 
-import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
 
 /**
  * @author neo
@@ -17,9 +17,9 @@ public final class TemplateBody implements Body {
     }
 
     @Override
-    public long send(Sender sender, ResponseHandlerContext context) {
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
         String content = context.templateManager.process(templatePath, model, language);
-        sender.send(content);
+        exchange.getResponseSender().send(content);
         return content.length();
     }
 }
@@ -1,7 +1,7 @@
 package core.framework.internal.web.response;
 
 import core.framework.util.Strings;
-import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,17 +13,17 @@ import java.nio.ByteBuffer;
 public final class TextBody implements Body {
     private final Logger logger = LoggerFactory.getLogger(TextBody.class);
 
-    private final String text;
+    final String text;
 
     public TextBody(String text) {
         this.text = text;
     }
 
     @Override
-    public long send(Sender sender, ResponseHandlerContext context) {
+    public long send(HttpServerExchange exchange, ResponseHandlerContext context) {
         byte[] bytes = Strings.bytes(text);
         logger.debug("[response] body={}", text);
-        sender.send(ByteBuffer.wrap(bytes));
+        exchange.getResponseSender().send(ByteBuffer.wrap(bytes));
         return bytes.length;
     }
 }
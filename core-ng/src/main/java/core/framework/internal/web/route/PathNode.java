@@ -3,9 +3,6 @@ package core.framework.internal.web.route;
 import core.framework.internal.web.request.PathParams;
 import core.framework.util.Strings;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static core.framework.util.Strings.format;
 
 /**
@@ -14,7 +11,7 @@ import static core.framework.util.Strings.format;
 class PathNode {
     private final String param;
     private URLHandler handler;
-    private Map<String, PathNode> staticNodes;
+    private StaticNodes staticNodes;
     private PathNode dynamicNode;
     private PathNode wildcardNode;
 
@@ -41,8 +38,8 @@ class PathNode {
                 return registerDynamicNode(pathPattern, currentPath, param);
             }
         } else {
-            if (staticNodes == null) staticNodes = new HashMap<>();
-            PathNode staticNode = staticNodes.computeIfAbsent(currentPath.value, key -> new PathNode(null));
+            if (staticNodes == null) staticNodes = new StaticNodes();
+            PathNode staticNode = staticNodes.computeIfAbsent(currentPath.value);
             return staticNode.register(pathPattern, currentPath.next);
         }
     }
@@ -68,48 +65,112 @@ class PathNode {
         return dynamicNode.register(pathPattern, currentPath.next);
     }
 
+    // match by scanning request path, to avoid allocating segments for each request, path always starts with '/'
     URLHandler find(String path, PathParams pathParams) {
-        return find(Path.parse(path), pathParams);
+        if (path.length() == 1) return handler;
+        return find(path, 1, pathParams);
     }
 
-    private URLHandler find(Path currentPath, PathParams pathParams) {
-        Path nextPath = currentPath.next;
-        if (nextPath == null) return handler;
+    // from is start index of next segment, from = path.length() means trailing slash, -1 means no more segment
+    private URLHandler find(String path, int from, PathParams pathParams) {
+        if (from < 0) return handler;
+
+        int length = path.length();
+        boolean trailingSlash = from == length;
+        int end;
+        int next;
+        if (trailingSlash) {
+            end = from;
+            next = -1;
+        } else {
+            end = path.indexOf('/', from);
+            if (end < 0) {
+                end = length;
+                next = -1;
+            } else {
+                next = end + 1;
+            }
+        }
 
-        URLHandler handler = findStatic(nextPath, pathParams);
-        if (handler != null) return handler;
+        if (staticNodes != null) {
+            PathNode nextNode = trailingSlash ? staticNodes.get("/", 0, 1) : staticNodes.get(path, from, end);
+            if (nextNode != null) {
+                URLHandler handler = nextNode.find(path, next, pathParams);
+                if (handler != null) return handler;
+            }
+        }
 
-        if (!"/".equals(nextPath.value)) {  // dynamic node should not match trailing slash
-            handler = findDynamic(nextPath, pathParams);
-            if (handler != null) return handler;
+        if (!trailingSlash && dynamicNode != null) {  // dynamic node should not match trailing slash
+            URLHandler handler = dynamicNode.find(path, next, pathParams);
+            if (handler != null) {
+                pathParams.put(dynamicNode.param, path.substring(from, end));
+                return handler;
+            }
         }
 
         if (wildcardNode != null) {
-            pathParams.put(wildcardNode.param, nextPath.subPath());
+            pathParams.put(wildcardNode.param, trailingSlash ? "/" : path.substring(from));
             return wildcardNode.handler;
         }
 
         return null;
     }
 
-    private URLHandler findStatic(Path nextPath, PathParams pathParams) {
-        if (staticNodes != null) {
-            PathNode nextNode = staticNodes.get(nextPath.value);
-            if (nextNode != null) {
-                return nextNode.find(nextPath, pathParams);
+    // open addressing hash table keyed by path segment, to look up by range of request path without substring
+    static final class StaticNodes {
+        private String[] keys = new String[8];
+        private PathNode[] nodes = new PathNode[8];
+        private int size;
+
+        static int hash(String value, int from, int end) {
+            int hash = 0;
+            for (int i = from; i < end; i++) {
+                hash = 31 * hash + value.charAt(i);
             }
+            return hash ^ (hash >>> 16);
         }
-        return null;
-    }
 
-    private URLHandler findDynamic(Path nextPath, PathParams pathParams) {
-        if (dynamicNode != null) {
-            URLHandler handler = dynamicNode.find(nextPath, pathParams);
-            if (handler != null) {
-                pathParams.put(dynamicNode.param, nextPath.value);
-                return handler;
+        PathNode computeIfAbsent(String key) {
+            PathNode node = get(key, 0, key.length());
+            if (node != null) return node;
+            if ((size + 1) << 1 > keys.length) resize();
+            node = new PathNode(null);
+            put(key, node);
+            return node;
+        }
+
+        PathNode get(String path, int from, int end) {
+            int mask = keys.length - 1;
+            int length = end - from;
+            int index = hash(path, from, end) & mask;
+            while (true) {
+                String key = keys[index];
+                if (key == null) return null;
+                if (key.length() == length && path.regionMatches(from, key, 0, length)) return nodes[index];
+                index = (index + 1) & mask;
+            }
+        }
+
+        private void put(String key, PathNode node) {
+            int mask = keys.length - 1;
+            int index = hash(key, 0, key.length()) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            nodes[index] = node;
+            size++;
+        }
+
+        private void resize() {
+            String[] previousKeys = keys;
+            PathNode[] previousNodes = nodes;
+            keys = new String[previousKeys.length << 1];
+            nodes = new PathNode[previousKeys.length << 1];
+            size = 0;
+            for (int i = 0; i < previousKeys.length; i++) {
+                if (previousKeys[i] != null) put(previousKeys[i], previousNodes[i]);
             }
         }
-        return null;
     }
 }
@@ -9,7 +9,6 @@ import core.framework.web.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,7 +38,7 @@ public final class Route {
         if (handler == null) {
             throw new NotFoundException("not found, path=" + path, "PATH_NOT_FOUND");
         }
-        actionLog.context.put("path_pattern", List.of(handler.pathPattern));
+        actionLog.context.put("path_pattern", handler.pathPatternContext);
         logger.debug("pathPattern={}", handler.pathPattern);
         return handler.get(method);
     }
@@ -2,10 +2,9 @@ package core.framework.internal.web.route;
 
 import core.framework.http.HTTPMethod;
 import core.framework.internal.web.controller.ControllerHolder;
-import core.framework.util.Maps;
 import core.framework.web.exception.MethodNotAllowedException;
 
-import java.util.Map;
+import java.util.List;
 
 import static core.framework.util.Strings.format;
 
@@ -14,21 +13,24 @@ import static core.framework.util.Strings.format;
  */
 class URLHandler {
     final String pathPattern;
-    private final Map<HTTPMethod, ControllerHolder> controllers = Maps.newEnumMap(HTTPMethod.class);
+    final List<String> pathPatternContext;     // shared by all requests, to put into action log context without allocation
+    private final ControllerHolder[] controllers = new ControllerHolder[HTTPMethod.values().length];    // indexed by method ordinal
 
     URLHandler(String pathPattern) {
         this.pathPattern = pathPattern;
+        pathPatternContext = List.of(pathPattern);
     }
 
     void put(HTTPMethod method, ControllerHolder controller) {
-        ControllerHolder previous = controllers.putIfAbsent(method, controller);
-        if (previous != null) {
+        int index = method.ordinal();
+        if (controllers[index] != null) {
             throw new Error(format("found duplicate controller, path={}, method={}", pathPattern, method));
         }
+        controllers[index] = controller;
     }
 
     ControllerHolder get(HTTPMethod method) {
-        ControllerHolder controller = controllers.get(method);
+        ControllerHolder controller = controllers[method.ordinal()];
         if (controller == null) {
             throw new MethodNotAllowedException("method not allowed, method=" + method);
         }
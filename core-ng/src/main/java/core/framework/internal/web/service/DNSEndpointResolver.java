@@ -0,0 +1,48 @@
+package core.framework.internal.web.service;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * resolve all A/AAAA records of service host, kube headless service returns address of each ready pod,
+ * jdk caches dns result for 30s by default (networkaddress.cache.ttl), which bounds how fast new pods are picked up,
+ * https is not supported, as endpoint url with ip address breaks tls sni and certificate hostname verification
+ */
+public final class DNSEndpointResolver implements EndpointResolver {
+    final String host;      // host header, endpoint url uses ip address
+    private final String scheme;
+    private final String hostname;
+    private final int port;
+
+    public DNSEndpointResolver(String serviceURL) {
+        URI uri = URI.create(serviceURL);
+        if (uri.getHost() == null) throw new Error("invalid service url, url=" + serviceURL);
+        if (!"http".equals(uri.getScheme())) throw new Error("dns load balance only supports http, use loadBalance(serviceURLs) for https, url=" + serviceURL);
+        scheme = uri.getScheme();
+        hostname = uri.getHost();
+        port = uri.getPort();
+        host = port == -1 ? hostname : hostname + ":" + port;
+    }
+
+    @Override
+    public List<String> resolve() throws UnknownHostException {
+        InetAddress[] addresses = InetAddress.getAllByName(hostname);
+        List<String> urls = new ArrayList<>(addresses.length);
+        for (InetAddress address : addresses) {
+            urls.add(url(address));
+        }
+        return urls;
+    }
+
+    String url(InetAddress address) {
+        var builder = new StringBuilder(scheme).append("://");
+        if (address instanceof Inet6Address) builder.append('[').append(address.getHostAddress()).append(']');
+        else builder.append(address.getHostAddress());
+        if (port != -1) builder.append(':').append(port);
+        return builder.toString();
+    }
+}
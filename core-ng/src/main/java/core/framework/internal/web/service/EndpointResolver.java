@@ -0,0 +1,11 @@
+package core.framework.internal.web.service;
+
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * resolve service urls to balance requests across, e.g. all pod addresses of kube headless service
+ */
+public interface EndpointResolver {
+    List<String> resolve() throws UnknownHostException;
+}
@@ -0,0 +1,30 @@
+package core.framework.internal.web.service;
+
+import core.framework.internal.http.RetryBudget;
+import core.framework.internal.stat.ElapsedQuantile;
+
+import java.time.Duration;
+
+/**
+ * send backup request if response doesn't arrive within p95 latency of recent requests, use first response and cancel the other,
+ * refer to "The Tail at Scale", hedges are capped by budget, so slow remote service won't receive double load
+ */
+public final class Hedging {
+    final RetryBudget budget = new RetryBudget(0.1, 10);   // at most 10% extra requests
+    private final ElapsedQuantile quantile = new ElapsedQuantile(0.95);
+    private final long minDelayInNano;
+
+    public Hedging(Duration minDelay) {
+        minDelayInNano = minDelay.toNanos();
+    }
+
+    // return delay before sending backup request, -1 if not enough samples to estimate latency
+    long delay() {
+        if (!quantile.stable()) return -1;
+        return Math.max(minDelayInNano, quantile.estimation());
+    }
+
+    void record(long elapsed) {
+        quantile.outlier(elapsed);
+    }
+}
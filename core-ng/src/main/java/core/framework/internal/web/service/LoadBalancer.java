@@ -0,0 +1,165 @@
+package core.framework.internal.web.service;
+
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static core.framework.log.Markers.errorCode;
+
+/**
+ * balance requests across endpoints by power of two choices, pick less loaded one of 2 random endpoints,
+ * load is outstanding requests weighted by latency (EWMA), endpoint is ejected for a while after consecutive failures,
+ * okhttp pools connections by address, so each endpoint has its own connections
+ */
+public final class LoadBalancer implements Metrics {
+    private static final int MAX_FAILURES = 5;
+    private static final long EJECTION_TIME_IN_NANO = Duration.ofSeconds(30).toNanos();
+    private static final double LATENCY_WEIGHT = 0.2;       // weight of latest latency in EWMA
+
+    @Nullable
+    final String host;      // host header if endpoint url is ip address
+    volatile Endpoint[] endpoints = new Endpoint[0];
+    private final Logger logger = LoggerFactory.getLogger(LoadBalancer.class);
+    private final String name;
+    private final EndpointResolver resolver;
+
+    public LoadBalancer(String name, EndpointResolver resolver, @Nullable String host) {
+        this.name = name;
+        this.resolver = resolver;
+        this.host = host;
+    }
+
+    // called by background task, keep previous endpoints if dns is not available
+    public void refresh() {
+        try {
+            update(resolver.resolve());
+        } catch (UnknownHostException e) {
+            logger.warn(errorCode("DNS_FAILURE"), "failed to resolve endpoints, keep previous endpoints, name={}, error={}", name, e.getMessage(), e);
+        }
+    }
+
+    void update(List<String> urls) {
+        Endpoint[] previous = endpoints;
+        Map<String, Endpoint> current = new HashMap<>();
+        for (Endpoint endpoint : previous) {
+            current.put(endpoint.url, endpoint);
+        }
+        Endpoint[] endpoints = new Endpoint[urls.size()];
+        boolean changed = previous.length != endpoints.length;
+        for (int i = 0; i < endpoints.length; i++) {
+            String url = urls.get(i);
+            Endpoint endpoint = current.get(url);
+            if (endpoint == null) {
+                endpoint = new Endpoint(url);
+                changed = true;
+            }
+            endpoints[i] = endpoint;    // keep state of existing endpoints
+        }
+        if (changed) logger.info("update endpoints, name={}, endpoints={}", name, urls);
+        this.endpoints = endpoints;
+    }
+
+    // return null if no endpoint resolved yet, caller should fall back to service url
+    @Nullable
+    Endpoint acquire() {
+        Endpoint[] endpoints = this.endpoints;
+        int length = endpoints.length;
+        if (length == 0) return null;
+        Endpoint endpoint;
+        if (length == 1) {
+            endpoint = endpoints[0];
+        } else {
+            var random = ThreadLocalRandom.current();
+            int first = random.nextInt(length);
+            int second = random.nextInt(length - 1);
+            if (second >= first) second++;
+            endpoint = select(endpoints[first], endpoints[second], System.nanoTime());
+        }
+        endpoint.inflight.incrementAndGet();
+        return endpoint;
+    }
+
+    // prefer available endpoint, if both are ejected, still pick one rather than failing all requests
+    Endpoint select(Endpoint first, Endpoint second, long now) {
+        boolean firstAvailable = first.available(now);
+        if (firstAvailable != second.available(now)) return firstAvailable ? first : second;
+        return first.cost() <= second.cost() ? first : second;
+    }
+
+    void release(Endpoint endpoint, long elapsed, boolean success) {
+        endpoint.inflight.decrementAndGet();
+        endpoint.requests.increment();
+        if (success) {
+            double latency = endpoint.latency;      // updates from concurrent requests may be lost, which is acceptable for balancing
+            endpoint.latency = latency == 0 ? elapsed : latency * (1 - LATENCY_WEIGHT) + elapsed * LATENCY_WEIGHT;
+            endpoint.failures.set(0);
+            return;
+        }
+        endpoint.errors.increment();
+        if (endpoint.failures.incrementAndGet() >= MAX_FAILURES) {
+            endpoint.failures.set(0);
+            endpoint.ejectedUntil = System.nanoTime() + EJECTION_TIME_IN_NANO;
+            logger.warn(errorCode("ENDPOINT_EJECTED"), "eject endpoint due to consecutive failures, name={}, endpoint={}, failures={}", name, endpoint.url, MAX_FAILURES);
+        }
+    }
+
+    // cancelled call, e.g. loser of hedged requests, is not counted as failure or latency sample
+    void cancel(Endpoint endpoint) {
+        endpoint.inflight.decrementAndGet();
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        long now = System.nanoTime();
+        int ejected = 0;
+        long requests = 0;
+        long errors = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.available(now)) ejected++;
+            requests += endpoint.requests.sumThenReset();
+            errors += endpoint.errors.sumThenReset();
+        }
+        stats.put(statName("endpoints"), endpoints.length);
+        stats.put(statName("ejected_endpoints"), ejected);
+        stats.put(statName("requests"), requests);
+        stats.put(statName("errors"), errors);
+    }
+
+    String statName(String statName) {
+        return "api_client_" + name + '_' + statName;
+    }
+
+    static final class Endpoint {
+        final String url;
+        final AtomicInteger inflight = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();     // consecutive failures
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        volatile double latency;        // in nanos
+        volatile long ejectedUntil;     // System.nanoTime(), 0 means not ejected
+
+        Endpoint(String url) {
+            this.url = url;
+        }
+
+        boolean available(long now) {
+            long until = ejectedUntil;
+            return until == 0 || now - until >= 0;
+        }
+
+        double cost() {
+            return (latency + 1) * (inflight.get() + 1);
+        }
+    }
+}
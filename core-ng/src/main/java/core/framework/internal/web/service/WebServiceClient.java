@@ -3,9 +3,11 @@ package core.framework.internal.web.service;
 import core.framework.api.http.HTTPStatus;
 import core.framework.http.ContentType;
 import core.framework.http.HTTPClient;
+import core.framework.http.HTTPHeaders;
 import core.framework.http.HTTPMethod;
 import core.framework.http.HTTPRequest;
 import core.framework.http.HTTPResponse;
+import core.framework.internal.http.CircuitBreaker;
 import core.framework.internal.http.HTTPClientImpl;
 import core.framework.internal.log.ActionLog;
 import core.framework.internal.log.LogManager;
@@ -20,16 +22,25 @@ import core.framework.web.service.WebServiceClientInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 /**
  * @author neo
  */
 public class WebServiceClient {
     public static final String USER_AGENT = "APIClient";
+    private static final String ACCEPT_SMILE = ContentType.APPLICATION_SMILE.mediaType + ", " + ContentType.APPLICATION_JSON.mediaType;
     private static final Logger LOGGER = LoggerFactory.getLogger(WebServiceClient.class);
     private static final Map<Integer, HTTPStatus> HTTP_STATUSES;
 
@@ -51,6 +62,15 @@ public class WebServiceClient {
     private final HTTPClient httpClient;
     private final RequestBeanWriter writer;
     private final ResponseBeanReader reader;
+    @Nullable
+    public LoadBalancer loadBalancer;
+    @Nullable
+    public Hedging hedging;
+    @Nullable
+    public CircuitBreaker circuitBreaker;
+    @Nullable
+    public WebServiceClientCache cache;
+    public boolean smile;       // accept smile response, request body is always json, as endpoints behind same url may not all support smile, e.g. during rolling update
     private WebServiceClientInterceptor interceptor;
 
     public WebServiceClient(String serviceURL, HTTPClient httpClient, RequestBeanWriter writer, ResponseBeanReader reader) {
@@ -62,8 +82,11 @@ public class WebServiceClient {
 
     // used by generated code, must be public
     public <T> Object execute(HTTPMethod method, String path, Class<T> requestBeanClass, T requestBean, Type responseType) {
-        var request = new HTTPRequest(method, serviceURL + path);
-        request.accept(ContentType.APPLICATION_JSON);
+        LoadBalancer.Endpoint endpoint = loadBalancer == null ? null : loadBalancer.acquire();
+        var request = new HTTPRequest(method, (endpoint == null ? serviceURL : endpoint.url) + path);
+        if (endpoint != null && loadBalancer.host != null) request.headers.put(HTTPHeaders.HOST, loadBalancer.host);
+        if (smile) request.headers.put(HTTPHeaders.ACCEPT, ACCEPT_SMILE);
+        else request.accept(ContentType.APPLICATION_JSON);
         linkContext(request);
 
         if (requestBeanClass != null) {
@@ -74,13 +97,14 @@ public class WebServiceClient {
             LOGGER.debug("interceptor={}", interceptor.getClass().getCanonicalName());
             interceptor.onRequest(request);
         }
-        HTTPResponse response = httpClient.execute(request);
+        HTTPResponse response = cache != null && method == HTTPMethod.GET ? sendWithCache(request, path, endpoint) : send(request, path, endpoint);
         if (interceptor != null) {
             interceptor.onResponse(response);
         }
 
         validateResponse(response);
         try {
+            if (isSmile(response)) return reader.fromSmile(responseType, response.body);
             return reader.fromJSON(responseType, response.body);
         } catch (IOException e) {
             // for security concern, to hide original error message, jackson may return detailed info, e.g. possible allowed values for enum
@@ -89,6 +113,148 @@ public class WebServiceClient {
         }
     }
 
+    private HTTPResponse sendWithCache(HTTPRequest request, String path, @Nullable LoadBalancer.Endpoint endpoint) {
+        var sent = new boolean[1];
+        HTTPResponse response = cache.get(cache.key(path, request.params), () -> {
+            sent[0] = true;
+            return send(request, path, endpoint);
+        });
+        if (!sent[0] && endpoint != null) loadBalancer.cancel(endpoint);    // served from cache or shared in-flight call
+        return response;
+    }
+
+    private HTTPResponse send(HTTPRequest request, String path, @Nullable LoadBalancer.Endpoint endpoint) {
+        if (circuitBreaker == null) return dispatch(request, path, endpoint);
+        if (!circuitBreaker.allow()) {
+            if (endpoint != null) loadBalancer.cancel(endpoint);
+            throw new RemoteServiceException("circuit breaker is open, fail fast, serviceURL=" + serviceURL, Severity.WARN, "CIRCUIT_BREAKER_OPEN", HTTPStatus.SERVICE_UNAVAILABLE);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            HTTPResponse response = dispatch(request, path, endpoint);
+            failed = response.statusCode >= 500;
+            return response;
+        } finally {
+            circuitBreaker.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    private HTTPResponse dispatch(HTTPRequest request, String path, @Nullable LoadBalancer.Endpoint endpoint) {
+        // only hedge GET, which is idempotent
+        if (hedging != null && request.method == HTTPMethod.GET) return hedge(request, path, endpoint);
+        return execute(request, endpoint);
+    }
+
+    private HTTPResponse execute(HTTPRequest request, @Nullable LoadBalancer.Endpoint endpoint) {
+        if (endpoint == null) return httpClient.execute(request);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HTTPResponse response = httpClient.execute(request);
+            success = response.statusCode < 500;
+            return response;
+        } finally {
+            loadBalancer.release(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    private HTTPResponse hedge(HTTPRequest request, String path, @Nullable LoadBalancer.Endpoint endpoint) {
+        hedging.budget.deposit();
+        long start = System.nanoTime();
+        CompletableFuture<HTTPResponse> primary = executeAsync(request, endpoint);
+        // cancelled primary (backup won) is recorded with elapsed until cancellation as lower bound of its latency,
+        // otherwise slow primaries would be dropped from samples and hedge delay would shrink as more requests are hedged
+        primary.whenComplete((response, e) -> hedging.record(System.nanoTime() - start));
+        CompletableFuture<HTTPResponse> backup = null;
+        try {
+            long delay = hedging.delay();
+            if (delay > 0) {
+                HTTPResponse response = poll(primary, delay);
+                if (response != null) return response;
+                backup = backup(request, path);
+            }
+            return await(backup == null ? primary : firstCompleted(primary, backup));
+        } finally {
+            primary.cancel(false);  // no-op if completed
+            if (backup != null) backup.cancel(false);
+        }
+    }
+
+    @Nullable
+    private CompletableFuture<HTTPResponse> backup(HTTPRequest request, String path) {
+        if (!hedging.budget.withdraw()) return null;
+        LoadBalancer.Endpoint endpoint = loadBalancer == null ? null : loadBalancer.acquire();
+        // primary call may still read request (e.g. retry or log), so send copy to another endpoint instead of changing uri
+        HTTPRequest backupRequest = endpoint == null ? request : copy(request, endpoint.url + path);
+        LOGGER.debug("send hedged request, uri={}", backupRequest.uri);
+        ActionLog actionLog = LogManager.CURRENT_ACTION_LOG.get();
+        if (actionLog != null) actionLog.stats.compute("api_hedges", (key, oldValue) -> (oldValue == null) ? 1.0 : oldValue + 1);
+        return executeAsync(backupRequest, endpoint);
+    }
+
+    private HTTPRequest copy(HTTPRequest request, String uri) {
+        var copy = new HTTPRequest(request.method, uri);
+        copy.params.putAll(request.params);
+        copy.headers.putAll(request.headers);
+        copy.body = request.body;
+        copy.contentType = request.contentType;
+        copy.form = request.form;
+        copy.connectTimeout = request.connectTimeout;
+        copy.timeout = request.timeout;
+        copy.slowOperationThreshold = request.slowOperationThreshold;
+        return copy;
+    }
+
+    private CompletableFuture<HTTPResponse> executeAsync(HTTPRequest request, @Nullable LoadBalancer.Endpoint endpoint) {
+        if (endpoint == null) return httpClient.executeAsync(request);
+        CompletableFuture<HTTPResponse> future;
+        try {
+            future = httpClient.executeAsync(request);
+        } catch (RuntimeException e) {     // e.g. circuit breaker open or deadline exceeded, endpoint must be given back as call is not sent
+            loadBalancer.cancel(endpoint);
+            throw e;
+        }
+        long start = System.nanoTime();
+        return future.whenComplete((response, e) -> {
+            if (e instanceof CancellationException) loadBalancer.cancel(endpoint);
+            else loadBalancer.release(endpoint, System.nanoTime() - start, e == null && response.statusCode < 500);
+        });
+    }
+
+    @Nullable
+    private HTTPResponse poll(CompletableFuture<HTTPResponse> future, long timeoutInNano) {
+        try {
+            return future.get(timeoutInNano, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            return await(future);
+        } catch (InterruptedException e) {
+            throw new Error("interrupted during waiting for http response", e);
+        }
+    }
+
+    private HTTPResponse await(CompletableFuture<HTTPResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private CompletableFuture<HTTPResponse> firstCompleted(CompletableFuture<HTTPResponse> primary, CompletableFuture<HTTPResponse> backup) {
+        var result = new CompletableFuture<HTTPResponse>();
+        BiConsumer<HTTPResponse, Throwable> handler = (response, e) -> {
+            if (e == null) result.complete(response);
+            else if (primary.isDone() && backup.isDone()) result.completeExceptionally(e);  // fail only if both failed
+        };
+        primary.whenComplete(handler);
+        backup.whenComplete(handler);
+        return result;
+    }
+
     // used by generated code, must be public
     public void intercept(WebServiceClientInterceptor interceptor) {
         if (this.interceptor != null) throw new Error("found duplicate interceptor, previous=" + this.interceptor.getClass().getCanonicalName());
@@ -136,7 +302,7 @@ public class WebServiceClient {
 
         // handle empty body gracefully, e.g. 503 during deployment
         // handle html error message gracefully, e.g. public cloud LB failed to connect to backend
-        if (response.body.length > 0 && response.contentType != null && ContentType.APPLICATION_JSON.mediaType.equals(response.contentType.mediaType)) {
+        if (response.body.length > 0 && (isSmile(response) || response.contentType != null && ContentType.APPLICATION_JSON.mediaType.equals(response.contentType.mediaType))) {
             InternalErrorResponse error = errorResponse(response);
             if (error.id != null && error.errorCode != null) {  // use manual validation rather than annotation to keep the flow straightforward and less try/catch, check if valid error response json
                 LOGGER.debug("failed to call remote service, statusCode={}, id={}, severity={}, errorCode={}, remoteStackTrace={}", statusCode, error.id, error.severity, error.errorCode, error.stackTrace);
@@ -148,6 +314,7 @@ public class WebServiceClient {
 
     private InternalErrorResponse errorResponse(HTTPResponse response) {
         try {
+            if (isSmile(response)) return (InternalErrorResponse) reader.fromSmile(InternalErrorResponse.class, response.body);
             return (InternalErrorResponse) reader.fromJSON(InternalErrorResponse.class, response.body);
         } catch (Throwable e) {
             int statusCode = response.statusCode;
@@ -155,6 +322,10 @@ public class WebServiceClient {
         }
     }
 
+    private boolean isSmile(HTTPResponse response) {
+        return response.contentType != null && ContentType.APPLICATION_SMILE.mediaType.equals(response.contentType.mediaType);
+    }
+
     private Severity parseSeverity(String severity) {
         if (severity == null) return Severity.ERROR;
         return Severity.valueOf(severity);
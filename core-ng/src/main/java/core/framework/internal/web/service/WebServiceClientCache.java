@@ -0,0 +1,131 @@
+package core.framework.internal.web.service;
+
+import core.framework.http.HTTPHeaders;
+import core.framework.http.HTTPResponse;
+import core.framework.internal.stat.Metrics;
+import core.framework.internal.stat.Stats;
+import core.framework.internal.util.LRUCache;
+import core.framework.log.ActionLogContext;
+import core.framework.util.ASCII;
+import core.framework.util.Encodings;
+import core.framework.util.Maps;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * for GET, concurrent calls with same path and params share one in-flight request,
+ * and 2xx response is cached if server returns "Cache-Control: max-age", ttl is capped by maxTTL,
+ * only use for responses which don't depend on caller, e.g. headers added by interceptor
+ */
+public final class WebServiceClientCache implements Metrics {
+    private final Map<String, CompletableFuture<HTTPResponse>> inflight = Maps.newConcurrentHashMap();
+    private final LRUCache<String, HTTPResponse> entries;     // evict least recently used when full
+    private final String name;
+    private final long maxTTLInMillis;
+
+    public WebServiceClientCache(String name, long maxTTLInMillis) {
+        this(name, maxTTLInMillis, 1000);
+    }
+
+    WebServiceClientCache(String name, long maxTTLInMillis, int maxSize) {
+        this.name = name;
+        this.maxTTLInMillis = maxTTLInMillis;
+        entries = new LRUCache<>(maxSize);
+    }
+
+    HTTPResponse get(String key, Supplier<HTTPResponse> loader) {
+        long now = System.currentTimeMillis();
+        HTTPResponse cached = entries.get(key, now);
+        if (cached != null) {
+            hit("cache");
+            return cached;
+        }
+        var future = new CompletableFuture<HTTPResponse>();
+        CompletableFuture<HTTPResponse> previous = inflight.putIfAbsent(key, future);
+        if (previous != null) {
+            hit("coalesced");
+            return await(previous);
+        }
+        entries.miss();
+        ActionLogContext.stat("api_cache_misses", 1);
+        try {
+            HTTPResponse response = loader.get();
+            put(key, response, now);
+            future.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);    // coalesced calls fail with same error
+            throw e;
+        } finally {
+            inflight.remove(key, future);
+        }
+    }
+
+    private void hit(String type) {
+        entries.hit();
+        ActionLogContext.stat("api_cache_hits", 1);
+        ActionLogContext.put("api_cache", type);
+    }
+
+    private HTTPResponse await(CompletableFuture<HTTPResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void put(String key, HTTPResponse response, long now) {
+        if (response.statusCode < 200 || response.statusCode >= 300) return;
+        long ttl = Math.min(maxAge(response.headers.get(HTTPHeaders.CACHE_CONTROL)), maxTTLInMillis);
+        if (ttl <= 0) return;
+        entries.put(key, response, now + ttl);
+    }
+
+    // return max-age in millis, 0 if not cacheable
+    long maxAge(@Nullable String cacheControl) {
+        if (cacheControl == null) return 0;
+        long maxAge = 0;
+        for (String directive : cacheControl.split(",")) {
+            String value = ASCII.toLowerCase(directive.strip());
+            if ("no-store".equals(value) || "no-cache".equals(value)) return 0;
+            if (value.startsWith("max-age=")) maxAge = parseSeconds(value.substring(8));
+        }
+        return maxAge * 1000;
+    }
+
+    private long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    String key(String path, Map<String, String> params) {
+        if (params.isEmpty()) return path;
+        var builder = new StringBuilder(64).append(path).append('?');
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            builder.append(Encodings.uriComponent(param.getKey())).append('=');
+            String value = param.getValue();
+            if (value != null) builder.append(Encodings.uriComponent(value));
+            builder.append('&');
+        }
+        return builder.toString();
+    }
+
+    public void cleanup() {     // called by background thread
+        entries.cleanup(System.currentTimeMillis());
+    }
+
+    @Override
+    public void collect(Stats stats) {
+        entries.collect(stats, "api_client_" + name + "_cache");
+    }
+}
@@ -2,16 +2,23 @@ package core.framework.internal.web.site;
 
 import core.framework.http.ContentType;
 import core.framework.http.HTTPHeaders;
+import core.framework.util.Maps;
 import core.framework.web.Request;
 import core.framework.web.Response;
 import core.framework.web.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author neo
@@ -19,10 +26,42 @@ import java.time.Duration;
 public final class StaticDirectoryController implements StaticContentController {
     private final Logger logger = LoggerFactory.getLogger(StaticDirectoryController.class);
     private final Path contentDirectory;
+    @Nullable
+    private final Map<Path, StaticFile> files;
     String cacheHeader;
 
-    public StaticDirectoryController(Path contentDirectory) {
+    // in local env, files are read on every request, to reflect changes without restart
+    public StaticDirectoryController(Path contentDirectory, boolean preload) {
         this.contentDirectory = contentDirectory;
+        files = preload ? load(contentDirectory) : null;
+    }
+
+    private Map<Path, StaticFile> load(Path directory) {
+        List<Path> paths;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream.filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<Path, StaticFile> files = Maps.newHashMapWithExpectedSize(paths.size());
+        for (Path path : paths) {
+            if (precompressedVariant(path)) continue;
+            try {
+                StaticFile file = StaticFile.load(path);
+                if (file != null) files.put(path.normalize(), file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        logger.info("loaded static files, directory={}, files={}", directory, files.size());
+        return files;
+    }
+
+    // .gz/.br files are served as encoded content of original file, and are still accessible directly if original file does not exist
+    private boolean precompressedVariant(Path path) {
+        String fileName = String.valueOf(path.getFileName());
+        if (!fileName.endsWith(".gz") && !fileName.endsWith(".br")) return false;
+        return Files.isRegularFile(path.resolveSibling(fileName.substring(0, fileName.length() - 3)), LinkOption.NOFOLLOW_LINKS);
     }
 
     @Override
@@ -31,6 +70,11 @@ public final class StaticDirectoryController implements StaticContentController
         Path filePath = contentDirectory.resolve(path).normalize();
         logger.debug("requestFile={}", filePath);
 
+        if (files != null) {
+            StaticFile file = files.get(filePath);
+            if (file != null) return file.response(request, cacheHeader);
+        }
+
         if (!Files.isRegularFile(filePath, LinkOption.NOFOLLOW_LINKS) || !filePath.startsWith(contentDirectory))
             throw new NotFoundException("not found, path=" + path, "PATH_NOT_FOUND");
 
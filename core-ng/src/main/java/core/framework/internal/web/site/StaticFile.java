@@ -0,0 +1,194 @@
+package core.framework.internal.web.site;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.http.ContentType;
+import core.framework.http.HTTPHeaders;
+import core.framework.internal.web.response.ByteArrayBody;
+import core.framework.internal.web.response.ByteBufferBody;
+import core.framework.internal.web.response.ETags;
+import core.framework.internal.web.response.ResponseImpl;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import io.undertow.util.Headers;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * static file loaded at startup, small file is held in heap, large file is memory-mapped, so request doesn't open file or compress content,
+ * precompressed variants are from sibling .br/.gz files generated by frontend build, or gzipped in memory at startup for small text file
+ */
+final class StaticFile {
+    static final int MAX_HEAP_SIZE = 256 * 1024;
+    private static final int MIN_GZIP_SIZE = 200;       // same as GZipPredicate
+
+    // return null if file can not be mapped as single buffer, which falls back to Response.file()
+    @Nullable
+    static StaticFile load(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size > Integer.MAX_VALUE) return null;
+        String eTag = "\"" + Long.toHexString(Files.getLastModifiedTime(path).toMillis()) + "-" + Long.toHexString(size) + "\"";
+        ContentType contentType = MimeTypes.get(String.valueOf(path.getFileName()));
+        ByteBuffer content = read(path, size);
+
+        Variant brotli = variant(path, ".br", eTag, "br");
+        Variant gzip = variant(path, ".gz", eTag, "gzip");
+        if (gzip == null && size > MIN_GZIP_SIZE && size <= MAX_HEAP_SIZE && compressible(contentType)) {
+            byte[] compressed = gzip(content);
+            if (compressed.length < size) gzip = new Variant(ByteBuffer.wrap(compressed).asReadOnlyBuffer(), eTag(eTag, "gzip"), "gzip");
+        }
+        return new StaticFile(new Variant(content, eTag, null), contentType, gzip, brotli);
+    }
+
+    private static ByteBuffer read(Path path, long size) throws IOException {
+        if (size <= MAX_HEAP_SIZE) return ByteBuffer.wrap(Files.readAllBytes(path)).asReadOnlyBuffer();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);    // mapping remains valid after channel is closed
+        }
+    }
+
+    @Nullable
+    private static Variant variant(Path path, String extension, String eTag, String encoding) throws IOException {
+        Path variantPath = path.resolveSibling(path.getFileName() + extension);
+        if (!Files.isRegularFile(variantPath, LinkOption.NOFOLLOW_LINKS)) return null;
+        long size = Files.size(variantPath);
+        if (size > Integer.MAX_VALUE) return null;
+        return new Variant(read(variantPath, size), eTag(eTag, encoding), encoding);
+    }
+
+    // each representation must have its own strong etag
+    private static String eTag(String eTag, String encoding) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + encoding + "\"";
+    }
+
+    private static boolean compressible(@Nullable ContentType contentType) {
+        if (contentType == null) return false;
+        String mediaType = contentType.mediaType;
+        return mediaType.startsWith("text/") || "application/json".equals(mediaType) || "application/javascript".equals(mediaType);
+    }
+
+    private static byte[] gzip(ByteBuffer content) throws IOException {
+        var output = new ByteArrayOutputStream(content.remaining() / 4 + 64);
+        try (var stream = new GZIPOutputStream(output)) {
+            byte[] bytes = new byte[content.remaining()];
+            content.duplicate().get(bytes);
+            stream.write(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    final Variant identity;
+    @Nullable
+    final ContentType contentType;
+    @Nullable
+    private final Variant gzip;
+    @Nullable
+    private final Variant brotli;
+
+    StaticFile(Variant identity, @Nullable ContentType contentType, @Nullable Variant gzip, @Nullable Variant brotli) {
+        this.identity = identity;
+        this.contentType = contentType;
+        this.gzip = gzip;
+        this.brotli = brotli;
+    }
+
+    Response response(Request request, @Nullable String cacheHeader) {
+        Range range = range(request);
+        if (range != null) return rangeResponse(range, cacheHeader);
+
+        Variant variant = variant(request.header(Headers.ACCEPT_ENCODING_STRING).orElse(null));
+        ResponseImpl response;
+        if (ETags.matches(request.header(Headers.IF_NONE_MATCH_STRING).orElse(null), variant.eTag)) {
+            response = new ResponseImpl(new ByteArrayBody(new byte[0]));
+            response.status(HTTPStatus.NOT_MODIFIED);
+        } else {
+            response = new ResponseImpl(new ByteBufferBody(variant.content.slice()));
+            // undertow encoding handler skips response with content encoding, so precompressed content won't be compressed again
+            if (variant.encoding != null) response.header(Headers.CONTENT_ENCODING_STRING, variant.encoding);
+        }
+        return headers(response, variant.eTag, cacheHeader);
+    }
+
+    @Nullable
+    private Range range(Request request) {
+        String header = request.header(Headers.RANGE_STRING).orElse(null);
+        if (header == null) return null;
+        // if-range uses strong comparison, date value never matches as Last-Modified is not sent, then full content is served
+        String ifRange = request.header(Headers.IF_RANGE_STRING).orElse(null);
+        if (ifRange != null && !ifRange.equals(identity.eTag)) return null;
+        return Range.parse(header, identity.content.remaining());
+    }
+
+    private Response rangeResponse(Range range, @Nullable String cacheHeader) {
+        int length = identity.content.remaining();
+        ResponseImpl response;
+        if (range == Range.UNSATISFIABLE) {
+            response = new ResponseImpl(new ByteArrayBody(new byte[0]));
+            response.status(HTTPStatus.RANGE_NOT_SATISFIABLE);
+            response.header(Headers.CONTENT_RANGE_STRING, "bytes */" + length);
+        } else {
+            response = new ResponseImpl(new ByteBufferBody(identity.content.slice(range.start, range.end - range.start + 1)));
+            response.status(HTTPStatus.PARTIAL_CONTENT);
+            response.header(Headers.CONTENT_RANGE_STRING, "bytes " + range.start + "-" + range.end + "/" + length);
+        }
+        return headers(response, identity.eTag, cacheHeader);
+    }
+
+    private Response headers(ResponseImpl response, String eTag, @Nullable String cacheHeader) {
+        if (contentType != null) response.contentType(contentType);
+        response.header(Headers.ETAG_STRING, eTag);
+        response.header(Headers.ACCEPT_RANGES_STRING, "bytes");
+        // range response is always identity, but shares cache key with encoded variants, so vary must be same for caches to key by accept-encoding
+        if (gzip != null || brotli != null) response.header(Headers.VARY_STRING, Headers.ACCEPT_ENCODING_STRING);
+        if (cacheHeader != null) response.header(HTTPHeaders.CACHE_CONTROL, cacheHeader);
+        return response;
+    }
+
+    private Variant variant(@Nullable String acceptEncoding) {
+        if (acceptEncoding != null) {
+            if (brotli != null && acceptEncoding.contains("br")) return brotli;
+            if (gzip != null && acceptEncoding.contains("gzip")) return gzip;
+        }
+        return identity;
+    }
+
+    record Variant(ByteBuffer content, String eTag, @Nullable String encoding) {
+    }
+
+    record Range(int start, int end) {
+        static final Range UNSATISFIABLE = new Range(-1, -1);
+
+        // only single range is supported, return null for multiple ranges or invalid syntax, to serve full content, which is allowed by rfc 9110
+        @Nullable
+        static Range parse(String header, int length) {
+            if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return null;
+            int index = header.indexOf('-', 6);
+            if (index < 0) return null;
+            String first = header.substring(6, index).strip();
+            String last = header.substring(index + 1).strip();
+            try {
+                if (first.isEmpty()) {      // suffix range, e.g. bytes=-500
+                    if (last.isEmpty()) return null;
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0 || length == 0) return UNSATISFIABLE;
+                    return new Range((int) Math.max(0, length - suffix), length - 1);
+                }
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                if (start < 0 || end < start) return null;
+                if (start >= length) return UNSATISFIABLE;
+                return new Range((int) start, (int) Math.min(end, length - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -7,6 +7,9 @@ import core.framework.web.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.time.Duration;
 
@@ -17,16 +20,25 @@ public final class StaticFileController implements StaticContentController {
     private final Logger logger = LoggerFactory.getLogger(StaticFileController.class);
     private final Path contentFile;
     private final ContentType contentType;
+    @Nullable
+    private final StaticFile file;
     private String cacheHeader;
 
-    public StaticFileController(Path contentFile) {
+    // in local env, file is read on every request, to reflect changes without restart
+    public StaticFileController(Path contentFile, boolean preload) {
         this.contentFile = contentFile;
         contentType = MimeTypes.get(String.valueOf(contentFile.getFileName()));
+        try {
+            file = preload ? StaticFile.load(contentFile) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
     public Response execute(Request request) {
         logger.debug("requestFile={}", contentFile);
+        if (file != null) return file.response(request, cacheHeader);
 
         Response response = Response.file(contentFile);
         if (contentType != null) response.contentType(contentType);
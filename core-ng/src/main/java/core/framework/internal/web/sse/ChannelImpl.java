@@ -10,6 +10,7 @@ import io.undertow.server.HttpServerExchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xnio.ChannelListener;
+import org.xnio.XnioIoThread;
 import org.xnio.channels.StreamSinkChannel;
 
 import javax.annotation.Nullable;
@@ -23,9 +24,13 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static core.framework.log.Markers.errorCode;
+
 class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T>, Channel.Context {
+    static final int MAX_QUEUED_EVENTS = 1000;
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelImpl.class);
 
     final String id = UUID.randomUUID().toString();
@@ -35,6 +40,7 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T>, Channel.C
 
     final WriteListener writeListener = new WriteListener();
     final Deque<byte[]> queue = new ConcurrentLinkedDeque<>();
+    final AtomicInteger queuedEvents = new AtomicInteger();
 
     private final ServerSentEventContextImpl<T> serverSentEventContext;
     private final ServerSentEventWriter<T> builder;
@@ -77,13 +83,8 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T>, Channel.C
 
         var watch = new StopWatch();
         try {
-            queue.add(event);
-            sink.getIoThread().execute(() -> writeListener.handleEvent(sink));
-
-            lastSentTime = System.nanoTime();
-            eventCount++;
-            eventSize += event.length;
-
+            if (!enqueue(event)) return false;
+            sink.getIoThread().execute(this::write);
             return true;
         } finally {
             long elapsed = watch.elapsed();
@@ -92,6 +93,37 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T>, Channel.C
         }
     }
 
+    // queue event without scheduling write, close channel if client can't keep up, rather than buffering unbounded events in memory,
+    // client reconnects with last event id
+    boolean enqueue(byte[] event) {
+        if (closed) return false;
+
+        int queued = queuedEvents.incrementAndGet();
+        if (queued > MAX_QUEUED_EVENTS) {
+            if (queued == MAX_QUEUED_EVENTS + 1) {
+                LOGGER.warn(errorCode("SLOW_SSE_CHANNEL"), "sse channel queue is full, close slow channel, channel={}, clientIP={}", id, clientIP);
+                serverSentEventContext.slowChannels.incrementAndGet();
+                sink.getIoThread().execute(this::shutdown);
+            }
+            return false;
+        }
+
+        queue.add(event);
+        lastSentTime = System.nanoTime();
+        eventCount++;
+        eventSize += event.length;
+        return true;
+    }
+
+    // must be called in io thread
+    void write() {
+        writeListener.handleEvent(sink);
+    }
+
+    XnioIoThread ioThread() {
+        return sink.getIoThread();
+    }
+
     @Override
     public boolean isOpen() {
         return !closed;
@@ -147,6 +179,7 @@ class ChannelImpl<T> implements java.nio.channels.Channel, Channel<T>, Channel.C
             if (data == null) break;
             bytes.add(data);
         }
+        queuedEvents.addAndGet(-bytes.size());
 
         if (bytes.size() == 1)
             return ByteBuffer.wrap(bytes.getFirst());
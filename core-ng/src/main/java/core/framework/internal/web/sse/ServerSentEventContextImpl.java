@@ -1,20 +1,33 @@
 package core.framework.internal.web.sse;
 
+import core.framework.internal.log.filter.BytesLogParam;
+import core.framework.log.ActionLogContext;
+import core.framework.util.StopWatch;
 import core.framework.util.Strings;
 import core.framework.web.sse.Channel;
 import core.framework.web.sse.ServerSentEventContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xnio.XnioIoThread;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ServerSentEventContextImpl<T> implements ServerSentEventContext<T> {
     final Map<String, Channel<T>> channels = new ConcurrentHashMap<>();
+    final AtomicInteger slowChannels = new AtomicInteger();     // closed due to queue full since last metrics collection
     private final Logger logger = LoggerFactory.getLogger(ServerSentEventContextImpl.class);
     private final Map<String, Map<String, Channel<T>>> groups = new ConcurrentHashMap<>();
+    private final ServerSentEventWriter<T> builder;
+
+    public ServerSentEventContextImpl(Class<T> eventClass) {
+        builder = new ServerSentEventWriter<>(eventClass);
+    }
 
     @Override
     public List<Channel<T>> all() {
@@ -29,6 +42,48 @@ public class ServerSentEventContextImpl<T> implements ServerSentEventContext<T>
         return new ArrayList<>(channels.values());
     }
 
+    @Override
+    public int broadcast(String id, T event) {
+        return broadcast(channels.values(), id, event);
+    }
+
+    @Override
+    public int broadcast(String group, String id, T event) {
+        Map<String, Channel<T>> channels = groups.get(group);
+        if (channels == null) return 0;
+        return broadcast(channels.values(), id, event);
+    }
+
+    // iterate concurrent map values directly without copying, channels joined during broadcast may or may not receive event
+    private int broadcast(Collection<Channel<T>> channels, String id, T event) {
+        byte[] message = Strings.bytes(builder.toMessage(id, event));   // shared by all channels, never modified after queued
+        var watch = new StopWatch();
+        int count = 0;
+        try {
+            Map<XnioIoThread, List<ChannelImpl<T>>> batches = new HashMap<>();
+            for (Channel<T> channel : channels) {
+                ChannelImpl<T> impl = (ChannelImpl<T>) channel;
+                if (impl.enqueue(message)) {
+                    batches.computeIfAbsent(impl.ioThread(), key -> new ArrayList<>()).add(impl);
+                    count++;
+                }
+            }
+            for (Map.Entry<XnioIoThread, List<ChannelImpl<T>>> entry : batches.entrySet()) {
+                List<ChannelImpl<T>> batch = entry.getValue();
+                entry.getKey().execute(() -> {
+                    for (ChannelImpl<T> channel : batch) {
+                        channel.write();
+                    }
+                });
+            }
+            return count;
+        } finally {
+            long elapsed = watch.elapsed();
+            ActionLogContext.track("sse", elapsed, 0, (int) Math.min(Integer.MAX_VALUE, (long) message.length * count));
+            logger.debug("broadcast sse message, channels={}, message={}, elapsed={}", count, new BytesLogParam(message), elapsed);
+        }
+    }
+
     void join(ChannelImpl<T> channel, String group) {
         logger.debug("join group, channel={}, group={}", channel.id, group);
         channel.groups.add(group);
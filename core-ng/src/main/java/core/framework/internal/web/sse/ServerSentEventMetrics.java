@@ -15,9 +15,12 @@ public class ServerSentEventMetrics implements Metrics {
     @Override
     public void collect(Stats stats) {
         int count = 0;
+        int slowChannels = 0;
         for (ServerSentEventContextImpl<?> context : contexts) {
             count += context.channels.size();
+            slowChannels += context.slowChannels.getAndSet(0);
         }
         stats.put("sse_active_channels", count);
+        stats.put("sse_closed_slow_channels", slowChannels);
     }
 }
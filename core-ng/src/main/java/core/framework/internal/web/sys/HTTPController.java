@@ -0,0 +1,53 @@
+package core.framework.internal.web.sys;
+
+import core.framework.http.ContentType;
+import core.framework.internal.stat.Histogram;
+import core.framework.internal.web.HTTPServer;
+import core.framework.internal.web.http.IPAccessControl;
+import core.framework.json.JSON;
+import core.framework.web.Request;
+import core.framework.web.Response;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * expose latency distribution per route since start, and current connections
+ */
+public class HTTPController {
+    private final IPAccessControl accessControl = new IPAccessControl();
+    private final HTTPServer server;
+
+    public HTTPController(HTTPServer server) {
+        this.server = server;
+    }
+
+    public Response http(Request request) {
+        accessControl.validate(request.clientIP());
+        var response = new HTTPResponse();
+        HTTPServer.ConnectionStats connections = server.connectionStats();
+        response.activeConnections = connections.activeConnections();
+        response.bytesReceived = connections.bytesReceived();
+        response.bytesSent = connections.bytesSent();
+        response.http2ActiveStreams = server.httpHandler.metrics.http2Streams.get();
+        response.routes = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : server.httpHandler.metrics.routes.entrySet()) {
+            response.routes.add(route(entry.getKey(), entry.getValue().snapshot(false)));
+        }
+        response.routes.sort(Comparator.comparing(route -> route.action));
+        return Response.text(JSON.toJSON(response)).contentType(ContentType.APPLICATION_JSON);
+    }
+
+    private HTTPResponse.Route route(String action, Histogram.Snapshot snapshot) {
+        var route = new HTTPResponse.Route();
+        route.action = action;
+        route.count = snapshot.count;
+        route.p50 = snapshot.quantile(0.5) / 1000d;
+        route.p90 = snapshot.quantile(0.9) / 1000d;
+        route.p99 = snapshot.quantile(0.99) / 1000d;
+        route.p999 = snapshot.quantile(0.999) / 1000d;
+        route.max = snapshot.max() / 1000d;
+        return route;
+    }
+}
@@ -0,0 +1,35 @@
+package core.framework.internal.web.sys;
+
+import core.framework.api.json.Property;
+
+import java.util.List;
+
+public class HTTPResponse {
+    @Property(name = "active_connections")
+    public Long activeConnections;
+    @Property(name = "bytes_received")
+    public Long bytesReceived;
+    @Property(name = "bytes_sent")
+    public Long bytesSent;
+    @Property(name = "http2_active_streams")
+    public Integer http2ActiveStreams;
+    @Property(name = "routes")
+    public List<Route> routes;
+
+    public static class Route {
+        @Property(name = "action")
+        public String action;
+        @Property(name = "count")
+        public Long count;
+        @Property(name = "p50_ms")
+        public Double p50;
+        @Property(name = "p90_ms")
+        public Double p90;
+        @Property(name = "p99_ms")
+        public Double p99;
+        @Property(name = "p999_ms")
+        public Double p999;
+        @Property(name = "max_ms")
+        public Double max;
+    }
+}
@@ -0,0 +1,30 @@
+package core.framework.internal.web.sys;
+
+import core.framework.internal.web.http.IPAccessControl;
+import core.framework.util.Strings;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import core.framework.web.cache.ResponseCache;
+
+/**
+ * evict response cache, e.g. DELETE /_sys/response-cache?path=/product/1, without path to evict all
+ */
+public class ResponseCacheController {
+    private final ResponseCache cache;
+    private final IPAccessControl accessControl = new IPAccessControl();
+
+    public ResponseCacheController(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    public Response delete(Request request) {
+        accessControl.validate(request.clientIP());
+        String path = request.queryParams().get("path");
+        if (path == null) {
+            cache.evictAll();
+            return Response.text("all response cache evicted");
+        }
+        cache.evict(path);
+        return Response.text(Strings.format("response cache evicted, path={}", path));
+    }
+}
@@ -1,21 +1,106 @@
 package core.framework.module;
 
+import core.framework.internal.http.CircuitBreaker;
 import core.framework.internal.inject.InjectValidator;
+import core.framework.internal.module.ModuleContext;
+import core.framework.internal.web.service.DNSEndpointResolver;
+import core.framework.internal.web.service.Hedging;
+import core.framework.internal.web.service.LoadBalancer;
+import core.framework.internal.web.service.WebServiceClient;
+import core.framework.internal.web.service.WebServiceClientCache;
+import core.framework.util.ASCII;
 import core.framework.web.service.WebServiceClientInterceptor;
 import core.framework.web.service.WebServiceClientProxy;
 
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
 /**
  * @author neo
  */
 public final class APIClientConfig {     // returned from APIConfig, must be public to be called
+    private final ModuleContext context;
     private final WebServiceClientProxy client;
+    private final WebServiceClient webServiceClient;
+    private final Class<?> serviceInterface;
+    private final String serviceURL;
 
-    APIClientConfig(WebServiceClientProxy client) {
+    APIClientConfig(ModuleContext context, WebServiceClientProxy client, WebServiceClient webServiceClient, Class<?> serviceInterface, String serviceURL) {
+        this.context = context;
         this.client = client;
+        this.webServiceClient = webServiceClient;
+        this.serviceInterface = serviceInterface;
+        this.serviceURL = serviceURL;
     }
 
     public void intercept(WebServiceClientInterceptor interceptor) {
         new InjectValidator(interceptor).validate();
         client.intercept(interceptor);
     }
+
+    // balance requests across all addresses of service host, e.g. kube headless service, to connect pods directly without proxy hop,
+    // addresses are resolved every 30s, only supports http service url, as ip address in url breaks tls sni and certificate verification
+    public void loadBalance() {
+        var resolver = new DNSEndpointResolver(serviceURL);
+        loadBalance(new LoadBalancer(name(), resolver, resolver.host), Duration.ofSeconds(30));
+    }
+
+    // balance requests across given service urls, e.g. multiple instances of external service
+    public void loadBalance(List<String> serviceURLs) {
+        if (serviceURLs.isEmpty()) throw new Error("serviceURLs must not be empty");
+        var loadBalancer = new LoadBalancer(name(), () -> serviceURLs, null);
+        loadBalancer.refresh();
+        loadBalance(loadBalancer, null);
+    }
+
+    private void loadBalance(LoadBalancer loadBalancer, @Nullable Duration refreshInterval) {
+        if (webServiceClient.loadBalancer != null) throw new Error("load balance is already configured, serviceURL=" + serviceURL);
+        webServiceClient.loadBalancer = loadBalancer;
+        if (refreshInterval != null) {
+            context.startupHook.initialize.add(loadBalancer::refresh);
+            context.backgroundTask().scheduleWithFixedDelay(loadBalancer::refresh, refreshInterval);
+        }
+        context.collector.metrics.add(loadBalancer);
+    }
+
+    // for GET, send backup request if response doesn't arrive within p95 latency, hedges are capped to 10% of requests,
+    // works best with loadBalance(), so backup request likely goes to another endpoint
+    public void hedge() {
+        if (webServiceClient.hedging != null) throw new Error("hedge is already configured, serviceURL=" + serviceURL);
+        webServiceClient.hedging = new Hedging(Duration.ofMillis(10));
+    }
+
+    // use smile (binary json) instead of json if remote is core-ng service, to reduce serialization cost and body size,
+    // only response is negotiated by accept header, request body is always json, as old instances behind same url may not read smile request body
+    public void binary() {
+        webServiceClient.smile = true;
+    }
+
+    // fail fast with CIRCUIT_BREAKER_OPEN if recent calls mostly failed or were slow, probe to recover after 10s,
+    // to avoid piling up requests on unhealthy service
+    public void circuitBreaker(Duration slowCallThreshold) {
+        if (webServiceClient.circuitBreaker != null) throw new Error("circuit breaker is already configured, serviceURL=" + serviceURL);
+        var circuitBreaker = new CircuitBreaker(name(), slowCallThreshold, Duration.ofSeconds(10));
+        webServiceClient.circuitBreaker = circuitBreaker;
+        context.collector.metrics.add(circuitBreaker);
+    }
+
+    // for GET, share in-flight call among concurrent identical requests, and cache response by "Cache-Control: max-age" from server up to maxTTL,
+    // only use if response doesn't depend on caller
+    public void cache(Duration maxTTL) {
+        if (webServiceClient.cache != null) throw new Error("cache is already configured, serviceURL=" + serviceURL);
+        var cache = new WebServiceClientCache(name(), maxTTL.toMillis());
+        webServiceClient.cache = cache;
+        context.backgroundTask().scheduleWithFixedDelay(cache::cleanup, Duration.ofMinutes(1));
+        context.collector.metrics.add(cache);
+    }
+
+    // used in stat keys, e.g. api_client_{name}_requests, multiple service interfaces can be served by same url, so name includes both host and interface
+    String name() {
+        String host = URI.create(serviceURL).getHost();
+        if (host == null) throw new Error("invalid service url, url=" + serviceURL);
+        return ASCII.toLowerCase(host.replace('-', '_').replace('.', '_') + '_' + serviceInterface.getSimpleName());
+    }
 }
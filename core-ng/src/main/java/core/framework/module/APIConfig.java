@@ -82,18 +82,23 @@ public class APIConfig extends Config {
     }
 
     public <T> APIClientConfig client(Class<T> serviceInterface, String serviceURL, HTTPClient httpClient) {
-        T client = createClient(serviceInterface, serviceURL, httpClient);
+        var webServiceClient = webServiceClient(serviceInterface, serviceURL, httpClient);
+        T client = createWebServiceClient(serviceInterface, webServiceClient);
         context.beanFactory.bind(serviceInterface, null, client);
-        return new APIClientConfig((WebServiceClientProxy) client);
+        return new APIClientConfig(context, (WebServiceClientProxy) client, webServiceClient, serviceInterface, serviceURL);
     }
 
     public <T> T createClient(Class<T> serviceInterface, String serviceURL, HTTPClient httpClient) {
+        return createWebServiceClient(serviceInterface, webServiceClient(serviceInterface, serviceURL, httpClient));
+    }
+
+    private WebServiceClient webServiceClient(Class<?> serviceInterface, String serviceURL, HTTPClient httpClient) {
         logger.info("create web service client, interface={}, serviceURL={}", serviceInterface.getCanonicalName(), serviceURL);
         var validator = new WebServiceInterfaceValidator(serviceInterface, context.beanClassValidator);
         validator.requestBeanWriter = writer;
         validator.responseBeanReader = reader;
         validator.validate();
-        return createWebServiceClient(serviceInterface, new WebServiceClient(serviceURL, httpClient, writer, reader));
+        return new WebServiceClient(serviceURL, httpClient, writer, reader);
     }
 
     <T> T createWebServiceClient(Class<T> serviceInterface, WebServiceClient webServiceClient) {
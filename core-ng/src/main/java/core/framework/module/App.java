@@ -25,12 +25,20 @@ public abstract class App extends Module {
         boolean failed = false;
         try {
             logContext(actionLog);
+            long time = System.nanoTime();
             configure();
+            DynamicInstanceBuilder.stat(actionLog);     // classes are generated during configure
+            time = stage(actionLog, "configure", time);
             context.probe.check();    // readiness probe only needs to run on actual startup, not on test
+            time = stage(actionLog, "probe", time);
             logger.info("execute startup tasks");
+            context.startupHook.parallel = true;
             context.startupHook.initialize();
+            time = stage(actionLog, "initialize", time);
             context.startupHook.start();
+            time = stage(actionLog, "start", time);
             cleanup();
+            stage(actionLog, "cleanup", time);
             logger.info("startup completed, elapsed={}", actionLog.elapsed());
         } catch (Throwable e) {
             logger.error(Markers.errorCode("FAILED_TO_START"), "app failed to start, error={}", e.getMessage(), e);
@@ -43,6 +51,15 @@ public abstract class App extends Module {
         }
     }
 
+    // track elapsed time of each startup stage, as startup timeline in action log
+    private long stage(ActionLog actionLog, String stage, long startTime) {
+        long now = System.nanoTime();
+        long elapsed = now - startTime;
+        actionLog.stat("startup_" + stage + "_elapsed", elapsed);
+        logger.info("startup stage completed, stage={}, elapsed={}", stage, elapsed);
+        return now;
+    }
+
     void logContext(ActionLog actionLog) {
         actionLog.action("app:start");
     }
@@ -5,6 +5,7 @@ import core.framework.internal.inject.InjectValidator;
 import core.framework.internal.json.JSONClassValidator;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
+import core.framework.internal.web.HTTPHandler;
 import core.framework.internal.web.HTTPHost;
 import core.framework.internal.web.HTTPIOHandler;
 import core.framework.internal.web.bean.RequestBeanReader;
@@ -116,8 +117,19 @@ public final class HTTPConfig extends Config {
         context.httpServer.httpHandler.maxProcessTimeInNano = maxProcessTime.toNanos();
     }
 
+    // concurrency limit adapts between min and max by latency, requests beyond limit are queued or rejected with 503
+    public void concurrencyLimit(int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) throw new Error("invalid concurrency limit, minLimit=" + minLimit + ", maxLimit=" + maxLimit);
+        context.httpServer.httpHandler.limiter = HTTPHandler.concurrencyLimiter(minLimit, maxLimit);
+    }
+
     // to configure max body size for both regular post and multipart upload
     public void maxEntitySize(long maxEntitySize) {
         context.httpServerConfig.maxEntitySize = maxEntitySize;
     }
+
+    // body larger than max buffered size is not held in memory, application reads it thru request.bodyStream(), and json bean is parsed from stream
+    public void maxBufferedBodySize(long maxBufferedBodySize) {
+        context.httpServerConfig.maxBufferedBodySize = maxBufferedBodySize;
+    }
 }
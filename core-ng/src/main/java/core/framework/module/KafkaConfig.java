@@ -4,8 +4,12 @@ import core.framework.http.HTTPMethod;
 import core.framework.internal.inject.InjectValidator;
 import core.framework.internal.kafka.KafkaURI;
 import core.framework.internal.kafka.MessageListener;
+import core.framework.internal.kafka.MessageProcess;
 import core.framework.internal.kafka.MessageProducer;
 import core.framework.internal.kafka.MessagePublisherImpl;
+import core.framework.internal.kafka.MessageRetry;
+import core.framework.internal.kafka.RetryMetrics;
+import core.framework.internal.log.LogManager;
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
 import core.framework.internal.module.ShutdownHook;
@@ -31,6 +35,8 @@ public class KafkaConfig extends Config {
     private ModuleContext context;
     private KafkaURI uri;
     private MessageListener listener;
+    private MessageListener retryListener;
+    private RetryMetrics retryMetrics;
     private boolean handlerAdded;
     private int maxRequestSize = 1024 * 1024;   // default 1M, refer to org.apache.kafka.clients.producer.ProducerConfig.MAX_REQUEST_SIZE_CONFIG
     private KafkaController controller;
@@ -72,8 +78,12 @@ public class KafkaConfig extends Config {
     }
 
     <T> MessagePublisher<T> createMessagePublisher(String topic, Class<T> messageClass) {
+        return new MessagePublisherImpl<>(producer(), topic, messageClass);
+    }
+
+    private MessageProducer producer() {
         if (producer == null) {
-            var producer = new MessageProducer(uri, name, maxRequestSize);
+            var producer = createProducer(uri, name, maxRequestSize);
             context.collector.metrics.add(producer.producerMetrics);
             context.startupHook.initialize.add(producer::initialize);
             context.shutdownHook.add(ShutdownHook.STAGE_4, producer::close);
@@ -81,7 +91,15 @@ public class KafkaConfig extends Config {
             context.route(HTTPMethod.POST, managementPathPattern("/topic/:topic/key/:key/publish"), (LambdaController) controller::publish, true);
             this.producer = producer;
         }
-        return new MessagePublisherImpl<>(producer, topic, messageClass);
+        return producer;
+    }
+
+    MessageProducer createProducer(KafkaURI uri, String name, int maxRequestSize) {
+        return new MessageProducer(uri, name, maxRequestSize);
+    }
+
+    MessageListener createListener(KafkaURI uri, String name, LogManager logManager, long maxProcessTimeInNano) {
+        return new MessageListener(uri, name, logManager, maxProcessTimeInNano);
     }
 
     String managementPathPattern(String postfix) {
@@ -111,7 +129,7 @@ public class KafkaConfig extends Config {
     private MessageListener listener() {
         if (listener == null) {
             if (uri == null) throw new Error("kafka uri must be configured first, name=" + name);
-            var listener = new MessageListener(uri, name, context.logManager, context.shutdownHook.shutdownTimeoutInNano);
+            var listener = createListener(uri, name, context.logManager, context.shutdownHook.shutdownTimeoutInNano);
             context.startupHook.start.add(listener::start);
             context.shutdownHook.add(ShutdownHook.STAGE_0, timeout -> listener.shutdown());
             context.shutdownHook.add(ShutdownHook.STAGE_1, listener::awaitTermination);
@@ -123,17 +141,69 @@ public class KafkaConfig extends Config {
         return listener;
     }
 
+    // failed messages of topic are republished to "{topic}-retry-{attempt}" topics, and handled by retry listener after each delay,
+    // after all attempts, failed messages are published to "{topic}-dlq", all retry and dlq topics must be created in kafka
+    // only support MessageHandler, BulkMessageHandler should handle failure within batch
+    // retry listener pauses retry topic partition until message is due, each attempt has its own topic, so short delays are not blocked by long ones,
+    // poll keeps running while waiting, so delay is not limited by max poll interval, but retention of retry topic must be longer than delay
+    public void retry(String topic, Duration... delays) {
+        if (delays.length == 0) throw new Error("retry delays must not be empty, topic=" + topic);
+        for (Duration delay : delays) {
+            if (delay == null || delay.isNegative()) throw new Error("retry delay must not be negative, topic=" + topic + ", delay=" + delay);
+        }
+        MessageProcess<?> process = listener().processes.get(topic);
+        if (process == null) throw new Error("topic must be subscribed with MessageHandler before retry, topic=" + topic);
+        if (process.retry != null) throw new Error("retry is already configured, topic=" + topic);
+
+        if (retryMetrics == null) {
+            retryMetrics = new RetryMetrics(name);
+            context.collector.metrics.add(retryMetrics);
+        }
+        var retry = new MessageRetry(topic, delays, producer(), retryMetrics);
+        process.retry = retry;
+        MessageListener retryListener = retryListener();
+        for (int attempt = 1; attempt <= retry.attempts(); attempt++) {
+            retryListener.subscribeRetry(retry.retryTopic(attempt), process);
+        }
+        logger.info("retry, topic={}, delays={}, deadLetterTopic={}, name={}", topic, delays, retry.deadLetterTopic(), name);
+    }
+
+    private MessageListener retryListener() {
+        if (retryListener == null) {
+            var listener = createListener(uri, name == null ? "retry" : name + "-retry", context.logManager, context.shutdownHook.shutdownTimeoutInNano);
+            listener.groupId = listener().groupId;
+            context.startupHook.start.add(listener::start);
+            context.shutdownHook.add(ShutdownHook.STAGE_0, timeout -> listener.shutdown());
+            context.shutdownHook.add(ShutdownHook.STAGE_1, listener::awaitTermination);
+            context.collector.metrics.add(listener.consumerMetrics);
+            retryListener = listener;
+        }
+        return retryListener;
+    }
+
     // by default listener use AppName as consumer group
     // e.g. use Network.LOCAL_HOST_NAME to make every pod receives messages from topic, (local cache invalidation, web socket notification)
     // use "${service-name}-${label}" to allow same service to be deployed for mutlitenancy
     public void groupId(String groupId) {
         listener().groupId = groupId;
+        if (retryListener != null) retryListener.groupId = groupId;
     }
 
     public void concurrency(int concurrency) {
         listener().concurrency = concurrency;
     }
 
+    // shard messages by key hash into lanes, each lane processes its messages sequentially across polls,
+    // offsets are only committed after all previous messages of same partition are processed
+    // maxBacklog is max pending messages per lane, when lane is full, listener pauses partitions of overflowed messages until lane drains
+    public void lanes(int lanes, int maxBacklog) {
+        if (lanes <= 0) throw new Error("lanes must be greater than 0, value=" + lanes);
+        if (maxBacklog <= 0) throw new Error("max backlog must be greater than 0, value=" + maxBacklog);
+        MessageListener listener = listener();
+        listener.lanes = lanes;
+        listener.maxLaneBacklog = maxBacklog;
+    }
+
     // to increase max message size, both producer and broker sides have size limitation
     // for broker
     // use "--override message.max.bytes=size", refer to https://kafka.apache.org/documentation/#message.max.bytes
@@ -2,6 +2,9 @@ package core.framework.module;
 
 import core.framework.internal.module.Config;
 import core.framework.internal.module.ModuleContext;
+import core.framework.internal.module.ShutdownHook;
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.resource.PoolMetrics;
 import core.framework.internal.web.http.LimitRateInterceptor;
 import core.framework.internal.web.http.RateControl;
 
@@ -13,9 +16,11 @@ import java.time.Duration;
 public final class LimitRateConfig extends Config {
     private boolean rateControlGroupAdded;
     private RateControl rateControl;
+    private ModuleContext context;
 
     @Override
     protected void initialize(ModuleContext context, String name) {
+        this.context = context;
         rateControl = new RateControl();
         // save at max 5K group/ip combination per pod, about 800K memory, to adapt with more ips/cc attack, better defense with cloud infra based solution together
         maxEntries(5000);
@@ -36,6 +41,24 @@ public final class LimitRateConfig extends Config {
         rateControl.maxEntries(entries);
     }
 
+    // limit rate across all instances, with redis as shared state, falls back to local rate if redis is not available
+    public void redis(String host) {
+        redis(host, null);
+    }
+
+    public void redis(String host, String password) {
+        if (rateControl.redis != null) throw new Error("redis is already configured, please configure only once");
+        var redis = new RedisImpl("redis-rate");
+        redis.host(host);
+        redis.password(password);
+        redis.timeout(Duration.ofMillis(500));   // rate control is on request path, use shorter timeout to fall back quickly
+        context.probe.hostURIs.add(host);
+        context.shutdownHook.add(ShutdownHook.STAGE_6, timeout -> redis.close());
+        context.backgroundTask().scheduleWithFixedDelay(redis.pool::refresh, Duration.ofMinutes(5));
+        context.collector.metrics.add(new PoolMetrics(redis.pool));
+        rateControl.redis = redis;
+    }
+
     // maintain maxPermits at most, fill permits by fillRate per interval
     // e.g. add("group", 10, 5, Duration.ofSeconds(1)) keeps 10 permits at most, fills 5 permits every second
     // e.g. add("group", 20, 10, Duration.ofMinutes(5)) keeps 20 permits at most, fills 10 permits every 5 minutes
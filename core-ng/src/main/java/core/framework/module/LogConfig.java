@@ -2,6 +2,7 @@ package core.framework.module;
 
 import core.framework.internal.kafka.KafkaURI;
 import core.framework.internal.log.CollectStatTask;
+import core.framework.internal.log.TraceSampler;
 import core.framework.internal.log.appender.ConsoleAppender;
 import core.framework.internal.log.appender.KafkaAppender;
 import core.framework.internal.module.Config;
@@ -27,7 +28,14 @@ public class LogConfig extends Config {
     }
 
     public void appendToKafka(String uri) {
-        var appender = new KafkaAppender(new KafkaURI(uri));
+        appendToKafka(uri, 10_000);
+    }
+
+    // when queued messages reach 50% of maxQueueSize, drop trace of OK actions, reach 80%, drop OK actions and trace of WARN/ERROR actions,
+    // once queue is full, all new messages are dropped, so log forwarder never takes more heap than maxQueueSize messages
+    public void appendToKafka(String uri, int maxQueueSize) {
+        if (maxQueueSize <= 0) throw new Error("max queue size must be greater than 0, value=" + maxQueueSize);
+        var appender = new KafkaAppender(new KafkaURI(uri), maxQueueSize);
         appender(appender);
         context.startupHook.start.add(appender::start);
         context.shutdownHook.add(ShutdownHook.STAGE_7, appender::stop);
@@ -40,6 +48,36 @@ public class LogConfig extends Config {
         context.backgroundTask().scheduleWithFixedDelay(new CollectStatTask(appender, context.collector), Duration.ofSeconds(10));
     }
 
+    // flush trace log of ratio of all actions, e.g. 0.001 to trace 0.1% actions
+    public void sampleTrace(double rate) {
+        if (rate <= 0 || rate > 1) throw new Error("rate must be in (0, 1], rate=" + rate);
+        sampler().rate = rate;
+    }
+
+    // flush trace log of ratio of OK actions whose elapsed time is longer than threshold
+    public void sampleSlowTrace(Duration threshold, double rate) {
+        if (rate <= 0 || rate > 1) throw new Error("rate must be in (0, 1], rate=" + rate);
+        TraceSampler sampler = sampler();
+        sampler.slowThresholdInNano = threshold.toNanos();
+        sampler.slowRate = rate;
+    }
+
+    // flush trace log of actions whose elapsed time is above p99 of same action, p99 is estimated online per action
+    public void sampleOutlierTrace() {
+        sampler().outliers = true;
+    }
+
+    // only hold DEBUG events for head sampled actions or actions with trace turned on, to reduce allocation of high throughput services,
+    // trace of other actions (WARN/ERROR or tail sampled) only contains INFO and above
+    public void discardUnsampledDebugTrace() {
+        sampler().discardDebug = true;
+    }
+
+    private TraceSampler sampler() {
+        if (context.logManager.sampler == null) context.logManager.sampler = new TraceSampler();
+        return context.logManager.sampler;
+    }
+
     public void maskFields(String... fields) {
         context.logManager.maskFields(fields);
     }
@@ -47,7 +47,7 @@ public class ServerSentEventConfig extends Config {
         context.beanClassValidator.validate(eventClass);
         context.apiController.beanClasses.add(eventClass);
 
-        var sseContext = new ServerSentEventContextImpl<T>();
+        var sseContext = new ServerSentEventContextImpl<>(eventClass);
         context.httpServer.sseHandler.add(method, path, eventClass, listener, sseContext);
         context.beanFactory.bind(Types.generic(ServerSentEventContext.class, eventClass), null, sseContext);
         metrics.contexts.add(sseContext);
@@ -68,10 +68,10 @@ public class SiteConfig extends Config {
 
         StaticContentController controller;
         if (Files.isDirectory(contentPath)) {
-            controller = new StaticDirectoryController(contentPath);
+            controller = new StaticDirectoryController(contentPath, !context.httpServer.siteManager.webDirectory.localEnv);
             context.route(HTTPMethod.GET, path + "/:path(*)", controller, true);
         } else {
-            controller = new StaticFileController(contentPath);
+            controller = new StaticFileController(contentPath, !context.httpServer.siteManager.webDirectory.localEnv);
             context.route(HTTPMethod.GET, path, controller, true);
         }
         return new StaticContentConfig(controller);
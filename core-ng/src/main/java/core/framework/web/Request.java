@@ -2,6 +2,8 @@ package core.framework.web;
 
 import core.framework.http.HTTPMethod;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,6 +33,11 @@ public interface Request {
 
     Optional<byte[]> body();
 
+    // large body (exceeds http().maxBufferedBodySize()) is not held in memory, stream can only be consumed once
+    default Optional<InputStream> bodyStream() {
+        return body().map(ByteArrayInputStream::new);
+    }
+
     <T> T bean(Class<T> beanClass);
 
     String clientIP();
@@ -7,12 +7,14 @@ import core.framework.internal.web.response.BeanBody;
 import core.framework.internal.web.response.ByteArrayBody;
 import core.framework.internal.web.response.FileBody;
 import core.framework.internal.web.response.ResponseImpl;
+import core.framework.internal.web.response.StreamBody;
 import core.framework.internal.web.response.TemplateBody;
 import core.framework.internal.web.response.TextBody;
 
 import javax.annotation.Nullable;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author neo
@@ -29,6 +31,13 @@ public interface Response {
                 .contentType(ContentType.APPLICATION_JSON);
     }
 
+    // write beans as json array incrementally, stream will be closed after response is sent, bean class must be registered by http().bean()
+    static Response stream(Stream<?> beans) {
+        if (beans == null) throw new Error("beans must not be null");
+        return new ResponseImpl(new StreamBody(beans))
+                .contentType(ContentType.APPLICATION_JSON);
+    }
+
     static Response html(String templatePath, Object model) {
         return html(templatePath, model, null);
     }
@@ -0,0 +1,23 @@
+package core.framework.web.cache;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * cache encoded response of GET controller in local memory, only 200 response without cookie is cached,
+ * cached response carries ETag, and returns 304 if request has matching If-None-Match
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface CacheResponse {
+    int expirationInSeconds();
+
+    String[] queryParams() default {};      // query params to vary cache key by, empty means all query params
+
+    String[] headers() default {};          // request headers to vary cache key by, e.g. accept-language
+
+    boolean gzip() default false;           // keep gzipped body in cache, to serve client accepts gzip without compressing on every request
+}
@@ -0,0 +1,10 @@
+package core.framework.web.cache;
+
+/**
+ * evict cached responses of @CacheResponse controllers, e.g. when underlying data is updated
+ */
+public interface ResponseCache {
+    void evict(String path);    // evict all variants of path, path is actual request path, e.g. /product/1
+
+    void evictAll();
+}
@@ -0,0 +1,28 @@
+package core.framework.web.exception;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.api.web.service.ResponseStatus;
+import core.framework.log.ErrorCode;
+import core.framework.log.Severity;
+
+import java.io.Serial;
+
+@ResponseStatus(HTTPStatus.SERVICE_UNAVAILABLE)
+public final class ServiceUnavailableException extends RuntimeException implements ErrorCode {
+    @Serial
+    private static final long serialVersionUID = -2739312047187693560L;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.WARN;
+    }
+
+    @Override
+    public String errorCode() {
+        return "SERVICE_UNAVAILABLE";
+    }
+}
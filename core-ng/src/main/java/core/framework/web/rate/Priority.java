@@ -0,0 +1,21 @@
+package core.framework.web.rate;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * under overload, LOW priority requests are rejected first, HIGH priority requests can use all concurrency
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Priority {
+    Level value();
+
+    enum Level {
+        HIGH, NORMAL, LOW
+    }
+}
@@ -6,4 +6,26 @@ public interface ServerSentEventContext<T> {
     List<Channel<T>> all();
 
     List<Channel<T>> group(String name);
+
+    // send event to all channels, return number of channels queued,
+    // framework implementation encodes event once and queues to all channels, with one write task per io thread
+    default int broadcast(String id, T event) {
+        return send(all(), id, event);
+    }
+
+    default int broadcast(T event) {
+        return broadcast(null, event);
+    }
+
+    default int broadcast(String group, String id, T event) {
+        return send(group(group), id, event);
+    }
+
+    private int send(List<Channel<T>> channels, String id, T event) {
+        int count = 0;
+        for (Channel<T> channel : channels) {
+            if (channel.send(id, event)) count++;
+        }
+        return count;
+    }
 }
@@ -0,0 +1,66 @@
+package core.framework.internal.asm;
+
+import core.framework.util.Files;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author neo
+ */
+class GeneratedClassCacheTest {
+    private Path dir;
+    private GeneratedClassCache cache;
+
+    @BeforeEach
+    void createGeneratedClassCache() {
+        dir = Files.tempDir();
+        cache = new GeneratedClassCache(dir.resolve("classes"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        Files.deleteDir(dir);
+    }
+
+    @Test
+    void key() {
+        String key = cache.key("core.framework.internal.asm.Test", "source");
+        assertThat(key).hasSize(64)
+            .isEqualTo(cache.key("core.framework.internal.asm.Test", "source"))
+            .isNotEqualTo(cache.key("core.framework.internal.asm.Test", "changedSource"))
+            .isNotEqualTo(cache.key("core.framework.internal.asm.Test$name", "source"));
+    }
+
+    @Test
+    void className() {
+        String key = cache.key("core.framework.internal.asm.Test", "source");
+        assertThat(cache.className("core.framework.internal.asm.Test", key)).isEqualTo("core.framework.internal.asm.Test$" + key.substring(0, 16));
+        assertThat(cache.className("core.framework.internal.asm.Test", key)).isNull();
+    }
+
+    @Test
+    void get() {
+        String key = cache.key("core.framework.internal.asm.Test", "source");
+        assertThat(cache.get(key, getClass().getClassLoader())).isNull();
+
+        byte[] bytes = {1, 2, 3};
+        cache.put(key, bytes, List.of("java.lang.String", "core.framework.internal.asm.CodeBuilder", "core.framework.internal.asm.Test$0"), getClass().getClassLoader());
+        assertThat(cache.get(key, getClass().getClassLoader())).isEqualTo(bytes);
+        assertThat(cache.fingerprints).containsKey("core.framework.internal.asm.CodeBuilder")
+            .containsEntry("core.framework.internal.asm.Test$0", "")
+            .doesNotContainKey("java.lang.String");
+
+        var restartedCache = new GeneratedClassCache(dir.resolve("classes"));
+        assertThat(restartedCache.get(key, getClass().getClassLoader())).isEqualTo(bytes);
+
+        restartedCache = new GeneratedClassCache(dir.resolve("classes"));
+        restartedCache.fingerprints.put("core.framework.internal.asm.CodeBuilder", "changed");
+        assertThat(restartedCache.get(key, getClass().getClassLoader())).isNull();
+    }
+}
@@ -1,10 +1,15 @@
 package core.framework.internal.http;
 
 import core.framework.http.ContentType;
+import core.framework.internal.json.JSONMapper;
 import core.framework.internal.log.filter.BytesLogParam;
 import core.framework.util.Strings;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -23,5 +28,19 @@ class BodyLogParamTest {
                 .isEqualTo("byte[5]");
         assertThat(BodyLogParam.of(new byte[10], ContentType.IMAGE_PNG))
                 .isEqualTo("byte[10]");
+        assertThat(BodyLogParam.of(new byte[10], ContentType.APPLICATION_SMILE))
+                .isInstanceOf(SmileBodyLogParam.class);
+    }
+
+    @Test
+    void smileBodyParam() throws IOException {
+        byte[] body = JSONMapper.SMILE_MAPPER.writeValueAsBytes(Map.of("password", "secret"));
+        var builder = new StringBuilder();
+        new SmileBodyLogParam(body, body.length).append(builder, Set.of("password"), 1000);
+        assertThat(builder.toString()).isEqualTo("{\"password\":\"******\"}");
+
+        builder = new StringBuilder();
+        new SmileBodyLogParam(body, 3).append(builder, Set.of(), 1000);
+        assertThat(builder.toString()).isEqualTo("byte[3]");
     }
 }
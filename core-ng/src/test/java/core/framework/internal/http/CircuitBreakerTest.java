@@ -0,0 +1,133 @@
+package core.framework.internal.http;
+
+import core.framework.internal.stat.Stats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void createCircuitBreaker() {
+        circuitBreaker = new CircuitBreaker("test", Duration.ofSeconds(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void openWithFailures() {
+        for (int i = 0; i < 19; i++) {
+            assertThat(circuitBreaker.allow()).isTrue();
+            circuitBreaker.record(100, true);
+        }
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        circuitBreaker.record(100, true);
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.allow()).isFalse();
+    }
+
+    @Test
+    void openWithSlowCalls() {
+        long slow = Duration.ofSeconds(2).toNanos();
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(slow, false);
+        }
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void keepClosedWithinThreshold() {
+        for (int i = 0; i < 200; i++) {
+            circuitBreaker.record(100, i % 3 == 0);
+        }
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpen() {
+        circuitBreaker = new CircuitBreaker("test", Duration.ofSeconds(1), Duration.ZERO);
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(100, true);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(circuitBreaker.allow()).isTrue();
+        }
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.allow()).isFalse();      // all probes are in flight
+
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.record(100, false);
+        }
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cancelProbe() {
+        circuitBreaker = new CircuitBreaker("test", Duration.ofSeconds(1), Duration.ZERO);
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(100, true);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(circuitBreaker.allow()).isTrue();
+        }
+        assertThat(circuitBreaker.allow()).isFalse();
+        circuitBreaker.cancel();
+        assertThat(circuitBreaker.allow()).isTrue();
+    }
+
+    @Test
+    void timeoutProbes() {
+        circuitBreaker = new CircuitBreaker("test", Duration.ofSeconds(1), Duration.ZERO);
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(100, true);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(circuitBreaker.allow()).isTrue();
+        }
+        circuitBreaker.record(100, false);
+        assertThat(circuitBreaker.allow()).isFalse();      // 4 probes are lost without outcome
+
+        circuitBreaker.probeTimeoutInNano = 0;
+        for (int i = 0; i < 4; i++) {
+            assertThat(circuitBreaker.allow()).isTrue();
+            circuitBreaker.record(100, false);
+        }
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void idle() {
+        long now = System.nanoTime();
+        circuitBreaker.allow();
+        assertThat(circuitBreaker.idle(now, Duration.ofMinutes(10).toNanos())).isFalse();
+        assertThat(circuitBreaker.idle(now + Duration.ofMinutes(11).toNanos(), Duration.ofMinutes(10).toNanos())).isTrue();
+    }
+
+    @Test
+    void reopenWithFailedProbe() {
+        circuitBreaker = new CircuitBreaker("test", Duration.ofSeconds(1), Duration.ZERO);
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(100, true);
+        }
+        assertThat(circuitBreaker.allow()).isTrue();
+        circuitBreaker.record(100, true);
+        assertThat(circuitBreaker.state).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void collect() {
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(100, true);
+        }
+        circuitBreaker.allow();
+
+        var stats = new Stats();
+        circuitBreaker.collect(stats);
+        assertThat(stats.stats)
+            .containsEntry("circuit_breaker_test_state", (double) CircuitBreaker.State.OPEN.ordinal())
+            .containsEntry("circuit_breaker_test_rejected", 1.0);
+    }
+}
@@ -0,0 +1,131 @@
+package core.framework.internal.http;
+
+import core.framework.internal.stat.Stats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DNSCacheTest {
+    private final List<List<InetAddress>> results = new ArrayList<>();   // null means failure
+    private DNSCache dns;
+    private Instant now;
+    private int lookups;
+
+    @BeforeEach
+    void createDNSCache() {
+        now = Instant.parse("2025-07-01T00:00:00Z");
+        dns = new DNSCache("test", host -> {
+            lookups++;
+            List<InetAddress> addresses = results.removeFirst();
+            if (addresses == null) throw new UnknownHostException(host);
+            return addresses;
+        }, Runnable::run, Duration.ofSeconds(30), new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.of("UTC");
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        });
+    }
+
+    @Test
+    void lookup() throws UnknownHostException {
+        results.add(List.of(address(1)));
+        assertThat(dns.lookup("service")).containsExactly(address(1));
+        assertThat(dns.lookup("service")).containsExactly(address(1));
+        assertThat(lookups).isEqualTo(1);
+    }
+
+    @Test
+    void refresh() throws UnknownHostException {
+        results.add(List.of(address(1)));
+        dns.lookup("service");
+
+        now = now.plusSeconds(20);
+        results.add(List.of(address(2)));
+        assertThat(dns.lookup("service")).containsExactly(address(1));  // refresh in background, return current addresses
+        assertThat(dns.lookup("service")).containsExactly(address(2));
+        assertThat(lookups).isEqualTo(2);
+    }
+
+    @Test
+    void refreshWithFailure() throws UnknownHostException {
+        results.add(List.of(address(1)));
+        dns.lookup("service");
+
+        now = now.plusSeconds(60);
+        results.add(null);
+        assertThat(dns.lookup("service")).containsExactly(address(1));
+        assertThat(dns.lookup("service")).containsExactly(address(1));  // retry after interval
+        assertThat(lookups).isEqualTo(2);
+
+        now = now.plus(Duration.ofHours(2));
+        results.add(null);
+        assertThatThrownBy(() -> dns.lookup("service"))
+            .isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    void rotateAddresses() throws UnknownHostException {
+        results.add(List.of(address(1), address(2), address(3)));
+        assertThat(dns.lookup("service")).containsExactly(address(1), address(2), address(3));
+        assertThat(dns.lookup("service")).containsExactly(address(2), address(3), address(1));
+        assertThat(dns.lookup("service")).containsExactly(address(3), address(1), address(2));
+    }
+
+    @Test
+    void collect() {
+        results.add(null);
+        assertThatThrownBy(() -> dns.lookup("service"))
+            .isInstanceOf(UnknownHostException.class);
+
+        var stats = new Stats();
+        dns.collect(stats);
+        assertThat(stats.stats)
+            .containsEntry("http_client_test_dns_hosts", 0.0)
+            .containsEntry("http_client_test_dns_failures", 1.0)
+            .containsKey("http_client_test_dns_max_resolve_elapsed");
+    }
+
+    @Test
+    void removeIdleHosts() throws UnknownHostException {
+        results.add(List.of(address(1)));
+        results.add(List.of(address(2)));
+        dns.lookup("service1");
+        dns.lookup("service2");
+
+        now = now.plus(Duration.ofMinutes(6));
+        results.add(List.of(address(2)));
+        dns.lookup("service2");     // trigger background refresh of service2
+
+        now = now.plus(Duration.ofMinutes(6));
+        var stats = new Stats();
+        dns.collect(stats);
+        assertThat(dns.entries).containsOnlyKeys("service2");
+        assertThat(stats.stats).containsEntry("http_client_test_dns_hosts", 1.0);
+    }
+
+    private InetAddress address(int index) throws UnknownHostException {
+        return InetAddress.getByAddress(new byte[]{10, 0, 0, (byte) index});
+    }
+}
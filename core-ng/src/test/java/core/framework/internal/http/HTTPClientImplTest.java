@@ -9,6 +9,7 @@ import core.framework.http.HTTPRequest;
 import core.framework.http.HTTPResponse;
 import core.framework.util.Strings;
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -23,11 +24,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -103,6 +108,13 @@ class HTTPClientImplTest {
             .isEqualTo(ContentType.APPLICATION_FORM_URLENCODED.mediaType);
     }
 
+    @Test
+    void circuitBreakerName() {
+        assertThat(httpClient.circuitBreakerName("10.0.0.1")).isEqualTo("10_0_0_1");
+        assertThat(httpClient.circuitBreakerName("Order-Service")).isEqualTo("order_service");
+        assertThat(httpClient.circuitBreakerName("::1")).isEqualTo("___1");
+    }
+
     @Test
     void slowOperationThresholdInNanos() {
         var request = new HTTPRequest(HTTPMethod.POST, "http://localhost/uri");
@@ -127,6 +139,95 @@ class HTTPClientImplTest {
         assertThat(response.statusCode).isEqualTo(200);
     }
 
+    @Test
+    void executeAsync() {
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onResponse(call, response(200));
+            return null;
+        }).when(call).enqueue(any());
+
+        CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+        assertThat(future.join().statusCode).isEqualTo(200);
+    }
+
+    @Test
+    void executeAsyncWithFailure() {
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onFailure(call, new IOException("connection refused"));
+            return null;
+        }).when(call).enqueue(any());
+
+        CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+            .hasCauseInstanceOf(HTTPClientException.class)
+            .hasMessageContaining("connection refused");
+    }
+
+    @Test
+    void cancelAsync() {
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+
+        CompletableFuture<HTTPResponse> future = httpClient.executeAsync(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"));
+        future.cancel(false);
+        verify(call).cancel();
+    }
+
+    @Test
+    void executeAll() {
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onResponse(call, response(200));
+            return null;
+        }).when(call).enqueue(any());
+
+        List<HTTPResponse> responses = httpClient.executeAll(List.of(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri1"), new HTTPRequest(HTTPMethod.GET, "http://localhost/uri2")));
+        assertThat(responses).hasSize(2).allSatisfy(response -> assertThat(response.statusCode).isEqualTo(200));
+    }
+
+    @Test
+    void executeAllWithFailure() {
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(call);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onFailure(call, new IOException("connection refused"));
+            return null;
+        }).when(call).enqueue(any());
+
+        assertThatThrownBy(() -> httpClient.executeAll(List.of(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri"))))
+            .isInstanceOf(HTTPClientException.class)
+            .hasMessageContaining("connection refused");
+    }
+
+    @Test
+    void executeAllFailFast() {
+        Call failedCall = mock(Call.class);
+        Call pendingCall = mock(Call.class);
+        when(okHttpClient.newCall(any())).thenReturn(failedCall, pendingCall);
+        doAnswer(invocation -> {
+            Callback callback = invocation.getArgument(0);
+            callback.onFailure(failedCall, new IOException("connection refused"));
+            return null;
+        }).when(failedCall).enqueue(any());
+
+        assertThatThrownBy(() -> httpClient.executeAll(List.of(new HTTPRequest(HTTPMethod.GET, "http://localhost/uri1"), new HTTPRequest(HTTPMethod.GET, "http://localhost/uri2"))))
+            .isInstanceOf(HTTPClientException.class)
+            .hasMessageContaining("connection refused")
+            .hasFieldOrPropertyWithValue("errorCode", "HTTP_REQUEST_FAILED")
+            .cause().isInstanceOf(IOException.class);
+        verify(pendingCall).cancel();
+    }
+
     @Test
     void sse() throws IOException {
         Response httpResponse = new Response.Builder().request(new Request.Builder().url("http://localhost/sse").build())
@@ -150,4 +251,12 @@ class HTTPClientImplTest {
             }
         }
     }
+
+    private Response response(int statusCode) {
+        return new Response.Builder().request(new Request.Builder().url("http://localhost/uri").build())
+            .protocol(Protocol.HTTP_1_1).code(statusCode).message("OK")
+            .header("content-type", "text/html")
+            .body(ResponseBody.create(Strings.bytes("<html/>"), MediaType.get("text/html")))
+            .build();
+    }
 }
@@ -0,0 +1,27 @@
+package core.framework.internal.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+    @Test
+    void withdraw() {
+        var budget = new RetryBudget(0.5, 2);
+        assertThat(budget.withdraw()).isTrue();
+        assertThat(budget.withdraw()).isTrue();
+        assertThat(budget.withdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.withdraw()).isFalse();
+        budget.deposit();
+        assertThat(budget.withdraw()).isTrue();
+    }
+
+    @Test
+    void deposit() {
+        var budget = new RetryBudget(0.5, 2);
+        budget.deposit();
+        assertThat(budget.tokens()).isEqualTo(2);
+    }
+}
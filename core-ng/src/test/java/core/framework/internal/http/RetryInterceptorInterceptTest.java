@@ -109,7 +109,7 @@ class RetryInterceptorInterceptTest {
 
     static class TestRetryInterceptor extends RetryInterceptor {
         TestRetryInterceptor() {
-            super(3, Duration.ofMillis(500));
+            super(3, Duration.ofMillis(500), new RetryBudget(0.1, 100));
         }
 
         @Override
@@ -28,7 +28,7 @@ class RetryInterceptorTest {
 
     @BeforeEach
     void createRetryInterceptor() {
-        interceptor = new RetryInterceptor(3, Duration.ofMillis(500));
+        interceptor = new RetryInterceptor(3, Duration.ofMillis(500), new RetryBudget(0.1, 100));
     }
 
     /*
@@ -298,6 +298,31 @@ class RetryInterceptorTest {
         assertThat(interceptor.shouldRetry(HTTPStatus.TOO_MANY_REQUESTS.code, 3)).isFalse();
     }
 
+    @Test
+    void jitter() {
+        assertThat(interceptor.jitter(Duration.ofMillis(1000))).isBetween(Duration.ofMillis(500), Duration.ofMillis(1000));
+    }
+
+    @Test
+    void shouldRetryWithinBudget() {
+        var interceptor = new RetryInterceptor(3, Duration.ofMillis(500), new RetryBudget(0.1, 1));
+        assertThat(interceptor.shouldRetry(HTTPStatus.SERVICE_UNAVAILABLE.code, 1)).isTrue();
+        assertThat(interceptor.shouldRetry(HTTPStatus.SERVICE_UNAVAILABLE.code, 1)).isFalse();
+    }
+
+    @Test
+    void withinDeadline() {
+        var logManager = new LogManager();
+        ActionLog actionLog = logManager.begin("begin", null);
+        actionLog.warningContext.maxProcessTimeInNano(Duration.ofSeconds(10).toNanos());
+        actionLog.deadline(Duration.ofMillis(800).toNanos());
+
+        assertThat(interceptor.withinMaxProcessTime(1)).isTrue();
+        assertThat(interceptor.withinMaxProcessTime(2)).isFalse();
+
+        logManager.end("end");
+    }
+
     @Test
     void uri() {
         var request = new Request.Builder().url("http://localhost/path?query=value").build();
@@ -0,0 +1,102 @@
+package core.framework.internal.kafka;
+
+import core.framework.util.Strings;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageLanesTest {
+    @Test
+    void lane() {
+        var lanes = new MessageLanes("test", 4, 10, (topic, process, message) -> {
+        });
+        assertThat(lanes.lane("key")).isEqualTo(lanes.lane("key"));
+        assertThat(lanes.lane(null)).isEqualTo(0);
+        assertThat(lanes.lane(null)).isEqualTo(1);
+    }
+
+    @Test
+    void dispatch() throws InterruptedException {
+        var tracker = new OffsetTracker();
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        var lanes = new MessageLanes("test", 2, 10, (topic, process, message) -> processed.add(message.offset));
+        for (int i = 0; i < 5; i++) {
+            lanes.dispatch("topic", null, message(tracker, i));
+        }
+        lanes.shutdown();
+
+        assertThat(processed).containsExactly(0L, 1L, 2L, 3L, 4L);  // same key goes to same lane
+        assertThat(tracker.committableOffsets()).containsEntry(new TopicPartition("topic", 0), new OffsetAndMetadata(5));
+    }
+
+    @Test
+    void overflow() throws InterruptedException {
+        var tracker = new OffsetTracker();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        var lanes = new MessageLanes("test", 1, 1, (topic, process, message) -> {
+            started.countDown();
+            await(release);
+            processed.add(message.offset);
+        });
+        lanes.dispatch("topic", null, message(tracker, 0));
+        await(started);     // first message is being processed, lane queue is empty
+        lanes.dispatch("topic", null, message(tracker, 1));
+        lanes.dispatch("topic", null, message(tracker, 2));     // lane is full, not block
+
+        var partition = new TopicPartition("topic", 0);
+        assertThat(lanes.flush()).containsExactly(partition);
+        assertThat(lanes.backlog()).isEqualTo(2);
+
+        release.countDown();
+        lanes.shutdown();
+        assertThat(processed).containsExactly(0L, 1L, 2L);
+        assertThat(lanes.flush()).isEmpty();
+        assertThat(tracker.committableOffsets()).containsEntry(partition, new OffsetAndMetadata(3));
+    }
+
+    @Test
+    void cancel() throws InterruptedException {
+        var tracker = new OffsetTracker();
+        var release = new CountDownLatch(1);
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        var lanes = new MessageLanes("test", 1, 10, (topic, process, message) -> {
+            await(release);
+            processed.add(message.offset);
+        });
+        for (int i = 0; i < 3; i++) {
+            lanes.dispatch("topic", null, message(tracker, i));
+        }
+        var partition = new TopicPartition("topic", 0);
+        lanes.cancel(List.of(partition));
+        tracker.remove(List.of(partition));
+
+        release.countDown();
+        lanes.shutdown();
+        assertThat(processed).hasSizeLessThanOrEqualTo(1);  // only message being processed when revoked
+        assertThat(tracker.committableOffsets()).isEmpty();
+    }
+
+    private KafkaMessage message(OffsetTracker tracker, long offset) {
+        var message = new KafkaMessage(new ConsumerRecord<>("topic", 0, offset, "key", Strings.bytes("{}")));
+        message.trackedOffsets = tracker.add("topic", 0, offset);
+        return message;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new Error("timeout");
+        } catch (InterruptedException e) {
+            throw new Error(e);
+        }
+    }
+}
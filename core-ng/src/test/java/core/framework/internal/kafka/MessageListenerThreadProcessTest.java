@@ -20,6 +20,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +60,24 @@ class MessageListenerThreadProcessTest {
         thread.awaitTermination(1000);
     }
 
+    @Test
+    void pollWithDelayedRetry() {
+        var dueRecord = new ConsumerRecord<>("topic1", 1, 1, "key1", Strings.bytes("{}"));
+        dueRecord.headers().add(KafkaMessage.HEADER_RETRY_AT, Strings.bytes(String.valueOf(System.currentTimeMillis() - 1000)));
+        var delayedRecord = new ConsumerRecord<>("topic1", 1, 2, "key2", Strings.bytes("{}"));
+        delayedRecord.headers().add(KafkaMessage.HEADER_RETRY_AT, Strings.bytes(String.valueOf(System.currentTimeMillis() + 60_000)));
+        var nextRecord = new ConsumerRecord<>("topic1", 1, 3, "key3", Strings.bytes("{}"));
+        when(consumer.poll(any())).thenReturn(new ConsumerRecords<>(Map.of(topic("topic1"), List.of(dueRecord, delayedRecord, nextRecord)), Map.of()));
+
+        List<KafkaMessages> messages = new ArrayList<>(thread.poll());
+        assertThat(messages).hasSize(1);
+        assertThat(messages.getFirst().count).isEqualTo(1);
+        assertThat(messages.getFirst().ordered).containsOnlyKeys("key1");
+
+        verify(consumer).pause(List.of(topic("topic1")));
+        verify(consumer).seek(topic("topic1"), 2);
+    }
+
     ConsumerRecord<String, byte[]> record(String topic, String key) {
         return new ConsumerRecord<>(topic, 1, 1, key, Strings.bytes("{}"));
     }
@@ -0,0 +1,73 @@
+package core.framework.internal.kafka;
+
+import core.framework.internal.stat.Stats;
+import core.framework.util.Strings;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MessageRetryTest {
+    @Mock
+    MessageProducer producer;
+    private MessageRetry retry;
+    private RetryMetrics metrics;
+
+    @BeforeEach
+    void createMessageRetry() {
+        metrics = new RetryMetrics(null);
+        retry = new MessageRetry("topic", new Duration[]{Duration.ofSeconds(10), Duration.ofMinutes(1)}, producer, metrics);
+    }
+
+    @Test
+    void topics() {
+        assertThat(retry.attempts()).isEqualTo(2);
+        assertThat(retry.retryTopic(1)).isEqualTo("topic-retry-1");
+        assertThat(retry.deadLetterTopic()).isEqualTo("topic-dlq");
+    }
+
+    @Test
+    void retry() {
+        var record = new ConsumerRecord<>("topic", 0, 1, "key", Strings.bytes("{}"));
+        record.headers().add(KafkaMessage.HEADER_CORRELATION_ID, Strings.bytes("correlationId"));
+        retry.retry(new KafkaMessage(record));
+
+        verify(producer).send(argThat(producerRecord -> {
+            assertThat(producerRecord.topic()).isEqualTo("topic-retry-1");
+            assertThat(new String(producerRecord.key(), UTF_8)).isEqualTo("key");
+            assertThat(new String(producerRecord.headers().lastHeader(KafkaMessage.HEADER_CORRELATION_ID).value(), UTF_8)).isEqualTo("correlationId");
+            assertThat(new String(producerRecord.headers().lastHeader(KafkaMessage.HEADER_RETRY_ATTEMPT).value(), UTF_8)).isEqualTo("1");
+            assertThat(producerRecord.headers().lastHeader(KafkaMessage.HEADER_RETRY_AT)).isNotNull();
+            return true;
+        }));
+
+        var stats = new Stats();
+        metrics.collect(stats);
+        assertThat(stats.stats).containsEntry("kafka_consumer_retry_1", 1.0).containsEntry("kafka_consumer_dead_letter", 0.0);
+    }
+
+    @Test
+    void deadLetter() {
+        var record = new ConsumerRecord<>("topic-retry-2", 0, 1, "key", Strings.bytes("{}"));
+        record.headers().add(KafkaMessage.HEADER_RETRY_ATTEMPT, Strings.bytes("2"));
+        record.headers().add(KafkaMessage.HEADER_RETRY_AT, Strings.bytes("1000"));
+        var message = new KafkaMessage(record);
+        assertThat(message.retryAttempt).isEqualTo(2);
+        assertThat(message.retryAt).isEqualTo(1000);
+
+        retry.retry(message);
+
+        verify(producer).send(argThat(producerRecord -> "topic-dlq".equals(producerRecord.topic())
+                                                        && producerRecord.headers().lastHeader(KafkaMessage.HEADER_RETRY_AT) == null));
+    }
+}
@@ -0,0 +1,54 @@
+package core.framework.internal.kafka;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffsetTrackerTest {
+    private OffsetTracker tracker;
+
+    @BeforeEach
+    void createOffsetTracker() {
+        tracker = new OffsetTracker();
+    }
+
+    @Test
+    void committableOffsets() {
+        tracker.add("topic", 0, 1);
+        tracker.add("topic", 0, 2);
+        OffsetTracker.PartitionOffsets offsets = tracker.add("topic", 0, 3);
+        assertThat(tracker.committableOffsets()).containsEntry(new TopicPartition("topic", 0), new OffsetAndMetadata(1));
+
+        offsets.complete(2);
+        assertThat(tracker.committableOffsets()).isEmpty();
+
+        offsets.complete(1);
+        assertThat(tracker.committableOffsets()).containsEntry(new TopicPartition("topic", 0), new OffsetAndMetadata(3));
+
+        offsets.complete(3);
+        assertThat(tracker.committableOffsets()).containsEntry(new TopicPartition("topic", 0), new OffsetAndMetadata(4));
+        assertThat(tracker.committableOffsets()).isEmpty();
+    }
+
+    @Test
+    void remove() {
+        OffsetTracker.PartitionOffsets revokedOffsets = tracker.add("topic", 0, 1);
+        tracker.add("topic", 1, 1);
+        var partition = new TopicPartition("topic", 0);
+        assertThat(tracker.committableOffsets(List.of(partition))).containsOnlyKeys(partition);
+
+        tracker.remove(List.of(partition));
+        assertThat(tracker.committableOffsets()).containsOnlyKeys(new TopicPartition("topic", 1));
+
+        // partition is assigned back and same offset is polled again, stale completion must not pass it
+        tracker.add("topic", 0, 1);
+        revokedOffsets.complete(1);
+        assertThat(tracker.committableOffsets()).containsEntry(partition, new OffsetAndMetadata(1));
+        assertThat(tracker.committableOffsets()).doesNotContainKey(partition);
+    }
+}
@@ -96,6 +96,18 @@ class ActionLogTest {
         assertThat(log.stats.get("stat").intValue()).isEqualTo(2);
     }
 
+    @Test
+    void trackAsync() {
+        log.beginAsync();
+        log.trackAsync("http", 1000, 1, 0);
+        log.trackAsync("http", 2000, 1, 0);
+
+        assertThat(log.track("http", 1000, 1, 0)).isEqualTo(3);
+        PerformanceStat stat = log.performanceStats.get("http");
+        assertThat(stat.totalElapsed).isEqualTo(4000);
+        assertThat(stat.readEntries).isEqualTo(3);
+    }
+
     @Test
     void track() {
         assertThat(log.track("db", 1000, 1, 0)).isEqualTo(1);
@@ -123,13 +135,27 @@ class ActionLogTest {
     @Test
     void trace() {
         String trace = log.trace();
-        assertThat(trace).contains("c.f.i.log.ActionLog - begin");
+        assertThat(trace).contains("c.f.i.log.ActionLog - begin")
+            .contains("id=actionId")
+            .contains("thread=");
 
         log.process(new LogEvent("logger", null, LogLevel.WARN, "warning", null, null));
         trace = log.trace();
         assertThat(trace).contains("WARN logger - warning");
     }
 
+    @Test
+    void discardTrace() {
+        log.discardTrace();
+        assertThat(log.accept(LogLevel.DEBUG)).isFalse();
+        assertThat(log.accept(LogLevel.WARN)).isTrue();
+
+        log.context("key", "value");
+        log.process(new LogEvent("logger", null, LogLevel.WARN, "warning", null, null));
+        assertThat(log.context).containsEntry("key", List.of("value"));
+        assertThat(log.trace()).doesNotContain("[context]").contains("WARN logger - warning");
+    }
+
     @Test
     void correlationIds() {
         assertThat(log.correlationIds()).containsExactly(log.id);
@@ -0,0 +1,48 @@
+package core.framework.internal.log;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineTest {
+    @AfterEach
+    void cleanup() {
+        LogManager.CURRENT_ACTION_LOG.remove();
+    }
+
+    @Test
+    void timeoutWithoutActionLog() {
+        assertThat(Deadline.timeout(100)).isEqualTo(100);
+    }
+
+    @Test
+    void timeoutWithoutDeadline() {
+        LogManager.CURRENT_ACTION_LOG.set(new ActionLog("begin", null));
+        assertThat(Deadline.timeout(100)).isEqualTo(100);
+    }
+
+    @Test
+    void timeout() {
+        var actionLog = new ActionLog("begin", null);
+        actionLog.deadline(Duration.ofHours(1).toNanos());
+        LogManager.CURRENT_ACTION_LOG.set(actionLog);
+
+        assertThat(Deadline.timeout(Duration.ofSeconds(10).toNanos())).isEqualTo(Duration.ofSeconds(10).toNanos());
+        assertThat(Deadline.timeout(Duration.ofHours(2).toNanos())).isLessThanOrEqualTo(Duration.ofHours(1).toNanos());
+    }
+
+    @Test
+    void timeoutAfterDeadline() {
+        var actionLog = new ActionLog("begin", null);
+        actionLog.deadline(-1);
+        LogManager.CURRENT_ACTION_LOG.set(actionLog);
+
+        assertThatThrownBy(() -> Deadline.timeout(100))
+            .isInstanceOf(Deadline.DeadlineExceededException.class)
+            .hasMessageContaining("deadline exceeded");
+    }
+}
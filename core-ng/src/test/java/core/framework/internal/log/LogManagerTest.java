@@ -49,6 +49,30 @@ class LogManagerTest {
         System.clearProperty("core.appName");
     }
 
+    @Test
+    void beginWithDiscardDebug() {
+        logManager.sampler = new TraceSampler();
+        logManager.sampler.discardDebug = true;
+        ActionLog actionLog = logManager.begin("begin", null);
+        try {
+            assertThat(actionLog.accept(LogLevel.DEBUG)).isFalse();
+            assertThat(actionLog.accept(LogLevel.INFO)).isTrue();
+
+            actionLog.trace = Trace.CURRENT;
+            assertThat(actionLog.accept(LogLevel.DEBUG)).isTrue();
+        } finally {
+            logManager.end("end");
+        }
+
+        logManager.sampler.rate = 1;
+        actionLog = logManager.begin("begin", null);
+        try {
+            assertThat(actionLog.accept(LogLevel.DEBUG)).isTrue();
+        } finally {
+            logManager.end("end");
+        }
+    }
+
     @Test
     void logError() {
         logManager.logError(new TestException());
@@ -62,6 +86,15 @@ class LogManagerTest {
         logManager.end("end");
     }
 
+    @Test
+    void sampleTrace() {
+        logManager.sampler = new TraceSampler();
+        logManager.sampler.rate = 1;
+        ActionLog actionLog = logManager.begin("begin", null);
+        assertThat(actionLog.flushTraceLog()).isTrue();
+        logManager.end("end");
+    }
+
     private static final class TestException extends Exception implements ErrorCode {
         @Serial
         private static final long serialVersionUID = 4243205974337190882L;
@@ -0,0 +1,43 @@
+package core.framework.internal.log;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceSamplerTest {
+    private TraceSampler sampler;
+
+    @BeforeEach
+    void createTraceSampler() {
+        sampler = new TraceSampler();
+    }
+
+    @Test
+    void sampleHead() {
+        assertThat(sampler.sampleHead()).isFalse();
+
+        sampler.rate = 1;
+        assertThat(sampler.sampleHead()).isTrue();
+    }
+
+    @Test
+    void sampleSlow() {
+        sampler.slowThresholdInNano = Duration.ofSeconds(1).toNanos();
+        sampler.slowRate = 1;
+        assertThat(sampler.sampleTail("action", Duration.ofMillis(500).toNanos())).isFalse();
+        assertThat(sampler.sampleTail("action", Duration.ofSeconds(2).toNanos())).isTrue();
+    }
+
+    @Test
+    void sampleOutlier() {
+        sampler.outliers = true;
+        for (int i = 0; i < 1000; i++) {
+            sampler.sampleTail("action", Duration.ofMillis(i % 100 + 1).toNanos());
+        }
+        assertThat(sampler.sampleTail("action", Duration.ofSeconds(1).toNanos())).isTrue();
+        assertThat(sampler.sampleTail("other", Duration.ofSeconds(1).toNanos())).isFalse();
+    }
+}
@@ -1,10 +1,12 @@
 package core.framework.internal.log.appender;
 
 import core.framework.internal.kafka.KafkaURI;
+import core.framework.internal.stat.Stats;
 import core.framework.kafka.KafkaException;
 import core.framework.log.message.ActionLogMessage;
+import core.framework.log.message.LogTopics;
+import core.framework.log.message.StatMessage;
 import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -22,7 +24,7 @@ class KafkaAppenderTest {
 
     @BeforeEach
     void createKafkaAppender() {
-        appender = new KafkaAppender(new KafkaURI("localhost"));
+        appender = new KafkaAppender(new KafkaURI("localhost"), 10);
     }
 
     @Test
@@ -40,9 +42,61 @@ class KafkaAppenderTest {
     @Test
     void onCompletion() {
         var callback = appender.new KafkaCallback();
-        appender.records.add(new ProducerRecord<>("topic", new byte[0]));
+        callback.onCompletion(null, null);
+        appender.append(new StatMessage());
         callback.onCompletion(null, new KafkaException("unexpected"));
-        assertThat(appender.records).isEmpty();
+        assertThat(appender.messages).hasSize(1);   // failed send doesn't clear queued messages
+
+        var stats = new Stats();
+        appender.producerMetrics.collect(stats);
+        assertThat(stats.stats).containsEntry("kafka_producer_log-forwarder_dropped", 1.0)
+            .containsEntry("kafka_producer_log-forwarder_sent", 1.0);
+    }
+
+    @Test
+    void append() {
+        for (int i = 0; i < 5; i++) {
+            appender.append(message("OK", "trace"));
+        }
+        assertThat(appender.messages).hasSize(5);
+
+        appender.append(message("OK", "trace"));    // queue size >= 50%, drop trace
+        assertThat(((ActionLogMessage) appender.messages.stream().toList().getLast()).traceLog).isNull();
+
+        appender.append(message("WARN", "trace"));
+        assertThat(((ActionLogMessage) appender.messages.stream().toList().getLast()).traceLog).isEqualTo("trace");
+        appender.append(message("OK", null));
+        assertThat(appender.messages).hasSize(8);
+
+        appender.append(message("OK", null));       // queue size >= 80%, drop OK action
+        appender.append(new StatMessage());         // queue size >= 80%, drop stat, reserve rest for WARN/ERROR actions
+        appender.append(message("ERROR", "trace"));  // queue size >= 80%, drop trace but keep action
+        appender.append(message("ERROR", "trace"));
+        assertThat(appender.messages).hasSize(10);
+        assertThat(((ActionLogMessage) appender.messages.stream().toList().getLast()).traceLog).isNull();
+
+        appender.append(message("ERROR", "trace"));  // queue is full, drop action
+        appender.append(new StatMessage());
+        assertThat(appender.messages).hasSize(10);
+
+        var stats = new Stats();
+        appender.producerMetrics.collect(stats);
+        assertThat(stats.stats).containsEntry("kafka_producer_log-forwarder_queued", 10.0)
+            .containsEntry("kafka_producer_log-forwarder_dropped", 4.0)
+            .containsEntry("kafka_producer_log-forwarder_dropped_traces", 4.0);
+    }
+
+    @Test
+    void record() {
+        assertThat(appender.record(message("OK", null)).topic()).isEqualTo(LogTopics.TOPIC_ACTION_LOG);
+        assertThat(appender.record(new StatMessage()).topic()).isEqualTo(LogTopics.TOPIC_STAT);
+    }
+
+    private ActionLogMessage message(String result, String traceLog) {
+        var message = new ActionLogMessage();
+        message.result = result;
+        message.traceLog = traceLog;
+        return message;
     }
 
     @Test
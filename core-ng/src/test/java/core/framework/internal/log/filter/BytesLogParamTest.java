@@ -29,6 +29,15 @@ class BytesLogParamTest {
         assertThat(builder.toString()).isEqualTo("null");
     }
 
+    @Test
+    void appendWithLength() {
+        var param = new BytesLogParam(Strings.bytes("message1234567890"), 7);
+        var builder = new StringBuilder();
+        param.append(builder, Set.of(), 1000);
+
+        assertThat(builder.toString()).isEqualTo("message");
+    }
+
     @Test
     void append() {
         var param = new BytesLogParam(Strings.bytes("message1234567890"));
@@ -1,9 +1,16 @@
 package core.framework.internal.module;
 
+import core.framework.internal.log.ActionLog;
+import core.framework.internal.log.LogManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author neo
@@ -13,7 +20,7 @@ class StartupHookTest {
 
     @BeforeEach
     void createStartupHook() {
-        startupHook = new StartupHook();
+        startupHook = new StartupHook(new LogManager());
     }
 
     @Test
@@ -25,6 +32,75 @@ class StartupHookTest {
         assertThat(startupHook.initialize).isNull();
     }
 
+    @Test
+    void initializeInParallel() throws Exception {
+        startupHook.parallel = true;
+        var latch = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            startupHook.initialize.add(() -> {  // each task waits for the other one, only complete if both run at same time
+                latch.countDown();
+                if (!latch.await(5, TimeUnit.SECONDS)) throw new Error("tasks are not executed in parallel");
+            });
+        }
+        startupHook.initialize();
+
+        assertThat(startupHook.initialize).isNull();
+    }
+
+    @Test
+    void initializeInParallelWithActionLog() throws Exception {
+        startupHook.parallel = true;
+        var logManager = new LogManager();
+        ActionLog parentActionLog = logManager.begin("begin", null);
+        parentActionLog.action("app:start");
+        ActionLog[] actionLogs = new ActionLog[2];
+        for (int i = 0; i < 2; i++) {
+            int index = i;
+            startupHook.initialize.add(() -> {
+                actionLogs[index] = LogManager.CURRENT_ACTION_LOG.get();
+            });
+        }
+        try {
+            startupHook.initialize();
+        } finally {
+            logManager.end("end");
+        }
+
+        assertThat(actionLogs).allSatisfy(actionLog -> {
+            assertThat(actionLog).isNotNull().isNotSameAs(parentActionLog);
+            assertThat(actionLog.action).isEqualTo("app:start:initialize");
+            assertThat(actionLog.refIds).isEqualTo(List.of(parentActionLog.id));
+        });
+    }
+
+    @Test
+    void initializeSerially() throws Exception {
+        var threads = new Thread[2];
+        for (int i = 0; i < 2; i++) {
+            int index = i;
+            startupHook.initialize.add(() -> {
+                threads[index] = Thread.currentThread();
+            });
+        }
+        startupHook.initialize();
+
+        assertThat(threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    void initializeWithFailure() {
+        startupHook.parallel = true;
+        startupHook.initialize.add(() -> {
+        });
+        startupHook.initialize.add(() -> {
+            throw new IllegalStateException("failed to initialize");
+        });
+
+        assertThatThrownBy(startupHook::initialize)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("failed to initialize");
+    }
+
     @Test
     void start() throws Exception {
         startupHook.start.add(() -> {
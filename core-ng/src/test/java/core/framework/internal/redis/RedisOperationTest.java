@@ -115,6 +115,25 @@ class RedisOperationTest extends AbstractRedisOperationTest {
         assertRequestEquals("*3\r\n$6\r\nINCRBY\r\n$2\r\nk1\r\n$1\r\n1\r\n");
     }
 
+    @Test
+    void eval() {
+        response(":1\r\n");
+        long value = redis.eval("return 1", "k1", 2);
+
+        assertThat(value).isEqualTo(1);
+        assertRequestEquals("*5\r\n$7\r\nEVALSHA\r\n$40\r\ne0e1f9fabfc9d4800c877a703b823ac0578ff8db\r\n$1\r\n1\r\n$2\r\nk1\r\n$1\r\n2\r\n");
+    }
+
+    @Test
+    void evalWithScriptNotLoaded() {
+        response("-NOSCRIPT No matching script. Please use EVAL.\r\n:1\r\n");
+        long value = redis.eval("return 1", "k1", 2);
+
+        assertThat(value).isEqualTo(1);
+        assertRequestEquals("*5\r\n$7\r\nEVALSHA\r\n$40\r\ne0e1f9fabfc9d4800c877a703b823ac0578ff8db\r\n$1\r\n1\r\n$2\r\nk1\r\n$1\r\n2\r\n"
+                            + "*5\r\n$4\r\nEVAL\r\n$8\r\nreturn 1\r\n$1\r\n1\r\n$2\r\nk1\r\n$1\r\n2\r\n");
+    }
+
     @Test
     void forEach() {
         response("*2\r\n$1\r\n0\r\n*2\r\n$2\r\nk1\r\n$2\r\nk2\r\n");
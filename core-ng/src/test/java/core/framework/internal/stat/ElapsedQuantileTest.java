@@ -0,0 +1,18 @@
+package core.framework.internal.stat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ElapsedQuantileTest {
+    @Test
+    void estimation() {
+        var quantile = new ElapsedQuantile(0.99);
+        assertThat(quantile.stable()).isFalse();
+        for (int i = 0; i < 20_000; i++) {
+            quantile.outlier(i % 100 + 1);     // uniform 1 to 100
+        }
+        assertThat(quantile.stable()).isTrue();
+        assertThat(quantile.estimation()).isBetween(90L, 110L);
+    }
+}
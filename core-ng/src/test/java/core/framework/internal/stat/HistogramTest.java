@@ -0,0 +1,44 @@
+package core.framework.internal.stat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistogramTest {
+    @Test
+    void index() {
+        assertThat(Histogram.index(0)).isEqualTo(0);
+        assertThat(Histogram.index(15)).isEqualTo(15);
+        assertThat(Histogram.index(16)).isEqualTo(16);
+        assertThat(Histogram.index(31)).isEqualTo(31);
+        assertThat(Histogram.index(32)).isEqualTo(32);
+        assertThat(Histogram.index(33)).isEqualTo(32);
+        assertThat(Histogram.index(Long.MAX_VALUE)).isEqualTo(Histogram.BUCKETS - 1);
+    }
+
+    @Test
+    void highestValue() {
+        assertThat(Histogram.highestValue(15)).isEqualTo(15);
+        assertThat(Histogram.highestValue(32)).isEqualTo(33);
+        for (long value = 1; value < 1_000_000; value = value * 3 + 1) {
+            long highestValue = Histogram.highestValue(Histogram.index(value));
+            assertThat(highestValue).isGreaterThanOrEqualTo(value).isLessThanOrEqualTo((long) (value * 1.0625) + 1);
+        }
+    }
+
+    @Test
+    void snapshot() {
+        var histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);     // 1ms to 100ms
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot(true);
+        assertThat(snapshot.count).isEqualTo(100);
+        assertThat(snapshot.quantile(0.5)).isBetween(50_000L, 53_125L);
+        assertThat(snapshot.quantile(0.99)).isBetween(99_000L, 105_188L);
+        assertThat(snapshot.max()).isBetween(100_000L, 106_250L);
+
+        assertThat(histogram.snapshot(false).count).isZero();
+        assertThat(histogram.snapshot(false).quantile(0.99)).isZero();
+    }
+}
@@ -0,0 +1,70 @@
+package core.framework.internal.util;
+
+import core.framework.internal.stat.Stats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LRUCacheTest {
+    private LRUCache<String, String> cache;
+
+    @BeforeEach
+    void createLRUCache() {
+        cache = new LRUCache<>(2);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        cache.put("1", "1", 100);
+        cache.put("2", "2", 100);
+        assertThat(cache.get("1", 0)).isEqualTo("1");
+
+        cache.put("3", "3", 100);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("2", 0)).isNull();
+        assertThat(cache.get("1", 0)).isEqualTo("1");
+        assertThat(cache.get("3", 0)).isEqualTo("3");
+    }
+
+    @Test
+    void expire() {
+        cache.put("1", "1", 100);
+        cache.put("2", "2", 200);
+        assertThat(cache.get("1", 100)).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.cleanup(200);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void removeIf() {
+        cache.put("1", "a", 100);
+        cache.put("2", "b", 100);
+        cache.removeIf("a"::equals);
+        assertThat(cache.get("1", 0)).isNull();
+        assertThat(cache.get("2", 0)).isEqualTo("b");
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void collect() {
+        cache.put("1", "1", 100);
+        cache.hit();
+        cache.hit();
+        cache.miss();
+
+        var stats = new Stats();
+        cache.collect(stats, "test_cache");
+        assertThat(stats.stats)
+            .containsEntry("test_cache_size", 1.0)
+            .containsEntry("test_cache_hits", 2.0)
+            .containsEntry("test_cache_misses", 1.0);
+
+        cache.collect(stats, "test_cache");
+        assertThat(stats.stats).containsEntry("test_cache_hits", 0.0);
+    }
+}
@@ -35,9 +35,10 @@ class HTTPHandlerTest {
     }
 
     @Test
-    void maxProcessTime() {
-        assertThat(handler.maxProcessTime("invalid")).isEqualTo(handler.maxProcessTimeInNano);
-        assertThat(handler.maxProcessTime("100")).isEqualTo(100);
+    void timeout() {
+        assertThat(handler.timeout(null)).isEqualTo(-1);
+        assertThat(handler.timeout("invalid")).isEqualTo(-1);
+        assertThat(handler.timeout("100")).isEqualTo(100);
     }
 
     @Test
@@ -23,7 +23,7 @@ class HTTPIOHandlerTest {
 
     @BeforeEach
     void createHTTPIOHandler() {
-        handler = new HTTPIOHandler(null, null, 1000, null);
+        handler = new HTTPIOHandler(null, null, 1000, 1000, null);
     }
 
     @Test
@@ -2,6 +2,7 @@ package core.framework.internal.web.bean;
 
 import core.framework.internal.bean.BeanClassValidator;
 import core.framework.internal.bean.TestBean;
+import core.framework.internal.json.JSONMapper;
 import core.framework.internal.validate.ValidationException;
 import core.framework.internal.web.service.InternalErrorResponse;
 import core.framework.json.JSON;
@@ -72,6 +73,22 @@ class ResponseBeanReaderTest {
         assertThat(reader.fromJSON(void.class, null)).isNull();
     }
 
+    @Test
+    void fromSmile() throws IOException {
+        var bean = new TestBean();
+        bean.intField = 3;
+
+        TestBean parsedBean = (TestBean) reader.fromSmile(TestBean.class, JSONMapper.SMILE_MAPPER.writeValueAsBytes(bean));
+        assertThat(parsedBean).usingRecursiveComparison().isEqualTo(bean);
+    }
+
+    @Test
+    void fromSmileWithEmptyOptional() throws IOException {
+        @SuppressWarnings("unchecked")
+        var parsedBean = (Optional<TestBean>) reader.fromSmile(Types.optional(TestBean.class), JSONMapper.SMILE_MAPPER.writeValueAsBytes(null));
+        assertThat(parsedBean).isNotPresent();
+    }
+
     @Test
     void fromJSON() throws IOException {
         var bean = new TestBean();
@@ -9,8 +9,12 @@ import core.framework.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -78,4 +82,31 @@ class ResponseBeanWriterTest {
         assertThatThrownBy(() -> writer.toJSON(new TestBean()))
                 .isInstanceOf(ValidationException.class);
     }
+
+    @Test
+    void toJSONWithStream() {
+        var bean = new TestBean();
+        bean.intField = 5;
+        var stream = new ByteArrayOutputStream();
+        writer.toJSON(bean, stream);
+        assertThat(stream.toString(UTF_8)).isEqualTo(writer.toJSON(bean));
+
+        stream = new ByteArrayOutputStream();
+        writer.toJSON(Optional.empty(), stream);
+        assertThat(stream.toString(UTF_8)).isEqualTo("null");
+    }
+
+    @Test
+    void toJSONArray() {
+        var bean = new TestBean();
+        bean.intField = 5;
+        var stream = new ByteArrayOutputStream();
+        writer.toJSONArray(Stream.of(bean, bean), stream);
+        String json = writer.toJSON(bean);
+        assertThat(stream.toString(UTF_8)).isEqualTo("[" + json + "," + json + "]");
+
+        stream = new ByteArrayOutputStream();
+        writer.toJSONArray(Stream.empty(), stream);
+        assertThat(stream.toString(UTF_8)).isEqualTo("[]");
+    }
 }
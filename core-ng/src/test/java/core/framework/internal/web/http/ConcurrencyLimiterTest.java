@@ -0,0 +1,71 @@
+package core.framework.internal.web.http;
+
+import core.framework.internal.stat.Stats;
+import core.framework.web.exception.ServiceUnavailableException;
+import core.framework.web.rate.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterTest {
+    @Test
+    void acquire() throws InterruptedException {
+        var limiter = new ConcurrencyLimiter(2, 2, 2);
+        long permit = limiter.acquire(Priority.Level.LOW, 0);
+        // low priority can only use half of limit
+        assertThatThrownBy(() -> limiter.acquire(Priority.Level.LOW, 0))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessageContaining("priority=LOW");
+        limiter.acquire(Priority.Level.HIGH, 0);
+        assertThatThrownBy(() -> limiter.acquire(Priority.Level.HIGH, 0))
+            .isInstanceOf(ServiceUnavailableException.class);
+
+        limiter.release(permit);
+        limiter.acquire(Priority.Level.NORMAL, 0);
+
+        var stats = new Stats();
+        limiter.collect(stats);
+        assertThat(stats.stats)
+            .containsEntry("http_concurrency_limit", 2.0)
+            .containsEntry("http_queued_requests", 0.0)
+            .containsEntry("http_rejected_requests", 2.0);
+    }
+
+    @Test
+    void acquireWithWait() throws InterruptedException {
+        var limiter = new ConcurrencyLimiter(1, 1, 1);
+        long permit = limiter.acquire(Priority.Level.HIGH, 0);
+        Thread thread = Thread.ofVirtual().start(() -> limiter.release(permit));
+        limiter.acquire(Priority.Level.HIGH, Duration.ofSeconds(10).toNanos());
+        thread.join();
+    }
+
+    @Test
+    void adjustLimit() throws InterruptedException {
+        var limiter = new ConcurrencyLimiter(10, 100, 1000);
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(Priority.Level.HIGH, 0);
+        }
+        long fast = Duration.ofMillis(1).toNanos();
+        for (int i = 0; i < 20; i++) {
+            limiter.release(System.nanoTime() - fast);
+            limiter.acquire(Priority.Level.HIGH, 0);
+        }
+        assertThat(limit(limiter)).isGreaterThan(100);
+
+        long slow = Duration.ofMillis(100).toNanos();
+        for (int i = 0; i < 40; i++) {
+            limiter.release(System.nanoTime() - slow);
+        }
+        assertThat(limit(limiter)).isLessThan(100);
+    }
+
+    private double limit(ConcurrencyLimiter limiter) {
+        var stats = new Stats();
+        limiter.collect(stats);
+        return stats.stats.get("http_concurrency_limit");
+    }
+}
@@ -1,6 +1,9 @@
 package core.framework.internal.web.http;
 
+import core.framework.internal.redis.RedisImpl;
+import core.framework.internal.resource.PoolException;
 import core.framework.internal.web.http.RateControl.Rate;
+import core.framework.internal.web.http.RateControl.Shard;
 import core.framework.web.exception.TooManyRequestsException;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +11,12 @@ import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
@@ -15,22 +24,35 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class RateControlTest {
     @Test
     void acquire() {
-        var rate = new Rate(1);
-        rate.lastUpdateTime = 100;
-        boolean result = rate.acquire(101, 2, 1);
-        assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(1);
-
-        result = rate.acquire(100, 2, 1);
-        assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(0);
-
-        result = rate.acquire(101, 2, 1);
-        assertThat(result).isFalse();
-
-        result = rate.acquire(102, 2, 1);
-        assertThat(result).isTrue();
-        assertThat(rate.currentPermits).isEqualTo(0);
+        var rate = new Rate(100);
+        assertThat(rate.acquire(100, 1, 2)).isTrue();
+        assertThat(rate.tat.get()).isEqualTo(101);
+
+        assertThat(rate.acquire(100, 1, 2)).isTrue();
+        assertThat(rate.tat.get()).isEqualTo(102);
+
+        assertThat(rate.acquire(100, 1, 2)).isFalse();
+        assertThat(rate.tat.get()).isEqualTo(102);
+
+        assertThat(rate.acquire(99, 1, 2)).isFalse();   // earlier time from concurrent acquire
+
+        assertThat(rate.acquire(101, 1, 2)).isTrue();
+        assertThat(rate.tat.get()).isEqualTo(103);
+        assertThat(rate.full(102)).isFalse();
+        assertThat(rate.full(103)).isTrue();
+    }
+
+    @Test
+    void evict() {
+        var shard = new Shard();
+        shard.maxEntries = 4;
+        shard.rate("full", 0);
+        shard.rate("idle", 0).acquire(0, 10, 100);
+        shard.rate("active1", 0).acquire(50, 10, 100);
+        shard.rate("active2", 0).acquire(60, 10, 100);
+
+        shard.rate("new", 55);
+        assertThat(shard.rates).containsOnlyKeys("active1", "active2", "new");
     }
 
     @Test
@@ -54,4 +76,18 @@ class RateControlTest {
             .isInstanceOf(TooManyRequestsException.class)
             .hasMessageContaining("exceeded");
     }
+
+    @Test
+    void acquireWithRedisPoolTimeout() {
+        var control = new RateControl();
+        control.maxEntries(1);
+        control.config("group", 1, 1, Duration.ofHours(24));
+        RedisImpl redis = mock(RedisImpl.class);
+        when(redis.eval(anyString(), anyString(), anyLong(), anyLong(), anyLong())).thenThrow(PoolException.class);
+        control.redis = redis;
+
+        assertThat(control.acquire("group", "10.0.0.1")).isTrue();     // fall back to local rate
+        assertThat(control.acquire("group", "10.0.0.1")).isFalse();    // skip redis until retry time
+        verify(redis, times(1)).eval(anyString(), anyString(), anyLong(), anyLong(), anyLong());
+    }
 }
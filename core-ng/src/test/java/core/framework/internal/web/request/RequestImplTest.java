@@ -19,6 +19,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -63,6 +65,25 @@ class RequestImplTest {
         assertThat(bean.bigDecimalField).isEqualTo("1");
     }
 
+    @Test
+    void beanWithJSONStream() {
+        request.method = HTTPMethod.POST;
+        request.contentType = ContentType.APPLICATION_JSON;
+        request.bodyStream = new ByteArrayInputStream(Strings.bytes("{\"big_decimal_field\": 1, \"int_field\": 3}"));
+
+        TestBean bean = request.bean(TestBean.class);
+        assertThat(bean.bigDecimalField).isEqualTo("1");
+    }
+
+    @Test
+    void bodyWithStream() throws IOException {
+        assertThat(request.bodyStream()).isEmpty();
+
+        request.bodyStream = new ByteArrayInputStream(Strings.bytes("body"));
+        assertThat(request.body()).hasValue(Strings.bytes("body"));
+        assertThat(request.bodyStream().orElseThrow().readAllBytes()).isEqualTo(Strings.bytes("body"));
+    }
+
     @Test
     void beanWithFormPost() {
         request.method = HTTPMethod.POST;
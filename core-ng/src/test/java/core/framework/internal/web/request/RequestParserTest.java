@@ -18,6 +18,7 @@ import io.undertow.util.Methods;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.ArrayDeque;
@@ -120,6 +121,18 @@ class RequestParserTest {
         assertThat(request.body()).hasValue(body);
     }
 
+    @Test
+    void parseBodyWithStream() throws Throwable {
+        var request = new RequestImpl(null, null);
+        var exchange = new HttpServerExchange(null);
+        var stream = new ByteArrayInputStream(Strings.bytes("{}"));
+        exchange.putAttachment(RequestBodyReader.REQUEST_BODY, new RequestBodyReader.RequestBody(stream));
+        parser.parseBody(request, exchange);
+
+        assertThat(request.body).isNull();
+        assertThat(request.bodyStream()).hasValue(stream);
+    }
+
     @Test
     void parseBodyWithForm() throws Throwable {
         var request = new RequestImpl(null, null);
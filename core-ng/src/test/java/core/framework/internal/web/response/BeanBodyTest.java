@@ -4,13 +4,16 @@ import core.framework.internal.bean.BeanClassValidator;
 import core.framework.internal.bean.TestBean;
 import core.framework.internal.validate.ValidationException;
 import core.framework.internal.web.bean.ResponseBeanWriter;
-import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
@@ -18,15 +21,24 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 @ExtendWith(MockitoExtension.class)
 class BeanBodyTest {
     @Mock
-    Sender sender;
+    HttpServerExchange exchange;
 
     @Test
     void send() {
+        when(exchange.getRequestHeaders()).thenReturn(new HeaderMap());
         var writer = new ResponseBeanWriter();
         writer.register(TestBean.class, new BeanClassValidator());
         var context = new ResponseHandlerContext(writer, null);
         var body = new BeanBody(new TestBean());
-        assertThatThrownBy(() -> body.send(sender, context))
+        assertThatThrownBy(() -> body.send(exchange, context))
                 .isInstanceOf(ValidationException.class);
     }
+
+    @Test
+    void acceptSmile() {
+        var body = new BeanBody(new TestBean());
+        assertThat(body.acceptSmile(null)).isFalse();
+        assertThat(body.acceptSmile("application/json")).isFalse();
+        assertThat(body.acceptSmile("application/x-jackson-smile, application/json")).isTrue();
+    }
 }
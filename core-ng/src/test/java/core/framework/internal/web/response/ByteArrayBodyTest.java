@@ -1,6 +1,7 @@
 package core.framework.internal.web.response;
 
 import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -10,19 +11,23 @@ import java.nio.ByteBuffer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
  */
 @ExtendWith(MockitoExtension.class)
 class ByteArrayBodyTest {
+    @Mock
+    HttpServerExchange exchange;
     @Mock
     Sender sender;
 
     @Test
     void send() {
+        when(exchange.getResponseSender()).thenReturn(sender);
         var body = new ByteArrayBody(new byte[10]);
-        body.send(sender, null);
+        body.send(exchange, null);
 
         verify(sender).send(any(ByteBuffer.class));
     }
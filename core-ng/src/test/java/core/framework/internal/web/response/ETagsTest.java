@@ -0,0 +1,15 @@
+package core.framework.internal.web.response;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+    @Test
+    void matches() {
+        assertThat(ETags.matches(null, "\"v1\"")).isFalse();
+        assertThat(ETags.matches("*", "\"v1\"")).isTrue();
+        assertThat(ETags.matches("\"v2\"", "\"v1\"")).isFalse();
+        assertThat(ETags.matches("\"v2\", W/\"v1\"", "\"v1\"")).isTrue();
+    }
+}
@@ -0,0 +1,55 @@
+package core.framework.internal.web.response;
+
+import core.framework.util.Strings;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseBodyStreamTest {
+    @Mock
+    HttpServerExchange exchange;
+    @Mock
+    Sender sender;
+
+    @Test
+    void sendWithinThreshold() throws IOException {
+        when(exchange.getResponseSender()).thenReturn(sender);
+        var stream = new ResponseBodyStream(exchange, 10);
+        stream.write(Strings.bytes("12345"));
+        stream.write('6');
+        assertThat(stream.finish()).isEqualTo(6);
+
+        ArgumentCaptor<ByteBuffer> captor = ArgumentCaptor.forClass(ByteBuffer.class);
+        verify(sender).send(captor.capture());
+        assertThat(UTF_8.decode(captor.getValue()).toString()).isEqualTo("123456");
+    }
+
+    @Test
+    void streamAboveThreshold() throws IOException {
+        var output = new ByteArrayOutputStream();
+        when(exchange.getOutputStream()).thenReturn(output);
+        var stream = new ResponseBodyStream(exchange, 10);
+        stream.write(Strings.bytes("12345"));
+        stream.write(Strings.bytes("67890"));
+        stream.write(Strings.bytes("abc"));
+        stream.write('d');
+        assertThat(stream.finish()).isEqualTo(14);
+
+        verify(exchange).startBlocking();
+        assertThat(output.toString(UTF_8)).isEqualTo("1234567890abcd");
+    }
+}
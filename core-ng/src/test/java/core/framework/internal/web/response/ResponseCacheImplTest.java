@@ -0,0 +1,131 @@
+package core.framework.internal.web.response;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.http.ContentType;
+import core.framework.internal.web.bean.ResponseBeanWriter;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import core.framework.web.cache.CacheResponse;
+import io.undertow.util.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseCacheImplTest {
+    @Mock
+    Request request;
+    private ResponseCacheImpl cache;
+    private CacheResponse policy;
+
+    @BeforeEach
+    void createResponseCache() throws NoSuchMethodException {
+        cache = new ResponseCacheImpl(new ResponseBeanWriter());
+        policy = ResponseCacheImplTest.class.getDeclaredMethod("cachedMethod").getDeclaredAnnotation(CacheResponse.class);
+    }
+
+    @Test
+    void key() {
+        when(request.path()).thenReturn("/product");
+        when(request.queryParams()).thenReturn(Map.of("name", "a&b", "page", "1"));
+        when(request.header("Accept-Language")).thenReturn(Optional.of("en"));
+
+        assertThat(cache.key(request, policy)).isEqualTo("/product?name=a%26b&#Accept-Language=en&");
+    }
+
+    @Test
+    void get() throws Exception {
+        when(request.path()).thenReturn("/product");
+        when(request.queryParams()).thenReturn(Map.of("name", "value"));
+        when(request.header("Accept-Language")).thenReturn(Optional.empty());
+        when(request.header(Headers.IF_NONE_MATCH_STRING)).thenReturn(Optional.empty());
+        when(request.header(Headers.ACCEPT_ENCODING_STRING)).thenReturn(Optional.of("gzip, deflate"));
+
+        var executions = new AtomicInteger();
+        Response response = cache.get(request, policy, input -> {
+            executions.incrementAndGet();
+            return Response.text("product").contentType(ContentType.APPLICATION_JSON).header("Cache-Control", "max-age=60");
+        });
+        cache.get(request, policy, input -> {
+            executions.incrementAndGet();
+            return Response.text("product");
+        });
+
+        assertThat(executions.get()).isEqualTo(1);
+        var cached = (ResponseImpl) response;
+        assertThat(cached.contentType()).hasValue(ContentType.APPLICATION_JSON);
+        assertThat(cached.header("Cache-Control")).hasValue("max-age=60");
+        assertThat(cached.headers).containsEntry(Headers.CONTENT_ENCODING, "gzip").containsKey(Headers.ETAG);
+
+        cache.evict("/product");
+        cache.get(request, policy, input -> {
+            executions.incrementAndGet();
+            return Response.text("product");
+        });
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() throws Exception {
+        cache = new ResponseCacheImpl(new ResponseBeanWriter(), 1);
+        when(request.path()).thenReturn("/product");
+        when(request.queryParams()).thenReturn(Map.of("name", "1"), Map.of("name", "2"), Map.of("name", "1"));
+        when(request.header("Accept-Language")).thenReturn(Optional.empty());
+        when(request.header(Headers.IF_NONE_MATCH_STRING)).thenReturn(Optional.empty());
+        when(request.header(Headers.ACCEPT_ENCODING_STRING)).thenReturn(Optional.empty());
+
+        var executions = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.get(request, policy, input -> {
+                executions.incrementAndGet();
+                return Response.text("product");
+            });
+        }
+        assertThat(executions.get()).isEqualTo(3);     // name=1 was evicted by name=2
+    }
+
+    @Test
+    void notCacheable() {
+        assertThat(cache.entry((ResponseImpl) Response.text("error").status(HTTPStatus.BAD_REQUEST), "/product", policy, 0)).isNull();
+        assertThat(cache.entry((ResponseImpl) Response.text("text").cookie(null, "value"), "/product", policy, 0)).isNull();
+        assertThat(cache.entry((ResponseImpl) Response.file(null), "/product", policy, 0)).isNull();
+    }
+
+    @Test
+    void notModified() {
+        ResponseCacheImpl.Entry entry = cache.entry((ResponseImpl) Response.text("product"), "/product", policy, 0);
+        when(request.header(Headers.IF_NONE_MATCH_STRING)).thenReturn(Optional.of("W/\"other\", " + entry.eTag()));
+
+        ResponseImpl response = cache.response(entry, request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.NOT_MODIFIED);
+        assertThat(((ByteArrayBody) response.body).bytes).isEmpty();
+        assertThat(response.headers).containsEntry(Headers.ETAG, entry.eTag());
+
+        when(request.header(Headers.IF_NONE_MATCH_STRING)).thenReturn(Optional.of("*"));
+        assertThat(cache.response(entry, request).status()).isEqualTo(HTTPStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void modified() {
+        ResponseCacheImpl.Entry entry = cache.entry((ResponseImpl) Response.text("product"), "/product", policy, 0);
+        when(request.header(Headers.IF_NONE_MATCH_STRING)).thenReturn(Optional.of("\"other\""));
+        when(request.header(Headers.ACCEPT_ENCODING_STRING)).thenReturn(Optional.empty());
+
+        ResponseImpl response = cache.response(entry, request);
+        assertThat(response.status()).isEqualTo(HTTPStatus.OK);
+        assertThat(((ByteArrayBody) response.body).bytes).isEqualTo(entry.body());
+    }
+
+    @CacheResponse(expirationInSeconds = 60, queryParams = "name", headers = "Accept-Language", gzip = true)
+    void cachedMethod() {
+    }
+}
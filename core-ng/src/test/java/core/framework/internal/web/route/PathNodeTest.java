@@ -118,4 +118,37 @@ class PathNodeTest {
                 .isInstanceOf(Error.class)
                 .hasMessageContaining("wildcard path variable must be the last");
     }
+
+    @Test
+    void staticPathPatterns() {
+        for (int i = 0; i < 100; i++) {
+            root.register("/path" + i + "/:id");
+        }
+        URLHandler handler = root.register("/path50/:id/child");
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path50/value/child", pathParams)).isSameAs(handler);
+        assertThat(pathParams.get("id")).isEqualTo("value");
+        assertThat(root.find("/path100/value", new PathParams())).isNull();
+        assertThat(root.find("/path5/value/child", new PathParams())).isNull();
+    }
+
+    @Test
+    void fallbackToDynamicPathPattern() {
+        root.register("/path1/path2/path3");
+        URLHandler handler = root.register("/path1/:var1/path4");
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path1/path2/path4", pathParams)).isSameAs(handler);
+        assertThat(pathParams.get("var1")).isEqualTo("path2");
+    }
+
+    @Test
+    void wildcardPathPatternWithShortSegments() {
+        URLHandler handler = root.register("/path/:url(*)");
+
+        var pathParams = new PathParams();
+        assertThat(root.find("/path/a/b", pathParams)).isSameAs(handler);
+        assertThat(pathParams.get("url")).isEqualTo("a/b");
+    }
 }
@@ -0,0 +1,30 @@
+package core.framework.internal.web.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DNSEndpointResolverTest {
+    @Test
+    void url() throws UnknownHostException {
+        var resolver = new DNSEndpointResolver("http://order-service:8080");
+        assertThat(resolver.host).isEqualTo("order-service:8080");
+        assertThat(resolver.url(InetAddress.getByName("10.0.0.1"))).isEqualTo("http://10.0.0.1:8080");
+        assertThat(resolver.url(InetAddress.getByName("::1"))).isEqualTo("http://[0:0:0:0:0:0:0:1]:8080");
+
+        resolver = new DNSEndpointResolver("http://order-service");
+        assertThat(resolver.host).isEqualTo("order-service");
+        assertThat(resolver.url(InetAddress.getByName("10.0.0.1"))).isEqualTo("http://10.0.0.1");
+    }
+
+    @Test
+    void https() {
+        assertThatThrownBy(() -> new DNSEndpointResolver("https://order-service"))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("only supports http");
+    }
+}
@@ -0,0 +1,20 @@
+package core.framework.internal.web.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingTest {
+    @Test
+    void delay() {
+        var hedging = new Hedging(Duration.ofMillis(10));
+        assertThat(hedging.delay()).isEqualTo(-1);
+
+        for (int i = 0; i < 1000; i++) {
+            hedging.record(Duration.ofMillis(1).toNanos());
+        }
+        assertThat(hedging.delay()).isEqualTo(Duration.ofMillis(10).toNanos());
+    }
+}
@@ -0,0 +1,82 @@
+package core.framework.internal.web.service;
+
+import core.framework.internal.stat.Stats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadBalancerTest {
+    private LoadBalancer loadBalancer;
+
+    @BeforeEach
+    void createLoadBalancer() {
+        loadBalancer = new LoadBalancer("test", () -> List.of("http://10.0.0.1:8080", "http://10.0.0.2:8080"), "test:8080");
+    }
+
+    @Test
+    void acquireWithoutEndpoints() {
+        assertThat(loadBalancer.acquire()).isNull();
+    }
+
+    @Test
+    void update() {
+        loadBalancer.refresh();
+        LoadBalancer.Endpoint endpoint = loadBalancer.endpoints[0];
+
+        loadBalancer.update(List.of("http://10.0.0.1:8080", "http://10.0.0.3:8080"));
+        assertThat(loadBalancer.endpoints).hasSize(2);
+        assertThat(loadBalancer.endpoints[0]).isSameAs(endpoint);
+        assertThat(loadBalancer.endpoints[1].url).isEqualTo("http://10.0.0.3:8080");
+    }
+
+    @Test
+    void acquire() {
+        loadBalancer.refresh();
+        LoadBalancer.Endpoint endpoint = loadBalancer.acquire();
+        assertThat(endpoint).isNotNull();
+        assertThat(endpoint.inflight.get()).isEqualTo(1);
+
+        loadBalancer.release(endpoint, 1000, true);
+        assertThat(endpoint.inflight.get()).isZero();
+        assertThat(endpoint.latency).isEqualTo(1000);
+    }
+
+    @Test
+    void select() {
+        var endpoint1 = new LoadBalancer.Endpoint("http://10.0.0.1:8080");
+        var endpoint2 = new LoadBalancer.Endpoint("http://10.0.0.2:8080");
+        endpoint1.inflight.set(2);
+        assertThat(loadBalancer.select(endpoint1, endpoint2, System.nanoTime())).isSameAs(endpoint2);
+
+        endpoint2.ejectedUntil = System.nanoTime() + 1_000_000_000L;
+        assertThat(loadBalancer.select(endpoint1, endpoint2, System.nanoTime())).isSameAs(endpoint1);
+    }
+
+    @Test
+    void ejectAfterConsecutiveFailures() {
+        var endpoint = new LoadBalancer.Endpoint("http://10.0.0.1:8080");
+        for (int i = 0; i < 5; i++) {
+            endpoint.inflight.incrementAndGet();
+            loadBalancer.release(endpoint, 1000, false);
+        }
+        assertThat(endpoint.available(System.nanoTime())).isFalse();
+        assertThat(endpoint.failures.get()).isZero();
+    }
+
+    @Test
+    void collect() {
+        loadBalancer.refresh();
+        loadBalancer.release(loadBalancer.acquire(), 1000, false);
+
+        var stats = new Stats();
+        loadBalancer.collect(stats);
+        assertThat(stats.stats)
+            .containsEntry("api_client_test_endpoints", 2.0)
+            .containsEntry("api_client_test_ejected_endpoints", 0.0)
+            .containsEntry("api_client_test_requests", 1.0)
+            .containsEntry("api_client_test_errors", 1.0);
+    }
+}
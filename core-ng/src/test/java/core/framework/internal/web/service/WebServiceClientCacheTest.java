@@ -0,0 +1,135 @@
+package core.framework.internal.web.service;
+
+import core.framework.http.HTTPHeaders;
+import core.framework.http.HTTPResponse;
+import core.framework.internal.stat.Stats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebServiceClientCacheTest {
+    private WebServiceClientCache cache;
+
+    @BeforeEach
+    void createWebServiceClientCache() {
+        cache = new WebServiceClientCache("test", 60_000);
+    }
+
+    @Test
+    void get() {
+        var response = new HTTPResponse(200, Map.of(HTTPHeaders.CACHE_CONTROL, "public, max-age=10"), new byte[0]);
+        var calls = new AtomicInteger();
+        assertThat(cache.get("/product/1", () -> {
+            calls.incrementAndGet();
+            return response;
+        })).isSameAs(response);
+        assertThat(cache.get("/product/1", () -> {
+            calls.incrementAndGet();
+            return response;
+        })).isSameAs(response);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getWithoutCacheControl() {
+        var calls = new AtomicInteger();
+        cache.get("/product/1", () -> {
+            calls.incrementAndGet();
+            return new HTTPResponse(200, Map.of(), new byte[0]);
+        });
+        cache.get("/product/1", () -> {
+            calls.incrementAndGet();
+            return new HTTPResponse(200, Map.of(), new byte[0]);
+        });
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        cache = new WebServiceClientCache("test", 60_000, 1);
+        var calls = new AtomicInteger();
+        for (String key : new String[]{"/product/1", "/product/2", "/product/1"}) {
+            cache.get(key, () -> {
+                calls.incrementAndGet();
+                return new HTTPResponse(200, Map.of(HTTPHeaders.CACHE_CONTROL, "max-age=10"), new byte[0]);
+            });
+        }
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void coalesce() throws Exception {
+        var started = new CountDownLatch(1);
+        var result = new CompletableFuture<HTTPResponse>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<HTTPResponse> leader = executor.submit(() -> cache.get("/product/1", () -> {
+            started.countDown();
+            return result.join();
+        }));
+        started.await();
+        Future<HTTPResponse> follower = executor.submit(() -> cache.get("/product/1", () -> {
+            throw new Error("should share in-flight call");
+        }));
+        Thread.sleep(50);   // wait for follower to join in-flight call
+
+        var response = new HTTPResponse(200, Map.of(), new byte[0]);
+        result.complete(response);
+        assertThat(leader.get()).isSameAs(response);
+        assertThat(follower.get()).isSameAs(response);
+        executor.shutdown();
+    }
+
+    @Test
+    void getWithFailure() {
+        assertThatThrownBy(() -> cache.get("/product/1", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        var response = new HTTPResponse(200, Map.of(), new byte[0]);
+        assertThat(cache.get("/product/1", () -> response)).isSameAs(response);
+    }
+
+    @Test
+    void maxAge() {
+        assertThat(cache.maxAge(null)).isZero();
+        assertThat(cache.maxAge("max-age=30")).isEqualTo(30_000);
+        assertThat(cache.maxAge("private, Max-Age=5")).isEqualTo(5_000);
+        assertThat(cache.maxAge("max-age=30, no-store")).isZero();
+        assertThat(cache.maxAge("no-cache")).isZero();
+        assertThat(cache.maxAge("max-age=invalid")).isZero();
+    }
+
+    @Test
+    void key() {
+        assertThat(cache.key("/product/1", Map.of())).isEqualTo("/product/1");
+
+        var params = new LinkedHashMap<String, String>();
+        params.put("name", "a b");
+        params.put("empty", null);
+        assertThat(cache.key("/product", params)).isEqualTo("/product?name=a%20b&empty=&");
+    }
+
+    @Test
+    void collect() {
+        cache.get("/product/1", () -> new HTTPResponse(200, Map.of(HTTPHeaders.CACHE_CONTROL, "max-age=10"), new byte[0]));
+        cache.get("/product/1", () -> new HTTPResponse(200, Map.of(), new byte[0]));
+
+        var stats = new Stats();
+        cache.collect(stats);
+        assertThat(stats.stats)
+            .containsEntry("api_client_test_cache_size", 1.0)
+            .containsEntry("api_client_test_cache_hits", 1.0)
+            .containsEntry("api_client_test_cache_misses", 1.0);
+    }
+}
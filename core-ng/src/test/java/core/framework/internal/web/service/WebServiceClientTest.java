@@ -3,11 +3,13 @@ package core.framework.internal.web.service;
 import core.framework.api.http.HTTPStatus;
 import core.framework.http.ContentType;
 import core.framework.http.HTTPClient;
+import core.framework.http.HTTPClientException;
 import core.framework.http.HTTPHeaders;
 import core.framework.http.HTTPMethod;
 import core.framework.http.HTTPRequest;
 import core.framework.http.HTTPResponse;
 import core.framework.internal.bean.BeanClassValidator;
+import core.framework.internal.http.CircuitBreaker;
 import core.framework.internal.web.bean.RequestBeanWriter;
 import core.framework.internal.web.bean.ResponseBeanReader;
 import core.framework.json.JSON;
@@ -21,7 +23,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +35,8 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -174,6 +181,99 @@ class WebServiceClientTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    void executeWithLoadBalancer() {
+        var loadBalancer = new LoadBalancer("test", () -> List.of("http://10.0.0.1:8080"), "test:8080");
+        loadBalancer.refresh();
+        webServiceClient.loadBalancer = loadBalancer;
+        when(httpClient.execute(any())).thenReturn(new HTTPResponse(200, Map.of(), new byte[0]));
+
+        webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class);
+        verify(httpClient).execute(argThat(request -> "http://10.0.0.1:8080/api".equals(request.uri) && "test:8080".equals(request.headers.get(HTTPHeaders.HOST))));
+        assertThat(loadBalancer.endpoints[0].inflight.get()).isZero();
+    }
+
+    @Test
+    void executeWithHedging() {
+        webServiceClient.hedging = new Hedging(Duration.ofMillis(10));
+        when(httpClient.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(new HTTPResponse(200, Map.of(), new byte[0])));
+
+        webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class);
+        verify(httpClient).executeAsync(any());
+    }
+
+    @Test
+    void executeWithHedgedRequest() {
+        var hedging = new Hedging(Duration.ofMillis(10));
+        for (int i = 0; i < 1000; i++) {
+            hedging.record(Duration.ofMillis(1).toNanos());
+        }
+        webServiceClient.hedging = hedging;
+        var primary = new CompletableFuture<HTTPResponse>();
+        when(httpClient.executeAsync(any()))
+            .thenReturn(primary)
+            .thenReturn(CompletableFuture.completedFuture(new HTTPResponse(200, Map.of(), new byte[0])));
+
+        webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class);
+        assertThat(primary).isCancelled();
+    }
+
+    @Test
+    void executeWithHedgingFailedToSend() {
+        var loadBalancer = new LoadBalancer("test", () -> List.of("http://10.0.0.1:8080"), null);
+        loadBalancer.refresh();
+        webServiceClient.loadBalancer = loadBalancer;
+        webServiceClient.hedging = new Hedging(Duration.ofMillis(10));
+        when(httpClient.executeAsync(any())).thenThrow(new HTTPClientException("circuit breaker is open", "CIRCUIT_BREAKER_OPEN"));
+
+        assertThatThrownBy(() -> webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class))
+            .isInstanceOf(HTTPClientException.class);
+        assertThat(loadBalancer.endpoints[0].inflight.get()).isZero();
+    }
+
+    @Test
+    void executeWithCache() {
+        webServiceClient.cache = new WebServiceClientCache("test", 60_000);
+        when(httpClient.execute(any())).thenReturn(new HTTPResponse(200, Map.of(HTTPHeaders.CACHE_CONTROL, "max-age=60"), new byte[0]));
+
+        webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class);
+        webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class);
+        verify(httpClient).execute(any());
+    }
+
+    @Test
+    void executeWithSmile() {
+        webServiceClient.smile = true;
+        when(httpClient.execute(any())).thenReturn(new HTTPResponse(200, Map.of(HTTPHeaders.CONTENT_TYPE, ContentType.APPLICATION_SMILE.toString()), new byte[0]));
+
+        var request = new TestWebService.TestRequest();
+        request.stringField = "123value";
+        webServiceClient.execute(HTTPMethod.PUT, "/api", TestWebService.TestRequest.class, request, void.class);
+        webServiceClient.execute(HTTPMethod.PUT, "/api", TestWebService.TestRequest.class, request, void.class);
+
+        // request body keeps json after server responded with smile, as other endpoints of service may not support smile
+        verify(httpClient, times(2)).execute(argThat(httpRequest -> httpRequest.contentType == ContentType.APPLICATION_JSON
+            && httpRequest.headers.get(HTTPHeaders.ACCEPT).startsWith(ContentType.APPLICATION_SMILE.mediaType)));
+    }
+
+    @Test
+    void executeWithCircuitBreakerOpen() {
+        var circuitBreaker = new CircuitBreaker("test", Duration.ofSeconds(1), Duration.ofMinutes(1));
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.record(100, true);
+        }
+        webServiceClient.circuitBreaker = circuitBreaker;
+
+        assertThatThrownBy(() -> webServiceClient.execute(HTTPMethod.GET, "/api", null, null, void.class))
+            .isInstanceOf(RemoteServiceException.class)
+            .satisfies(e -> {
+                var exception = (RemoteServiceException) e;
+                assertThat(exception.errorCode()).isEqualTo("CIRCUIT_BREAKER_OPEN");
+                assertThat(exception.status).isEqualTo(HTTPStatus.SERVICE_UNAVAILABLE);
+            });
+        verify(httpClient, never()).execute(any());
+    }
+
     @Test
     void intercept() {
         WebServiceClientInterceptor interceptor = mock(WebServiceClientInterceptor.class);
@@ -26,7 +26,7 @@ class StaticDirectoryControllerTest {
 
     @BeforeEach
     void createStaticDirectoryController() {
-        controller = new StaticDirectoryController(Path.of("/opt/app/web/static"));
+        controller = new StaticDirectoryController(Path.of("/opt/app/web/static"), false);
     }
 
     @Test
@@ -0,0 +1,103 @@
+package core.framework.internal.web.site;
+
+import core.framework.api.http.HTTPStatus;
+import core.framework.http.ContentType;
+import core.framework.util.Files;
+import core.framework.web.Request;
+import core.framework.web.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StaticFileTest {
+    @Mock
+    Request request;
+    private Path dir;
+    private StaticFile file;
+
+    @BeforeEach
+    void createStaticFile() throws IOException {
+        dir = Files.tempDir();
+        Path path = dir.resolve("app.js");
+        java.nio.file.Files.writeString(path, "console.log('hello');\n".repeat(20));
+        java.nio.file.Files.writeString(dir.resolve("app.js.br"), "br");
+        file = StaticFile.load(path);
+    }
+
+    @AfterEach
+    void cleanup() {
+        Files.deleteDir(dir);
+    }
+
+    @Test
+    void load() {
+        assertThat(file.contentType).isEqualTo(ContentType.APPLICATION_JAVASCRIPT);
+        assertThat(file.identity.content().remaining()).isEqualTo(440);
+        assertThat(file.identity.eTag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void negotiateEncoding() {
+        when(request.header("Range")).thenReturn(Optional.empty());
+        when(request.header("Accept-Encoding")).thenReturn(Optional.of("gzip"));
+        when(request.header("If-None-Match")).thenReturn(Optional.empty());
+        Response response = file.response(request, "public, max-age=60");
+        assertThat(response.status()).isEqualTo(HTTPStatus.OK);
+        assertThat(response.header("Content-Encoding")).hasValue("gzip");
+        assertThat(response.header("Vary")).hasValue("Accept-Encoding");
+        assertThat(response.header("Cache-Control")).hasValue("public, max-age=60");
+
+        when(request.header("Accept-Encoding")).thenReturn(Optional.of("gzip, deflate, br"));
+        response = file.response(request, null);
+        assertThat(response.header("Content-Encoding")).hasValue("br");
+        assertThat(response.header("ETag")).hasValueSatisfying(eTag -> assertThat(eTag).endsWith("-br\""));
+    }
+
+    @Test
+    void notModified() {
+        when(request.header("Range")).thenReturn(Optional.empty());
+        when(request.header("Accept-Encoding")).thenReturn(Optional.empty());
+        when(request.header("If-None-Match")).thenReturn(Optional.of(file.identity.eTag()));
+        Response response = file.response(request, null);
+        assertThat(response.status()).isEqualTo(HTTPStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void range() {
+        when(request.header("Range")).thenReturn(Optional.of("bytes=0-9"));
+        when(request.header("If-Range")).thenReturn(Optional.empty());
+        Response response = file.response(request, null);
+        assertThat(response.status()).isEqualTo(HTTPStatus.PARTIAL_CONTENT);
+        assertThat(response.header("Content-Range")).hasValue("bytes 0-9/440");
+        assertThat(response.header("Vary")).hasValue("Accept-Encoding");
+
+        when(request.header("Range")).thenReturn(Optional.of("bytes=1000-"));
+        response = file.response(request, null);
+        assertThat(response.status()).isEqualTo(HTTPStatus.RANGE_NOT_SATISFIABLE);
+        assertThat(response.header("Content-Range")).hasValue("bytes */440");
+    }
+
+    @Test
+    void parseRange() {
+        assertThat(StaticFile.Range.parse("bytes=0-499", 1000)).isEqualTo(new StaticFile.Range(0, 499));
+        assertThat(StaticFile.Range.parse("bytes=500-", 1000)).isEqualTo(new StaticFile.Range(500, 999));
+        assertThat(StaticFile.Range.parse("bytes=-100", 1000)).isEqualTo(new StaticFile.Range(900, 999));
+        assertThat(StaticFile.Range.parse("bytes=900-2000", 1000)).isEqualTo(new StaticFile.Range(900, 999));
+        assertThat(StaticFile.Range.parse("bytes=1000-", 1000)).isSameAs(StaticFile.Range.UNSATISFIABLE);
+        assertThat(StaticFile.Range.parse("bytes=0-1,5-9", 1000)).isNull();
+        assertThat(StaticFile.Range.parse("bytes=5-1", 1000)).isNull();
+        assertThat(StaticFile.Range.parse("items=0-1", 1000)).isNull();
+        assertThat(StaticFile.Range.parse("bytes=a-b", 1000)).isNull();
+    }
+}
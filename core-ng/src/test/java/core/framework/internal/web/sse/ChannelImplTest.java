@@ -11,18 +11,25 @@ import org.xnio.channels.StreamSinkChannel;
 import java.nio.ByteBuffer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ChannelImplTest {
     private ChannelImpl<TestEvent> channel;
+    private ServerSentEventContextImpl<TestEvent> context;
+    private XnioIoThread ioThread;
 
     @BeforeEach
     void createServerSentEventChannelImpl() {
         StreamSinkChannel sink = mock(StreamSinkChannel.class);
-        when(sink.getIoThread()).thenReturn(mock(XnioIoThread.class));
+        ioThread = mock(XnioIoThread.class);
+        when(sink.getIoThread()).thenReturn(ioThread);
         ServerConnection connection = mock(ServerConnection.class);
-        channel = new ChannelImpl<>(new HttpServerExchange(connection), sink, null, new ServerSentEventWriter<>(TestEvent.class), null);
+        context = new ServerSentEventContextImpl<>(TestEvent.class);
+        channel = new ChannelImpl<>(new HttpServerExchange(connection), sink, context, new ServerSentEventWriter<>(TestEvent.class), null);
     }
 
     @Test
@@ -38,6 +45,26 @@ class ChannelImplTest {
         assertThat(buffer.array()).isEqualTo(Strings.bytes("123"));
     }
 
+    @Test
+    void enqueueWithSlowChannel() {
+        for (int i = 0; i < ChannelImpl.MAX_QUEUED_EVENTS; i++) {
+            assertThat(channel.enqueue(Strings.bytes("data: 1\n\n"))).isTrue();
+        }
+        assertThat(channel.enqueue(Strings.bytes("data: 1\n\n"))).isFalse();
+        assertThat(channel.enqueue(Strings.bytes("data: 1\n\n"))).isFalse();
+
+        assertThat(context.slowChannels.get()).isEqualTo(1);
+        verify(ioThread, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void pollDecreasesQueuedEvents() {
+        channel.enqueue(Strings.bytes("1"));
+        channel.enqueue(Strings.bytes("2"));
+        channel.poll();
+        assertThat(channel.queuedEvents.get()).isZero();
+    }
+
     @Test
     void send() {
         long oldTime = channel.lastSentTime;
@@ -5,13 +5,18 @@ import core.framework.web.sse.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.xnio.XnioIoThread;
+import org.xnio.channels.StreamSinkChannel;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author neo
@@ -21,7 +26,7 @@ class ServerSentEventContextImplTest {
 
     @BeforeEach
     void createServerSentEventContextImpl() {
-        context = new ServerSentEventContextImpl<>();
+        context = new ServerSentEventContextImpl<>(TestEvent.class);
     }
 
     @Test
@@ -77,6 +82,43 @@ class ServerSentEventContextImplTest {
         verify(channel, Mockito.times(1)).sendBytes(Strings.bytes(":\n"));
     }
 
+    @Test
+    void broadcast() {
+        XnioIoThread ioThread = mock(XnioIoThread.class);
+        ChannelImpl<TestEvent> channel1 = channel(ioThread);
+        ChannelImpl<TestEvent> channel2 = channel(ioThread);
+        context.add(channel1);
+        context.add(channel2);
+
+        var event = new TestEvent();
+        event.message = "message";
+        assertThat(context.broadcast("1", event)).isEqualTo(2);
+
+        assertThat(channel1.queue.peek()).isSameAs(channel2.queue.peek());  // encoded once and shared
+        verify(ioThread, Mockito.times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void broadcastToGroup() {
+        XnioIoThread ioThread = mock(XnioIoThread.class);
+        ChannelImpl<TestEvent> channel1 = channel(ioThread);
+        ChannelImpl<TestEvent> channel2 = channel(ioThread);
+        context.add(channel1);
+        context.add(channel2);
+        channel1.join("group1");
+
+        assertThat(context.broadcast("group1", null, new TestEvent())).isEqualTo(1);
+        assertThat(context.broadcast("group2", null, new TestEvent())).isZero();
+        assertThat(channel1.queue).hasSize(1);
+        assertThat(channel2.queue).isEmpty();
+    }
+
+    private ChannelImpl<TestEvent> channel(XnioIoThread ioThread) {
+        StreamSinkChannel sink = mock(StreamSinkChannel.class);
+        when(sink.getIoThread()).thenReturn(ioThread);
+        return new ChannelImpl<>(null, sink, context, new ServerSentEventWriter<>(TestEvent.class), null);
+    }
+
     private ChannelImpl<TestEvent> channel() {
         return new ChannelImpl<>(null, null, context, new ServerSentEventWriter<>(TestEvent.class), null);
     }
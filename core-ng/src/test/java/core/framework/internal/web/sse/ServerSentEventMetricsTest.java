@@ -16,13 +16,16 @@ class ServerSentEventMetricsTest {
 
     @Test
     void collect() {
-        ServerSentEventContextImpl<Object> context = new ServerSentEventContextImpl<>();
+        ServerSentEventContextImpl<Object> context = new ServerSentEventContextImpl<>(Object.class);
         context.add(new ChannelImpl<>(null, null, null, null, null));
+        context.slowChannels.set(2);
         metrics.contexts.add(context);
 
         var stats = new Stats();
         metrics.collect(stats);
         assertThat(stats.stats)
-            .containsEntry("sse_active_channels", 1.0d);
+            .containsEntry("sse_active_channels", 1.0d)
+            .containsEntry("sse_closed_slow_channels", 2.0d);
+        assertThat(context.slowChannels.get()).isZero();
     }
 }
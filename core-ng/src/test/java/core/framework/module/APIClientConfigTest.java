@@ -1,6 +1,9 @@
 package core.framework.module;
 
+import core.framework.internal.module.ModuleContext;
+import core.framework.internal.web.service.TestWebService;
 import core.framework.internal.web.service.TestWebServiceClientInterceptor;
+import core.framework.internal.web.service.WebServiceClient;
 import core.framework.web.service.WebServiceClientProxy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +11,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -18,10 +26,12 @@ class APIClientConfigTest {
     @Mock
     WebServiceClientProxy proxy;
     private APIClientConfig config;
+    private WebServiceClient webServiceClient;
 
     @BeforeEach
     void createAPIClientConfig() {
-        config = new APIClientConfig(proxy);
+        webServiceClient = new WebServiceClient("http://order-service:8080", null, null, null);
+        config = new APIClientConfig(new ModuleContext(null), proxy, webServiceClient, TestWebService.class, "http://order-service:8080");
     }
 
     @Test
@@ -30,4 +40,47 @@ class APIClientConfigTest {
         config.intercept(interceptor);
         verify(proxy).intercept(interceptor);
     }
+
+    @Test
+    void loadBalance() {
+        config.loadBalance(List.of("http://order-service-1:8080", "http://order-service-2:8080"));
+        assertThat(webServiceClient.loadBalancer).isNotNull();
+
+        assertThatThrownBy(() -> config.loadBalance())
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("load balance is already configured");
+    }
+
+    @Test
+    void loadBalanceWithHTTPS() {
+        var config = new APIClientConfig(new ModuleContext(null), proxy, webServiceClient, TestWebService.class, "https://order-service");
+        assertThatThrownBy(config::loadBalance)
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("only supports http");
+    }
+
+    @Test
+    void circuitBreaker() {
+        config.circuitBreaker(Duration.ofSeconds(5));
+        assertThat(webServiceClient.circuitBreaker).isNotNull();
+
+        assertThatThrownBy(() -> config.circuitBreaker(Duration.ofSeconds(5)))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("circuit breaker is already configured");
+    }
+
+    @Test
+    void cache() {
+        config.cache(Duration.ofSeconds(30));
+        assertThat(webServiceClient.cache).isNotNull();
+
+        assertThatThrownBy(() -> config.cache(Duration.ofSeconds(30)))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("cache is already configured");
+    }
+
+    @Test
+    void name() {
+        assertThat(config.name()).isEqualTo("order_service_testwebservice");
+    }
 }
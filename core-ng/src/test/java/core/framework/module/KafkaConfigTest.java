@@ -3,6 +3,8 @@ package core.framework.module;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -25,6 +27,13 @@ class KafkaConfigTest {
         assertThat(config.managementPathPattern("/topic/:topic")).isEqualTo("/_sys/kafka/name/topic/:topic");
     }
 
+    @Test
+    void retryWithNegativeDelay() {
+        assertThatThrownBy(() -> config.retry("topic", Duration.ofMinutes(1), Duration.ofMinutes(-1)))
+            .isInstanceOf(Error.class)
+            .hasMessageContaining("retry delay must not be negative");
+    }
+
     @Test
     void validate() {
         assertThatThrownBy(config::validate)
@@ -1,5 +1,7 @@
 include("core-ng-api")
 include("core-ng", "core-ng-test")
+include("core-ng-benchmark")
+include("core-ng-loadtest")
 include("core-ng-search", "core-ng-search-test")
 include("core-ng-mongo", "core-ng-mongo-test")
 